@@ -0,0 +1,69 @@
+package pro.taskana.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pro.taskana.data.enums.AccessType;
+import pro.taskana.data.generation.DomainContext;
+import pro.taskana.data.generation.builder.AccessItemBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.impl.UserWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Measures {@link AccessItemBuilder} with the grants of domain C: every owner
+ * gets all permissions on the own workbasket, a super user gets all
+ * permissions on all workbaskets and the owners of the uppermost workbaskets
+ * get read and open permissions on all workbaskets below. The scale is the
+ * number of uppermost workbaskets, domain C has 3.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class AccessItemBuilderBenchmark {
+
+    @Param({ "1", "3" })
+    public int roots;
+
+    private List<WorkbasketWrapper> workbaskets;
+    private List<WorkbasketWrapper> uppermostWorkbaskets;
+
+    @Setup
+    public void setUp() {
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DomainShape.DOMAIN);
+        uppermostWorkbaskets = DomainShape.buildWorkbaskets(structureBuilder, roots);
+        workbaskets = structureBuilder.getGeneratedWorkbaskets();
+    }
+
+    @Benchmark
+    public List<WorkbasketAccessItemWrapper> build() {
+        AccessItemBuilder accessItemBuilder = new AccessItemBuilder(DomainContext.standalone(DomainShape.DOMAIN));
+        for (WorkbasketWrapper workbasket : workbaskets) {
+            accessItemBuilder.forUser(workbasket.getOwnerAsUser()).hasAccess(AccessType.values()).to(workbasket)
+                    .build();
+        }
+        for (WorkbasketWrapper uppermost : uppermostWorkbaskets) {
+            accessItemBuilder.forUser(uppermost.getOwnerAsUser()).hasAccess(AccessType.READ, AccessType.OPEN)
+                    .transitiveTo(uppermost.getDirectChildren()).build();
+        }
+        accessItemBuilder.forUser(new UserWrapper("superUser", true)).hasAccess(AccessType.values())
+                .to(workbaskets).build();
+        return accessItemBuilder.getGeneratedAccessItems();
+    }
+}
@@ -0,0 +1,44 @@
+package pro.taskana.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.builder.ClassificationBuilder;
+import pro.taskana.data.generation.util.RandomSource;
+import pro.taskana.impl.ClassificationWrapper;
+
+/**
+ * Measures {@link ClassificationBuilder#build()} with the four categories of
+ * the DataGenerator. The scale is the number of children per category, the
+ * DataGenerator uses 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ClassificationBuilderBenchmark {
+
+    @Param({ "100", "10000" })
+    public int children;
+
+    @Benchmark
+    public Map<ClassificationType, List<ClassificationWrapper>> build() {
+        return DomainShape.buildClassifications(new ClassificationBuilder(DomainShape.DOMAIN, new RandomSource(42)),
+                children);
+    }
+}
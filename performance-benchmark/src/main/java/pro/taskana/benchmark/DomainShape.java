@@ -0,0 +1,87 @@
+package pro.taskana.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.builder.ClassificationBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Builds data shaped like domain C of the DataGenerator, scaled by the number
+ * of uppermost workbaskets. Domain C has 3 uppermost workbaskets, each
+ * distributes to 25 workbaskets, which distribute to 25 workbaskets, which
+ * distribute to 15 personal workbaskets.
+ */
+final class DomainShape {
+
+    static final String DOMAIN = "C";
+    static final int DIST_TARGETS_LAYER_0 = 15;
+    static final int DIST_TARGETS_LAYER_1 = 25;
+    static final int DIST_TARGETS_LAYER_2 = 25;
+
+    private DomainShape() {
+    }
+
+    /**
+     * Returns the number of personal workbaskets for the given number of
+     * uppermost workbaskets.
+     * 
+     * @param roots
+     *            number of uppermost workbaskets
+     * @return number of personal workbaskets
+     */
+    static int personalWorkbaskets(int roots) {
+        return roots * DIST_TARGETS_LAYER_2 * DIST_TARGETS_LAYER_1 * DIST_TARGETS_LAYER_0;
+    }
+
+    /**
+     * Builds the workbasket tree with the given number of uppermost
+     * workbaskets and initializes the keys and ids of all workbaskets.
+     * 
+     * @param structureBuilder
+     *            builder of the domain
+     * @param roots
+     *            number of uppermost workbaskets
+     * @return the uppermost workbaskets
+     */
+    static List<WorkbasketWrapper> buildWorkbaskets(WorkbasketStructureBuilder structureBuilder, int roots) {
+        int personal = personalWorkbaskets(roots);
+        ElementStack<WorkbasketWrapper> personalWorkbaskets = structureBuilder.createSimpleWorkbaskets(personal);
+        List<WorkbasketWrapper> layer0 = structureBuilder.newLayer().withWb(personal / DIST_TARGETS_LAYER_0)
+                .withNumberOfDistTargets(DIST_TARGETS_LAYER_0).selectFrom(personalWorkbaskets).build();
+        List<WorkbasketWrapper> layer1 = structureBuilder.newLayer().withWb(layer0.size() / DIST_TARGETS_LAYER_1)
+                .withNumberOfDistTargets(DIST_TARGETS_LAYER_1).selectFrom(new ElementStack<>(layer0)).build();
+        List<WorkbasketWrapper> uppermost = structureBuilder.newLayer().withWb(roots)
+                .withNumberOfDistTargets(DIST_TARGETS_LAYER_2).selectFrom(new ElementStack<>(layer1)).build();
+        // assigns the keys and ids, from the uppermost workbaskets downwards
+        structureBuilder.getGeneratedWorkbaskets();
+        return uppermost;
+    }
+
+    /**
+     * Builds the classifications of the domain like the DataGenerator, with the
+     * given number of children per category.
+     * 
+     * @param classificationBuilder
+     *            builder of the domain
+     * @param children
+     *            number of children per category
+     * @return classifications by type
+     */
+    static Map<ClassificationType, List<ClassificationWrapper>> buildClassifications(
+            ClassificationBuilder classificationBuilder, int children) {
+        classificationBuilder.newClassificationCategory("MASCHINELL").withType(ClassificationType.AUFGABENTYP)
+                .withChildren(children).build();
+        classificationBuilder.newClassificationCategory("MANUELL").withType(ClassificationType.AUFGABENTYP)
+                .withChildren(children).build();
+        classificationBuilder.newClassificationCategory("EXTERN").withType(ClassificationType.AUFGABENTYP)
+                .withChildren(children).build();
+        classificationBuilder.newClassificationCategory("DOKTYP_EXTERN").withType(ClassificationType.DOKUMENTTYP)
+                .withChildren(children).build();
+        return classificationBuilder.getClassificationsByType();
+    }
+}
@@ -0,0 +1,66 @@
+package pro.taskana.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import pro.taskana.data.generation.util.Formatter;
+
+/**
+ * Measures {@link Formatter}, which formats every organisation level and id of
+ * the generated workbaskets. One operation formats a batch of values, the
+ * scale is the number of digits of the formatted numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FormatterBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ID_LENGTH = 40;
+
+    @Param({ "2", "8" })
+    public int digits;
+
+    private int[] numbers;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        numbers = new int[BATCH_SIZE];
+        ids = new String[BATCH_SIZE];
+        int maxNumber = (int) Math.min(Integer.MAX_VALUE, Math.pow(10, digits) - 1);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            numbers[i] = (int) ((long) i * maxNumber / BATCH_SIZE) + 1;
+            ids[i] = "CWB" + numbers[i];
+        }
+    }
+
+    @Benchmark
+    public void format(Blackhole blackhole) {
+        for (int number : numbers) {
+            blackhole.consume(Formatter.format(number, digits));
+        }
+    }
+
+    @Benchmark
+    public void fitToExpectedLength(Blackhole blackhole) {
+        for (String id : ids) {
+            blackhole.consume(Formatter.fitToExpectedLength(id, ID_LENGTH));
+        }
+    }
+}
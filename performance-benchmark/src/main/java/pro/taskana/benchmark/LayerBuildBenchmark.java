@@ -0,0 +1,65 @@
+package pro.taskana.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.data.generation.util.PopOrder;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Measures how long {@link WorkbasketStructureBuilder} needs to build one
+ * layer on top of a pool of personal workbaskets, with the fan-out of domain C
+ * (15 distribution targets per workbasket). Every workbasket of the layer pops
+ * its targets from the pool in the given {@link PopOrder}. If the layer build
+ * scales linearly, the time per operation doubles with the pool size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class LayerBuildBenchmark {
+
+    private static final int DIST_TARGETS_PER_WORKBASKET = 15;
+
+    @Param({ "15000", "60000", "240000" })
+    public int poolSize;
+
+    @Param({ "sequential", "shuffled", "strided" })
+    public String popOrder;
+
+    private WorkbasketStructureBuilder structureBuilder;
+    private ElementStack<WorkbasketWrapper> pool;
+
+    /**
+     * Creates a new pool for every operation, the layer build empties it.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        structureBuilder = new WorkbasketStructureBuilder(DomainShape.DOMAIN);
+        pool = structureBuilder.createSimpleWorkbaskets(poolSize);
+    }
+
+    @Benchmark
+    public List<WorkbasketWrapper> buildLayer() {
+        return structureBuilder.newLayer().withWb(poolSize / DIST_TARGETS_PER_WORKBASKET)
+                .withNumberOfDistTargets(DIST_TARGETS_PER_WORKBASKET)
+                .selectFrom(pool, PopOrder.fromIdentifier(popOrder)).build();
+    }
+}
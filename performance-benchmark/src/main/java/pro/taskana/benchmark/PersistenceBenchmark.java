@@ -0,0 +1,334 @@
+package pro.taskana.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+
+import pro.taskana.TaskState;
+import pro.taskana.adapter.JdbcBatchAdapter;
+import pro.taskana.adapter.ParallelAdapter;
+import pro.taskana.adapter.PersistenceAdapter;
+import pro.taskana.adapter.PersistenceMode;
+import pro.taskana.adapter.TaskanaAPI;
+import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.builder.ClassificationBuilder;
+import pro.taskana.data.generation.builder.TaskBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.data.generation.util.RandomSource;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.persistence.DataSourceHandler;
+
+/**
+ * Persists generated data into an embedded H2 database and reports the rows
+ * per second of every table and phase. Every persistence mode and scale gets a
+ * new in-memory database, so the runs do not influence each other and no
+ * database server is needed. Not a JMH benchmark, run it with
+ * <code>java -cp benchmarks.jar pro.taskana.benchmark.PersistenceBenchmark [options]</code>.
+ *
+ * Options:
+ * <ul>
+ * <li>-modes &lt;api,jdbc,parallel&gt; persistence modes to measure (default all
+ * of them, the other modes cannot persist into H2)</li>
+ * <li>-scales &lt;n,...&gt; numbers of personal workbaskets (default 100,1000)</li>
+ * <li>-tasks &lt;n&gt; tasks per personal workbasket (default 10)</li>
+ * <li>-compatibility &lt;PostgreSQL|DB2&gt; compatibility mode of H2 (default PostgreSQL)</li>
+ * <li>-apiCommitInterval &lt;n&gt; entities per transaction of the modes api and
+ * parallel (default 0, every API call is committed on its own)</li>
+ * <li>-o &lt;file&gt; additionally writes the results to a csv file</li>
+ * </ul>
+ */
+public class PersistenceBenchmark {
+
+    private static final String H2_DRIVER = "org.h2.Driver";
+    private static final String H2_URL = "jdbc:h2:mem:%s;MODE=%s;DB_CLOSE_DELAY=-1";
+    private static final String DOMAIN = "B";
+    private static final int DIST_TARGETS_PER_WORKBASKET = 10;
+    private static final int CLASSIFICATION_CHILDREN = 10;
+    private static final int NUMBER_OF_POR = 1000;
+    private static final List<PersistenceMode> SUPPORTED_MODES = Arrays.asList(PersistenceMode.API,
+            PersistenceMode.JDBC_BATCH, PersistenceMode.PARALLEL);
+
+    private static final String MODES_IDENTIFIER = "-modes";
+    private static final String SCALES_IDENTIFIER = "-scales";
+    private static final String TASKS_IDENTIFIER = "-tasks";
+    private static final String COMPATIBILITY_IDENTIFIER = "-compatibility";
+    private static final String API_COMMIT_INTERVAL_IDENTIFIER = "-apiCommitInterval";
+    private static final String OUTPUT_IDENTIFIER = "-o";
+
+    private final String compatibility;
+    private final int tasksPerWorkbasket;
+    private final int apiCommitInterval;
+
+    public PersistenceBenchmark(String compatibility, int tasksPerWorkbasket) {
+        this(compatibility, tasksPerWorkbasket, TaskanaAPI.AUTOCOMMIT);
+    }
+
+    public PersistenceBenchmark(String compatibility, int tasksPerWorkbasket, int apiCommitInterval) {
+        this.compatibility = compatibility;
+        this.tasksPerWorkbasket = tasksPerWorkbasket;
+        this.apiCommitInterval = apiCommitInterval;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<PersistenceMode> modes = SUPPORTED_MODES;
+        List<Integer> scales = Arrays.asList(100, 1000);
+        int tasksPerWorkbasket = 10;
+        int apiCommitInterval = TaskanaAPI.AUTOCOMMIT;
+        String compatibility = "PostgreSQL";
+        String output = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case MODES_IDENTIFIER:
+                    modes = new ArrayList<>();
+                    for (String identifier : value.split(",")) {
+                        PersistenceMode mode = PersistenceMode.fromIdentifier(identifier);
+                        if (!SUPPORTED_MODES.contains(mode)) {
+                            throw new IllegalArgumentException("Persistence mode " + identifier
+                                    + " cannot be measured with H2");
+                        }
+                        modes.add(mode);
+                    }
+                    break;
+                case SCALES_IDENTIFIER:
+                    scales = new ArrayList<>();
+                    for (String scale : value.split(",")) {
+                        scales.add(Integer.parseInt(scale));
+                    }
+                    break;
+                case TASKS_IDENTIFIER:
+                    tasksPerWorkbasket = Integer.parseInt(value);
+                    break;
+                case COMPATIBILITY_IDENTIFIER:
+                    compatibility = value;
+                    break;
+                case API_COMMIT_INTERVAL_IDENTIFIER:
+                    apiCommitInterval = Integer.parseInt(value);
+                    break;
+                case OUTPUT_IDENTIFIER:
+                    output = value;
+                    break;
+                default:
+                    continue;
+            }
+            i++;
+        }
+
+        PersistenceBenchmark benchmark = new PersistenceBenchmark(compatibility, tasksPerWorkbasket,
+                apiCommitInterval);
+        List<PhaseResult> results = new ArrayList<>();
+        System.out.println(PhaseResult.HEADER);
+        for (int scale : scales) {
+            for (PersistenceMode mode : modes) {
+                for (PhaseResult result : benchmark.run(mode, scale)) {
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+        }
+        if (output != null) {
+            writeCsv(output, results);
+        }
+    }
+
+    /**
+     * Generates the data of the given scale and persists it with the given
+     * mode into a new in-memory database.
+     *
+     * @param mode
+     *            persistence mode
+     * @param scale
+     *            number of personal workbaskets
+     * @return results of all phases
+     * @throws IllegalArgumentException
+     *             if the mode cannot persist into H2
+     * @throws Exception
+     *             if the data cannot be persisted
+     */
+    public List<PhaseResult> run(PersistenceMode mode, int scale) throws Exception {
+        String databaseName = "taskana_" + mode.getIdentifier() + "_" + scale;
+        PooledDataSource dataSource = new PooledDataSource(H2_DRIVER,
+                String.format(H2_URL, databaseName, compatibility), "sa", "");
+        DataSourceHandler.setDataSource(dataSource);
+        List<PhaseResult> results = new ArrayList<>();
+        try (PersistenceAdapter adapter = createPersistenceAdapter(mode)) {
+            RandomSource randomSource = new RandomSource(scale);
+            WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DOMAIN);
+            WorkbasketWrapper uppermost = buildWorkbaskets(structureBuilder, scale);
+            List<WorkbasketWrapper> workbaskets = structureBuilder.getGeneratedWorkbaskets();
+
+            Phase phase = new Phase(mode, scale, dataSource);
+            results.addAll(phase.measure("workbaskets", () -> adapter.createWorkbaskets(workbaskets), "WORKBASKET"));
+            results.addAll(phase.measure("distribution targets", () -> adapter.createDistributionTargets(workbaskets),
+                    "DISTRIBUTION_TARGETS"));
+            results.addAll(phase.measure("access items",
+                    () -> adapter.createWorkbasketAccesItem(structureBuilder.getGeneratedAccessItems()),
+                    "WORKBASKET_ACCESS_LIST"));
+
+            ClassificationBuilder classificationBuilder = new ClassificationBuilder(DOMAIN,
+                    randomSource.derive("classifications"));
+            Map<ClassificationType, List<ClassificationWrapper>> classifications = DomainShape
+                    .buildClassifications(classificationBuilder, CLASSIFICATION_CHILDREN);
+            results.addAll(phase.measure("classifications",
+                    () -> adapter.createClassification(classificationBuilder.getAllGeneratedClassifications()),
+                    "CLASSIFICATION"));
+
+            List<TaskWrapper> tasks = new TaskBuilder(classifications, NUMBER_OF_POR, randomSource.derive("tasks"))
+                    .affect(uppermost.getDirectOrIndirectChildren())
+                    .addTasks(TaskState.READY, tasksPerWorkbasket / 2)
+                    .addTasks(TaskState.COMPLETED, tasksPerWorkbasket - tasksPerWorkbasket / 2).withAttachments(1)
+                    .build();
+            results.addAll(phase.measure("tasks", () -> adapter.createTasks(tasks), "TASK", "ATTACHMENT"));
+        } finally {
+            shutdown(dataSource);
+            DataSourceHandler.setDataSource(null);
+        }
+        return results;
+    }
+
+    /**
+     * Builds the workbaskets like domain B: the personal workbaskets, one
+     * workbasket for every 10 personal workbaskets and one uppermost
+     * workbasket.
+     */
+    private static WorkbasketWrapper buildWorkbaskets(WorkbasketStructureBuilder structureBuilder, int scale) {
+        ElementStack<WorkbasketWrapper> personalWorkbaskets = structureBuilder.createSimpleWorkbaskets(scale);
+        List<WorkbasketWrapper> layer0 = structureBuilder.newLayer().withWb(scale / DIST_TARGETS_PER_WORKBASKET)
+                .withNumberOfDistTargets(DIST_TARGETS_PER_WORKBASKET).selectFrom(personalWorkbaskets).build();
+        return structureBuilder.newLayer().withWb(1).withDistTargets(layer0).build().get(0);
+    }
+
+    private PersistenceAdapter createPersistenceAdapter(PersistenceMode mode) throws Exception {
+        switch (mode) {
+            case API:
+                return new TaskanaAPI(DataSourceHandler.getDataSource(), false, apiCommitInterval);
+            case JDBC_BATCH:
+                return new JdbcBatchAdapter(JdbcBatchAdapter.DEFAULT_BATCH_SIZE, JdbcBatchAdapter.DEFAULT_COMMIT_INTERVAL,
+                        false);
+            case PARALLEL:
+                return new ParallelAdapter(ParallelAdapter.DEFAULT_NUMBER_OF_THREADS, apiCommitInterval, false);
+            case POSTGRES_COPY:
+            case DB2_LOAD:
+            case SQL_SCRIPT:
+                throw new IllegalArgumentException("Persistence mode " + mode.getIdentifier()
+                        + " cannot be measured with H2");
+            default:
+                throw new IllegalArgumentException("Unknown persistence mode " + mode.getIdentifier());
+        }
+    }
+
+    private static void shutdown(PooledDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        } catch (SQLException e) {
+            // the in-memory database is released with the JVM anyway
+        }
+        dataSource.forceCloseAll();
+    }
+
+    private static void writeCsv(String output, List<PhaseResult> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(output)))) {
+            writer.println("mode,scale,phase,table,rows,seconds,rowsPerSecond");
+            for (PhaseResult result : results) {
+                writer.println(String.join(",", result.mode.getIdentifier(), String.valueOf(result.scale),
+                        result.phase, result.table, String.valueOf(result.rows), String.valueOf(result.seconds),
+                        String.valueOf(result.getRowsPerSecond())));
+            }
+        }
+    }
+
+    /**
+     * Persistence step whose duration is measured.
+     */
+    @FunctionalInterface
+    private interface Persisting {
+
+        void persist() throws Exception;
+    }
+
+    /**
+     * Measures the phases of one run and counts the rows of their tables.
+     */
+    private static class Phase {
+
+        private final PersistenceMode mode;
+        private final int scale;
+        private final PooledDataSource dataSource;
+
+        Phase(PersistenceMode mode, int scale, PooledDataSource dataSource) {
+            this.mode = mode;
+            this.scale = scale;
+            this.dataSource = dataSource;
+        }
+
+        List<PhaseResult> measure(String phase, Persisting persisting, String... tables) throws Exception {
+            long start = System.nanoTime();
+            persisting.persist();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            List<PhaseResult> results = new ArrayList<>();
+            for (String table : tables) {
+                results.add(new PhaseResult(mode, scale, phase, table, countRows(table), seconds));
+            }
+            return results;
+        }
+
+        private long countRows(String table) throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet rows = statement
+                            .executeQuery("SELECT COUNT(*) FROM " + TaskanaAPI.SCHEMA_NAME + "." + table)) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Rows written into one table during one phase.
+     */
+    public static class PhaseResult {
+
+        static final String HEADER = String.format("%-9s %7s %-21s %-23s %9s %9s %12s", "mode", "scale", "phase",
+                "table", "rows", "seconds", "rows/s");
+
+        private final PersistenceMode mode;
+        private final int scale;
+        private final String phase;
+        private final String table;
+        private final long rows;
+        private final double seconds;
+
+        PhaseResult(PersistenceMode mode, int scale, String phase, String table, long rows, double seconds) {
+            this.mode = mode;
+            this.scale = scale;
+            this.phase = phase;
+            this.table = table;
+            this.rows = rows;
+            this.seconds = seconds;
+        }
+
+        public double getRowsPerSecond() {
+            return seconds > 0 ? rows / seconds : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %7d %-21s %-23s %9d %9.2f %12.0f", mode.getIdentifier(), scale, phase, table,
+                    rows, seconds, getRowsPerSecond());
+        }
+    }
+}
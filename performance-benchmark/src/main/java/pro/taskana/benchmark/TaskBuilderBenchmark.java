@@ -0,0 +1,70 @@
+package pro.taskana.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pro.taskana.TaskState;
+import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.builder.ClassificationBuilder;
+import pro.taskana.data.generation.builder.TaskBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.RandomSource;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Measures {@link TaskBuilder#build()} with the task distribution of domain C:
+ * 100 tasks in each workbasket, one attachment per task. The scale is the
+ * number of workbaskets below one uppermost workbasket of domain C which get
+ * tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TaskBuilderBenchmark {
+
+    private static final int NUMBER_OF_POR = 300000;
+
+    @Param({ "500", "5000" })
+    public int workbaskets;
+
+    @Param({ "1", "4" })
+    public int generationThreads;
+
+    private Map<ClassificationType, List<ClassificationWrapper>> classifications;
+    private List<WorkbasketWrapper> workbasketsWithTasks;
+
+    @Setup
+    public void setUp() {
+        RandomSource randomSource = new RandomSource(42);
+        classifications = DomainShape.buildClassifications(
+                new ClassificationBuilder(DomainShape.DOMAIN, randomSource.derive("classifications")), 100);
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DomainShape.DOMAIN);
+        WorkbasketWrapper uppermost = DomainShape.buildWorkbaskets(structureBuilder, 1).get(0);
+        workbasketsWithTasks = uppermost.getDirectOrIndirectChildren().subList(0, workbaskets);
+    }
+
+    @Benchmark
+    public List<TaskWrapper> build() {
+        return new TaskBuilder(classifications, NUMBER_OF_POR, new RandomSource(42))
+                .affect(workbasketsWithTasks).addTasks(TaskState.COMPLETED, 50).addTasks(TaskState.CLAIMED, 25)
+                .addTasks(TaskState.READY, 25).withAttachments(1).withParallelism(generationThreads).build();
+    }
+}
@@ -0,0 +1,42 @@
+package pro.taskana.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Measures the layer building of {@link WorkbasketStructureBuilder} with the
+ * shape of domain C, including the personal workbaskets and their access
+ * grants. The scale is the number of uppermost workbaskets, domain C has 3.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class WorkbasketStructureBenchmark {
+
+    @Param({ "1", "3" })
+    public int roots;
+
+    @Benchmark
+    public List<WorkbasketWrapper> buildLayers() {
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DomainShape.DOMAIN);
+        DomainShape.buildWorkbaskets(structureBuilder, roots);
+        return structureBuilder.getGeneratedWorkbaskets();
+    }
+}
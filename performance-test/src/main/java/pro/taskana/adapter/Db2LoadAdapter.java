@@ -0,0 +1,140 @@
+package pro.taskana.adapter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.persistence.DelFileWriter;
+import pro.taskana.persistence.TaskanaDefaults;
+import pro.taskana.persistence.table.TableMapping;
+
+/**
+ * Writes all generated data to DEL files for the DB2 LOAD utility instead of persisting it, so the generation runs
+ * without a database. Every adapter writes its own file per table, named <code>&lt;TABLE&gt;_&lt;n&gt;.del</code>. When
+ * an adapter is closed, the script {@value #LOAD_SCRIPT} is written, which loads all files of the directory into the
+ * existing Taskana schema with <code>LOAD ... NONRECOVERABLE</code>. The rows get the same values as if they were
+ * created by the Taskana services, see {@link TaskanaDefaults}.
+ */
+public class Db2LoadAdapter extends FileAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Db2LoadAdapter.class);
+
+    public static final String LOAD_SCRIPT = "load.sql";
+
+    private static final String FILE_EXTENSION = ".del";
+    private static final String LOAD_MODIFIERS = "codepage=1208 delprioritychar";
+
+    private static final Object SCRIPT_LOCK = new Object();
+
+    private final Map<TableMapping<?>, DelFileWriter<?>> writers = new LinkedHashMap<>();
+
+    /**
+     * Creates the adapter.
+     *
+     * @param directory
+     *            directory of the DEL files and the load script, created if it does not exist
+     * @param clearDirectory
+     *            <code>true</code> if the DEL files and the load script of an earlier run should be deleted first
+     * @throws IOException
+     *             if the directory cannot be created or cleared
+     */
+    public Db2LoadAdapter(Path directory, boolean clearDirectory) throws IOException {
+        super(directory, clearDirectory, "*" + FILE_EXTENSION, LOAD_SCRIPT);
+    }
+
+    /**
+     * Closes the DEL files of this adapter and writes the load script for all DEL files of the directory.
+     *
+     * @throws IOException
+     *             if a file cannot be closed or the script cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (Map.Entry<TableMapping<?>, DelFileWriter<?>> writer : writers.entrySet()) {
+            writer.getValue().close();
+            LOGGER.info("Wrote {} {} rows to {}", writer.getValue().getWrittenRows(),
+                    writer.getKey().getTableName(), fileOf(writer.getKey()));
+        }
+        synchronized (SCRIPT_LOCK) {
+            writeLoadScript();
+        }
+    }
+
+    @Override
+    protected <T> void write(TableMapping<T> mapping, Collection<? extends T> entities) throws IOException {
+        writerOf(mapping).addAll(entities);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> DelFileWriter<T> writerOf(TableMapping<T> mapping) throws IOException {
+        DelFileWriter<T> writer = (DelFileWriter<T>) writers.get(mapping);
+        if (writer == null) {
+            writer = new DelFileWriter<>(fileOf(mapping), mapping);
+            writers.put(mapping, writer);
+        }
+        return writer;
+    }
+
+    private Path fileOf(TableMapping<?> mapping) {
+        return getDirectory().resolve(mapping.getTableName() + "_" + getAdapterNumber() + FILE_EXTENSION);
+    }
+
+    private void writeLoadScript() throws IOException {
+        Path script = getDirectory().resolve(LOAD_SCRIPT);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(script))) {
+            writer.println("-- Loads the generated DEL files into the existing Taskana schema.");
+            writer.println("-- Run it with: db2 connect to <database> && db2 -tvf " + script);
+            List<TableMapping<?>> loadedTables = new ArrayList<>();
+            for (TableMapping<?> mapping : TABLES) {
+                TreeSet<String> files = findFiles(mapping);
+                if (!files.isEmpty()) {
+                    writer.println();
+                    writer.println("LOAD CLIENT FROM " + String.join(", ", files) + " OF DEL");
+                    writer.println("    MODIFIED BY " + LOAD_MODIFIERS);
+                    writer.println("    INSERT INTO " + mapping.getQualifiedName(TaskanaAPI.SCHEMA_NAME) + " ("
+                            + mapping.getColumnList() + ")");
+                    writer.println("    NONRECOVERABLE;");
+                    loadedTables.add(mapping);
+                }
+            }
+            writer.println();
+            writer.println("-- LOAD leaves tables with foreign keys in set integrity pending state.");
+            writer.println("-- Tables without foreign keys answer with SQL3600N, which can be ignored.");
+            for (TableMapping<?> mapping : loadedTables) {
+                writer.println("SET INTEGRITY FOR " + mapping.getQualifiedName(TaskanaAPI.SCHEMA_NAME)
+                        + " IMMEDIATE CHECKED;");
+            }
+        }
+        LOGGER.info("Load script written to {}", script);
+    }
+
+    /**
+     * Finds the DEL files of all adapters for the given table. WORKBASKET_* also matches the files of
+     * WORKBASKET_ACCESS_LIST, so the names are checked for the file number.
+     */
+    private TreeSet<String> findFiles(TableMapping<?> mapping) throws IOException {
+        Pattern fileName = Pattern
+                .compile(Pattern.quote(mapping.getTableName()) + "_\\d+" + Pattern.quote(FILE_EXTENSION));
+        TreeSet<String> matchingFiles = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(getDirectory())) {
+            for (Path file : files) {
+                if (fileName.matcher(file.getFileName().toString()).matches()) {
+                    matchingFiles.add(file.toString());
+                }
+            }
+        }
+        return matchingFiles;
+    }
+}
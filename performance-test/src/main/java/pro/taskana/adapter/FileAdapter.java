@@ -0,0 +1,175 @@
+package pro.taskana.adapter;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pro.taskana.Attachment;
+import pro.taskana.data.generation.util.Formatter;
+import pro.taskana.impl.AttachmentImpl;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.persistence.MasterClassifications;
+import pro.taskana.persistence.TaskanaDefaults;
+import pro.taskana.persistence.table.DistributionTarget;
+import pro.taskana.persistence.table.TableMapping;
+import pro.taskana.persistence.table.TaskanaTables;
+
+/**
+ * Base of the persistence modes which write the generated data to files instead of a database, so the generation
+ * runs without a database. The rows get the same values as if they were created by the Taskana services, see
+ * {@link TaskanaDefaults}. Every adapter gets its own number, so the adapters of domains built in parallel write to
+ * different files of the same directory.
+ */
+public abstract class FileAdapter implements PersistenceAdapter {
+
+    /**
+     * The tables in load order, referenced tables first.
+     */
+    public static final List<TableMapping<?>> TABLES = Arrays.asList(TaskanaTables.CLASSIFICATION,
+            TaskanaTables.WORKBASKET, TaskanaTables.DISTRIBUTION_TARGETS, TaskanaTables.WORKBASKET_ACCESS_LIST,
+            TaskanaTables.TASK, TaskanaTables.ATTACHMENT);
+
+    private static final int ADAPTER_NUMBER_LENGTH = 3;
+    private static final AtomicInteger ADAPTER_COUNTER = new AtomicInteger();
+    private static final Map<Path, MasterClassifications> MASTER_CLASSIFICATIONS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final String adapterNumber;
+
+    /**
+     * Creates the adapter.
+     *
+     * @param directory
+     *            directory of the written files, created if it does not exist
+     * @param clearDirectory
+     *            <code>true</code> if the files of an earlier run should be deleted first
+     * @param filePatterns
+     *            glob patterns of the files written by the adapter, used to clear the directory
+     * @throws IOException
+     *             if the directory cannot be created or cleared
+     */
+    protected FileAdapter(Path directory, boolean clearDirectory, String... filePatterns) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        Files.createDirectories(this.directory);
+        if (clearDirectory) {
+            for (String filePattern : filePatterns) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, filePattern)) {
+                    for (Path file : files) {
+                        Files.delete(file);
+                    }
+                }
+            }
+            MASTER_CLASSIFICATIONS.put(this.directory, new MasterClassifications());
+        }
+        this.adapterNumber = Formatter.format(ADAPTER_COUNTER.incrementAndGet(), ADAPTER_NUMBER_LENGTH);
+    }
+
+    /**
+     * Writes the rows of the given entities to the files of the table.
+     *
+     * @param mapping
+     *            mapping of the table
+     * @param entities
+     *            prepared entities, not empty
+     * @throws IOException
+     *             if the rows cannot be written
+     */
+    protected abstract <T> void write(TableMapping<T> mapping, Collection<? extends T> entities) throws IOException;
+
+    /**
+     * Returns the absolute directory of the written files.
+     *
+     * @return directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the number of this adapter, unique within the JVM. Used in the names of the written files.
+     *
+     * @return formatted adapter number
+     */
+    public String getAdapterNumber() {
+        return adapterNumber;
+    }
+
+    @Override
+    public void createTasks(List<TaskWrapper> tasks) throws IOException {
+        Instant now = Instant.now();
+        List<AttachmentImpl> attachments = new ArrayList<>();
+        for (TaskWrapper task : tasks) {
+            TaskanaDefaults.prepareTask(task, now);
+            for (Attachment attachment : task.getAttachments()) {
+                attachments.add((AttachmentImpl) attachment);
+            }
+        }
+        writeIfNotEmpty(TaskanaTables.TASK, tasks);
+        writeIfNotEmpty(TaskanaTables.ATTACHMENT, attachments);
+    }
+
+    /**
+     * Writes the Classifications of one category and, like <code>ClassificationService.createClassification</code>,
+     * a copy of each in the master domain unless an adapter writing to the same directory already created one with
+     * the same key.
+     *
+     * @param classifications
+     *            The Classifications to persist, the parent first.
+     * @throws IOException
+     *             if the rows cannot be written
+     */
+    @Override
+    public void createClassification(List<ClassificationWrapper> classifications) throws IOException {
+        TaskanaDefaults.prepareClassifications(classifications, Instant.now());
+        writeIfNotEmpty(TaskanaTables.CLASSIFICATION, classifications);
+        writeIfNotEmpty(TaskanaTables.CLASSIFICATION, MASTER_CLASSIFICATIONS
+                .computeIfAbsent(directory, key -> new MasterClassifications()).addCopiesOf(classifications));
+    }
+
+    @Override
+    public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws IOException {
+        Instant now = Instant.now();
+        for (WorkbasketWrapper workbasket : workbaskets) {
+            TaskanaDefaults.prepareWorkbasket(workbasket, now);
+        }
+        writeIfNotEmpty(TaskanaTables.WORKBASKET, workbaskets);
+    }
+
+    @Override
+    public void createDistributionTargets(List<WorkbasketWrapper> workbaskets) throws IOException {
+        List<DistributionTarget> distributionTargets = new ArrayList<>();
+        for (WorkbasketWrapper workbasket : workbaskets) {
+            for (WorkbasketWrapper distributionTarget : workbasket.getDirectChildren()) {
+                distributionTargets.add(new DistributionTarget(workbasket.getId(), distributionTarget.getId()));
+            }
+        }
+        writeIfNotEmpty(TaskanaTables.DISTRIBUTION_TARGETS, distributionTargets);
+    }
+
+    @Override
+    public void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems)
+            throws IOException {
+        for (WorkbasketAccessItemWrapper workbasketAccessItem : workbasketAccessItems) {
+            TaskanaDefaults.prepareWorkbasketAccessItem(workbasketAccessItem);
+        }
+        writeIfNotEmpty(TaskanaTables.WORKBASKET_ACCESS_LIST, workbasketAccessItems);
+    }
+
+    private <T> void writeIfNotEmpty(TableMapping<T> mapping, Collection<? extends T> entities) throws IOException {
+        if (!entities.isEmpty()) {
+            write(mapping, entities);
+        }
+    }
+}
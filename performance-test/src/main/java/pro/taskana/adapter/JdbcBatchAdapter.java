@@ -0,0 +1,195 @@
+package pro.taskana.adapter;
+
+import java.io.FileNotFoundException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.Attachment;
+import pro.taskana.impl.AttachmentImpl;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskImpl;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.metrics.LatencyRecorder;
+import pro.taskana.persistence.BatchInserter;
+import pro.taskana.persistence.DataSourceHandler;
+import pro.taskana.persistence.TaskanaDefaults;
+import pro.taskana.persistence.table.TaskanaTables;
+
+/**
+ * Persists Tasks and their Attachments with JDBC batches instead of <code>TaskService.createTask</code>. All other
+ * entities are persisted via the {@link TaskanaAPI}, which also creates the schema.
+ */
+public class JdbcBatchAdapter implements PersistenceAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBatchAdapter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_COMMIT_INTERVAL = 10000;
+
+    private final TaskanaAPI taskanaAPI;
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final int commitInterval;
+
+    private LatencyRecorder latencyRecorder;
+
+    private long persistedTasks;
+    private long persistedAttachments;
+    private long elapsedNanos;
+
+    /**
+     * Creates the adapter.
+     *
+     * @param batchSize
+     *            number of rows per JDBC batch
+     * @param commitInterval
+     *            number of Tasks per transaction
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     * @throws SQLException
+     *             If the Taskana schema cannot be created.
+     */
+    public JdbcBatchAdapter(int batchSize, int commitInterval)
+            throws FileNotFoundException, NoSuchFieldException, SQLException {
+        this(batchSize, commitInterval, true);
+    }
+
+    /**
+     * Creates the adapter.
+     *
+     * @param batchSize
+     *            number of rows per JDBC batch
+     * @param commitInterval
+     *            number of Tasks per transaction
+     * @param clearDatabase
+     *            <code>true</code> if the existing Taskana schema should be dropped first
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     * @throws SQLException
+     *             If the Taskana schema cannot be created.
+     */
+    public JdbcBatchAdapter(int batchSize, int commitInterval, boolean clearDatabase)
+            throws FileNotFoundException, NoSuchFieldException, SQLException {
+        this.dataSource = DataSourceHandler.getDataSource();
+        this.taskanaAPI = new TaskanaAPI(dataSource, clearDatabase);
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Persists all given Tasks and their Attachments with JDBC batches. The rows get the same values as if they were
+     * created by the Taskana API, see {@link TaskanaDefaults#prepareTask(TaskWrapper, Instant)}.
+     *
+     * @param tasks
+     *            The Tasks to persist.
+     * @throws SQLException
+     *             if a batch cannot be executed. The current transaction is rolled back.
+     */
+    @Override
+    public void createTasks(List<TaskWrapper> tasks) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (BatchInserter<TaskImpl> taskInserter = new BatchInserter<>(connection, TaskanaTables.TASK,
+                    TaskanaAPI.SCHEMA_NAME, batchSize);
+                    BatchInserter<AttachmentImpl> attachmentInserter = new BatchInserter<>(connection,
+                            TaskanaTables.ATTACHMENT, TaskanaAPI.SCHEMA_NAME, batchSize)) {
+                int uncommittedTasks = 0;
+                for (TaskWrapper task : tasks) {
+                    TaskanaDefaults.prepareTask(task, Instant.now());
+                    taskInserter.add(task);
+                    for (Attachment attachment : task.getAttachments()) {
+                        attachmentInserter.add((AttachmentImpl) attachment);
+                    }
+                    uncommittedTasks++;
+                    if (uncommittedTasks >= commitInterval) {
+                        commit(connection, taskInserter, attachmentInserter);
+                        uncommittedTasks = 0;
+                    }
+                }
+                commit(connection, taskInserter, attachmentInserter);
+                synchronized (this) {
+                    persistedTasks += taskInserter.getInsertedRows();
+                    persistedAttachments += attachmentInserter.getInsertedRows();
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            synchronized (this) {
+                elapsedNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    @Override
+    public void createClassification(List<ClassificationWrapper> classifications) throws Exception {
+        taskanaAPI.createClassification(classifications);
+    }
+
+    @Override
+    public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws Exception {
+        taskanaAPI.createWorkbaskets(workbaskets);
+    }
+
+    @Override
+    public void createDistributionTargets(List<WorkbasketWrapper> workbaskets) throws Exception {
+        taskanaAPI.createDistributionTargets(workbaskets);
+    }
+
+    @Override
+    public void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems)
+            throws Exception {
+        taskanaAPI.createWorkbasketAccesItem(workbasketAccessItems);
+    }
+
+    /**
+     * Records the latency of every commit of a chunk of Tasks, including the execution of its last batches, and of
+     * every call of the Taskana API for the other data.
+     */
+    @Override
+    public void recordLatenciesIn(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+        taskanaAPI.recordLatenciesIn(latencyRecorder);
+    }
+
+    /**
+     * Logs the number of persisted rows and the achieved throughput.
+     */
+    @Override
+    public synchronized void close() {
+        long rows = persistedTasks + persistedAttachments;
+        double seconds = elapsedNanos / 1_000_000_000d;
+        LOGGER.info("Persisted {} TASK and {} ATTACHMENT rows in {} s ({} rows/s, batch size {}, commit interval {})",
+                persistedTasks, persistedAttachments, String.format("%.1f", seconds),
+                seconds > 0 ? Math.round(rows / seconds) : rows, batchSize, commitInterval);
+    }
+
+    private void commit(Connection connection, BatchInserter<?>... inserters) throws SQLException {
+        long start = System.nanoTime();
+        for (BatchInserter<?> inserter : inserters) {
+            inserter.flush();
+        }
+        connection.commit();
+        if (latencyRecorder != null) {
+            latencyRecorder.record("jdbc.commitTasks", start);
+        }
+    }
+}
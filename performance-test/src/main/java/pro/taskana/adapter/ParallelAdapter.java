@@ -0,0 +1,269 @@
+package pro.taskana.adapter;
+
+import java.io.FileNotFoundException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.metrics.LatencyRecorder;
+import pro.taskana.persistence.DataSourceHandler;
+
+/**
+ * Persists Tasks, WorkbasketAccessItems and distribution targets with several worker threads. Each worker owns its
+ * own {@link TaskanaAPI} and therefore its own TaskanaEngine. The data is partitioned by Workbasket: all rows of a
+ * Workbasket are persisted by the same worker and every worker gets a contiguous range of Workbaskets, so the workers
+ * do not compete for the same index pages. Workbaskets and Classifications are persisted sequentially.
+ */
+public class ParallelAdapter implements PersistenceAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelAdapter.class);
+
+    public static final int DEFAULT_NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final TaskanaAPI taskanaAPI;
+    private final List<Worker> workers;
+    private final ExecutorService executor;
+
+    /**
+     * Creates the adapter and one TaskanaEngine per worker.
+     *
+     * @param numberOfThreads
+     *            number of worker threads
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     * @throws SQLException
+     *             If the Taskana schema cannot be created.
+     */
+    public ParallelAdapter(int numberOfThreads) throws FileNotFoundException, NoSuchFieldException, SQLException {
+        this(numberOfThreads, true);
+    }
+
+    /**
+     * Creates the adapter and one TaskanaEngine per worker, every API call is committed on its own.
+     *
+     * @param numberOfThreads
+     *            number of worker threads
+     * @param clearDatabase
+     *            <code>true</code> if the existing Taskana schema should be dropped first
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     * @throws SQLException
+     *             If the Taskana schema cannot be created.
+     */
+    public ParallelAdapter(int numberOfThreads, boolean clearDatabase)
+            throws FileNotFoundException, NoSuchFieldException, SQLException {
+        this(numberOfThreads, TaskanaAPI.AUTOCOMMIT, clearDatabase);
+    }
+
+    /**
+     * Creates the adapter and one TaskanaEngine per worker.
+     *
+     * @param numberOfThreads
+     *            number of worker threads
+     * @param apiCommitInterval
+     *            number of entities per transaction of every engine, {@link TaskanaAPI#AUTOCOMMIT} to commit every
+     *            API call
+     * @param clearDatabase
+     *            <code>true</code> if the existing Taskana schema should be dropped first
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     * @throws SQLException
+     *             If the Taskana schema cannot be created.
+     */
+    public ParallelAdapter(int numberOfThreads, int apiCommitInterval, boolean clearDatabase)
+            throws FileNotFoundException, NoSuchFieldException, SQLException {
+        DataSource dataSource = DataSourceHandler.getDataSource();
+        this.taskanaAPI = new TaskanaAPI(dataSource, clearDatabase, apiCommitInterval);
+        DataSourceHandler.ensureMaximumActiveConnections(numberOfThreads + 1);
+
+        this.workers = new ArrayList<>();
+        for (int i = 0; i < numberOfThreads; i++) {
+            workers.add(new Worker(i, new TaskanaAPI(dataSource, false, apiCommitInterval)));
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(numberOfThreads,
+                runnable -> new Thread(runnable, "persistence-worker-" + threadCounter.getAndIncrement()));
+    }
+
+    @Override
+    public void recordLatenciesIn(LatencyRecorder latencyRecorder) {
+        taskanaAPI.recordLatenciesIn(latencyRecorder);
+        for (Worker worker : workers) {
+            worker.taskanaAPI.recordLatenciesIn(latencyRecorder);
+        }
+    }
+
+    @Override
+    public void createTasks(List<TaskWrapper> tasks) throws Exception {
+        runPartitioned("TASK", partitionByWorkbasket(tasks, TaskWrapper::getWorkbasketKey), TaskanaAPI::createTasks);
+    }
+
+    @Override
+    public void createClassification(List<ClassificationWrapper> classifications) throws Exception {
+        taskanaAPI.createClassification(classifications);
+    }
+
+    @Override
+    public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws Exception {
+        taskanaAPI.createWorkbaskets(workbaskets);
+    }
+
+    /**
+     * Persists the distribution targets in parallel. All targets of a Workbasket are persisted by the same worker.
+     */
+    @Override
+    public void createDistributionTargets(List<WorkbasketWrapper> workbaskets) throws Exception {
+        runPartitioned("DISTRIBUTION_TARGETS", partitionByWorkbasket(workbaskets, WorkbasketWrapper::getId),
+                TaskanaAPI::createDistributionTargets);
+    }
+
+    @Override
+    public void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems)
+            throws Exception {
+        runPartitioned("WORKBASKET_ACCESS_LIST",
+                partitionByWorkbasket(workbasketAccessItems, WorkbasketAccessItemWrapper::getWorkbasketId),
+                TaskanaAPI::createWorkbasketAccesItem);
+    }
+
+    /**
+     * Stops the worker threads, waits until their work is done and logs the throughput of every worker.
+     *
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting for the workers
+     */
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        for (Worker worker : workers) {
+            worker.logSummary();
+        }
+    }
+
+    /**
+     * Splits the elements into one contiguous partition per worker. Elements of the same Workbasket always end up in
+     * the same partition, the partitions contain roughly the same number of elements.
+     */
+    private <E> List<List<E>> partitionByWorkbasket(List<E> elements, Function<E, String> workbasketOf) {
+        Map<String, List<E>> elementsByWorkbasket = new LinkedHashMap<>();
+        for (E element : elements) {
+            elementsByWorkbasket.computeIfAbsent(workbasketOf.apply(element), wb -> new ArrayList<>()).add(element);
+        }
+        return partition(elementsByWorkbasket.values(), elements.size());
+    }
+
+    private <E> List<List<E>> partition(Collection<List<E>> groups, int numberOfElements) {
+        List<List<E>> partitions = new ArrayList<>();
+        List<E> currentPartition = new ArrayList<>();
+        int assignedElements = 0;
+        for (List<E> group : groups) {
+            currentPartition.addAll(group);
+            assignedElements += group.size();
+            long partitionLimit = (long) numberOfElements * (partitions.size() + 1) / workers.size();
+            if (assignedElements >= partitionLimit && partitions.size() < workers.size() - 1) {
+                partitions.add(currentPartition);
+                currentPartition = new ArrayList<>();
+            }
+        }
+        partitions.add(currentPartition);
+        return partitions;
+    }
+
+    private <E> void runPartitioned(String table, List<List<E>> partitions, PartitionTask<E> task) throws Exception {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            Worker worker = workers.get(i);
+            List<E> partition = partitions.get(i);
+            futures.add(executor.submit(() -> {
+                worker.persist(table, partition, task);
+                return null;
+            }));
+        }
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Persists one partition with the {@link TaskanaAPI} of a worker.
+     *
+     * @param <E>
+     *            type of the persisted elements
+     */
+    @FunctionalInterface
+    private interface PartitionTask<E> {
+
+        void persist(TaskanaAPI taskanaAPI, List<E> partition) throws Exception;
+    }
+
+    /**
+     * A worker with its own {@link TaskanaAPI} which keeps track of its throughput.
+     */
+    private static class Worker {
+
+        private final int index;
+        private final TaskanaAPI taskanaAPI;
+
+        private long persistedRows;
+        private long elapsedNanos;
+
+        Worker(int index, TaskanaAPI taskanaAPI) {
+            this.index = index;
+            this.taskanaAPI = taskanaAPI;
+        }
+
+        <E> void persist(String table, List<E> partition, PartitionTask<E> task) throws Exception {
+            long start = System.nanoTime();
+            task.persist(taskanaAPI, partition);
+            long elapsed = System.nanoTime() - start;
+            synchronized (this) {
+                persistedRows += partition.size();
+                elapsedNanos += elapsed;
+            }
+            LOGGER.debug("Worker {} persisted {} elements for {} in {} ms ({} per second)", index, partition.size(),
+                    table, elapsed / 1_000_000, perSecond(partition.size(), elapsed));
+        }
+
+        synchronized void logSummary() {
+            LOGGER.info("Worker {} persisted {} elements in {} ms ({} per second)", index, persistedRows,
+                    elapsedNanos / 1_000_000, perSecond(persistedRows, elapsedNanos));
+        }
+
+        private static long perSecond(long elements, long nanos) {
+            return nanos > 0 ? elements * 1_000_000_000L / nanos : elements;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package pro.taskana.adapter;
+
+import java.util.List;
+
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.metrics.LatencyRecorder;
+
+/**
+ * Target for persisting generated test data. {@link TaskanaAPI} is the reference implementation which goes through
+ * the Taskana services; other implementations trade the API path for faster bulk persistence.
+ */
+public interface PersistenceAdapter extends AutoCloseable {
+
+    /**
+     * Persists all given Tasks.
+     *
+     * @param tasks
+     *            The Tasks to persist.
+     * @throws Exception
+     *             if the Tasks cannot be persisted.
+     */
+    void createTasks(List<TaskWrapper> tasks) throws Exception;
+
+    /**
+     * Persists all given Classifications. The first Classification is the parent of all following ones.
+     *
+     * @param classifications
+     *            The Classifications to persist.
+     * @throws Exception
+     *             if the Classifications cannot be persisted.
+     */
+    void createClassification(List<ClassificationWrapper> classifications) throws Exception;
+
+    /**
+     * Persists all given Workbaskets.
+     *
+     * @param workbaskets
+     *            The Workbaskets to persist.
+     * @throws Exception
+     *             if the Workbaskets cannot be persisted.
+     */
+    void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws Exception;
+
+    /**
+     * Create distribution targets for already persisted Workbaskets.
+     *
+     * @param workbaskets
+     *            Already persisted Workbaskets.
+     * @throws Exception
+     *             if the distribution targets cannot be persisted.
+     */
+    void createDistributionTargets(List<WorkbasketWrapper> workbaskets) throws Exception;
+
+    /**
+     * Persists all given WorkbasketAccessItems.
+     *
+     * @param workbasketAccessItems
+     *            The WorkbasketAccessItems to persist.
+     * @throws Exception
+     *             if the WorkbasketAccessItems cannot be persisted.
+     */
+    void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems) throws Exception;
+
+    /**
+     * Records the latency of every single database call in the given recorder, one histogram per type of call.
+     * Adapters which do not measure single calls ignore the recorder.
+     *
+     * @param latencyRecorder
+     *            target of the latencies
+     */
+    default void recordLatenciesIn(LatencyRecorder latencyRecorder) {
+    }
+
+    /**
+     * Releases all resources held by this adapter. Implementations may log a summary of the persisted data.
+     */
+    @Override
+    default void close() throws Exception {
+    }
+}
@@ -0,0 +1,48 @@
+package pro.taskana.adapter;
+
+/**
+ * Enum contains the supported ways to persist the generated data. The identifier is used to select the mode on the
+ * command line.
+ */
+public enum PersistenceMode {
+    API("api", true), JDBC_BATCH("jdbc", true), PARALLEL("parallel", true), POSTGRES_COPY("copy", true),
+    DB2_LOAD("db2load", false), SQL_SCRIPT("sql", false);
+
+    private final String identifier;
+    private final boolean databaseRequired;
+
+    private PersistenceMode(String identifier, boolean databaseRequired) {
+        this.identifier = identifier;
+        this.databaseRequired = databaseRequired;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Returns whether the mode persists the data in the configured database. The other modes write files to the
+     * persistence directory and run without a database.
+     *
+     * @return <code>true</code> if a database connection is needed
+     */
+    public boolean isDatabaseRequired() {
+        return databaseRequired;
+    }
+
+    /**
+     * Returns the mode for the given command line identifier.
+     *
+     * @param identifier
+     *            identifier of the mode
+     * @return matching {@link PersistenceMode}
+     */
+    public static PersistenceMode fromIdentifier(String identifier) {
+        for (PersistenceMode mode : values()) {
+            if (mode.identifier.equalsIgnoreCase(identifier)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown persistence mode " + identifier);
+    }
+}
@@ -0,0 +1,244 @@
+package pro.taskana.adapter;
+
+import java.io.FileNotFoundException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.Attachment;
+import pro.taskana.impl.AttachmentImpl;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.metrics.LatencyRecorder;
+import pro.taskana.persistence.CopyInserter;
+import pro.taskana.persistence.DataSourceHandler;
+import pro.taskana.persistence.MasterClassifications;
+import pro.taskana.persistence.TaskanaDefaults;
+import pro.taskana.persistence.table.DistributionTarget;
+import pro.taskana.persistence.table.TableMapping;
+import pro.taskana.persistence.table.TaskanaTables;
+
+/**
+ * Persists all generated data on PostgreSQL with <code>COPY ... FROM STDIN</code> instead of the Taskana API. The rows
+ * are encoded on the fly and streamed through the <code>CopyManager</code> of the PostgreSQL driver. They get the same
+ * values as if they were created by the Taskana services, see {@link TaskanaDefaults}. The schema is still created by
+ * the {@link TaskanaAPI}.
+ */
+public class PostgresCopyAdapter implements PersistenceAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresCopyAdapter.class);
+
+    private static final String SELECT_MASTER_CLASSIFICATIONS = "SELECT KEY, ID FROM " + TaskanaAPI.SCHEMA_NAME
+            + ".CLASSIFICATION WHERE DOMAIN = ?";
+
+    /**
+     * Guards the master Classifications, which are shared by the adapters of all domains.
+     */
+    private static final Object MASTER_DOMAIN_LOCK = new Object();
+
+    private final DataSource dataSource;
+    private final int commitInterval;
+    private final Map<String, Long> copiedRows = new TreeMap<>();
+
+    private LatencyRecorder latencyRecorder;
+    private long elapsedNanos;
+
+    /**
+     * Creates the adapter.
+     *
+     * @param commitInterval
+     *            number of Tasks per transaction
+     * @param clearDatabase
+     *            <code>true</code> if the existing Taskana schema should be dropped first
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     * @throws SQLException
+     *             If the Taskana schema cannot be created.
+     */
+    public PostgresCopyAdapter(int commitInterval, boolean clearDatabase)
+            throws FileNotFoundException, NoSuchFieldException, SQLException {
+        this.dataSource = DataSourceHandler.getDataSource();
+        // the engine of the API creates the Taskana schema
+        new TaskanaAPI(dataSource, clearDatabase);
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Copies the Tasks and their Attachments in transactions of at most <code>commitInterval</code> Tasks.
+     *
+     * @param tasks
+     *            The Tasks to persist.
+     * @throws SQLException
+     *             if a copy fails. The current transaction is rolled back.
+     */
+    @Override
+    public void createTasks(List<TaskWrapper> tasks) throws SQLException {
+        for (int from = 0; from < tasks.size(); from += commitInterval) {
+            List<TaskWrapper> chunk = tasks.subList(from, Math.min(from + commitInterval, tasks.size()));
+            inTransaction("copy.tasks", connection -> {
+                Instant now = Instant.now();
+                List<AttachmentImpl> attachments = new ArrayList<>();
+                for (TaskWrapper task : chunk) {
+                    TaskanaDefaults.prepareTask(task, now);
+                    for (Attachment attachment : task.getAttachments()) {
+                        attachments.add((AttachmentImpl) attachment);
+                    }
+                }
+                copy(connection, TaskanaTables.TASK, chunk);
+                copy(connection, TaskanaTables.ATTACHMENT, attachments);
+            });
+        }
+    }
+
+    /**
+     * Copies the Classifications of one category and, like <code>ClassificationService.createClassification</code>,
+     * a copy of each in the master domain unless the master domain already contains the key.
+     *
+     * @param classifications
+     *            The Classifications to persist, the parent first.
+     * @throws SQLException
+     *             if a copy fails. The transaction is rolled back.
+     */
+    @Override
+    public void createClassification(List<ClassificationWrapper> classifications) throws SQLException {
+        TaskanaDefaults.prepareClassifications(classifications, Instant.now());
+        synchronized (MASTER_DOMAIN_LOCK) {
+            inTransaction("copy.classifications", connection -> {
+                List<ClassificationWrapper> masterCopies = new MasterClassifications(
+                        readMasterClassificationIds(connection)).addCopiesOf(classifications);
+                copy(connection, TaskanaTables.CLASSIFICATION, classifications);
+                copy(connection, TaskanaTables.CLASSIFICATION, masterCopies);
+            });
+        }
+    }
+
+    @Override
+    public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws SQLException {
+        Instant now = Instant.now();
+        for (WorkbasketWrapper workbasket : workbaskets) {
+            TaskanaDefaults.prepareWorkbasket(workbasket, now);
+        }
+        inTransaction("copy.workbaskets", connection -> copy(connection, TaskanaTables.WORKBASKET, workbaskets));
+    }
+
+    @Override
+    public void createDistributionTargets(List<WorkbasketWrapper> workbaskets) throws SQLException {
+        List<DistributionTarget> distributionTargets = new ArrayList<>();
+        for (WorkbasketWrapper workbasket : workbaskets) {
+            for (WorkbasketWrapper distributionTarget : workbasket.getDirectChildren()) {
+                distributionTargets.add(new DistributionTarget(workbasket.getId(), distributionTarget.getId()));
+            }
+        }
+        inTransaction("copy.distributionTargets",
+                connection -> copy(connection, TaskanaTables.DISTRIBUTION_TARGETS, distributionTargets));
+    }
+
+    @Override
+    public void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems)
+            throws SQLException {
+        for (WorkbasketAccessItemWrapper workbasketAccessItem : workbasketAccessItems) {
+            TaskanaDefaults.prepareWorkbasketAccessItem(workbasketAccessItem);
+        }
+        inTransaction("copy.accessItems",
+                connection -> copy(connection, TaskanaTables.WORKBASKET_ACCESS_LIST, workbasketAccessItems));
+    }
+
+    /**
+     * Records the latency of every transaction, including the encoding of its rows.
+     */
+    @Override
+    public void recordLatenciesIn(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    /**
+     * Logs the number of copied rows per table and the achieved throughput.
+     */
+    @Override
+    public synchronized void close() {
+        long rows = copiedRows.values().stream().mapToLong(Long::longValue).sum();
+        double seconds = elapsedNanos / 1_000_000_000d;
+        LOGGER.info("Copied {} rows {} in {} s ({} rows/s, commit interval {})", rows, copiedRows,
+                String.format("%.1f", seconds), seconds > 0 ? Math.round(rows / seconds) : rows, commitInterval);
+    }
+
+    private void inTransaction(String operation, CopyStep step) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                step.copy(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            synchronized (this) {
+                elapsedNanos += System.nanoTime() - start;
+            }
+            if (latencyRecorder != null) {
+                latencyRecorder.record(operation, start);
+            }
+        }
+    }
+
+    private <T> void copy(Connection connection, TableMapping<T> mapping, Collection<? extends T> entities)
+            throws SQLException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try (CopyInserter<T> inserter = new CopyInserter<>(connection, mapping, TaskanaAPI.SCHEMA_NAME,
+                CopyInserter.DEFAULT_BUFFER_SIZE)) {
+            for (T entity : entities) {
+                inserter.add(entity);
+            }
+            long rows = inserter.finish();
+            synchronized (this) {
+                copiedRows.merge(mapping.getTableName(), rows, Long::sum);
+            }
+        }
+    }
+
+    private static Map<String, String> readMasterClassificationIds(Connection connection) throws SQLException {
+        Map<String, String> masterIds = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_MASTER_CLASSIFICATIONS)) {
+            statement.setString(1, TaskanaDefaults.MASTER_DOMAIN);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    masterIds.put(resultSet.getString(1), resultSet.getString(2));
+                }
+            }
+        }
+        return masterIds;
+    }
+
+    /**
+     * Copies rows within a transaction.
+     */
+    @FunctionalInterface
+    private interface CopyStep {
+
+        void copy(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,113 @@
+package pro.taskana.adapter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.data.generation.util.Formatter;
+import pro.taskana.persistence.SqlDialect;
+import pro.taskana.persistence.SqlScriptWriter;
+import pro.taskana.persistence.table.TableMapping;
+
+/**
+ * Writes all generated data as multi-row INSERT statements to SQL scripts for H2, PostgreSQL or DB2 instead of
+ * persisting it, so the generation runs without a database. Every adapter writes its own scripts per table, named
+ * <code>&lt;nn&gt;_&lt;TABLE&gt;_&lt;n&gt;_&lt;part&gt;.sql</code>, where <code>nn</code> is the position of the table
+ * in load order. Running the scripts in the order of their names fills an existing Taskana schema, e.g. with
+ * <code>for f in *.sql; do psql -f $f; done</code>. The scripts of different tables are written in parallel.
+ */
+public class SqlScriptAdapter extends FileAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlScriptAdapter.class);
+
+    private static final String FILE_PATTERN = "[0-9][0-9]_*.sql";
+    private static final int TABLE_NUMBER_LENGTH = 2;
+
+    private final SqlDialect dialect;
+    private final int rowsPerStatement;
+    private final int statementsPerCommit;
+    private final long maxFileSize;
+    private final Map<TableMapping<?>, SqlScriptWriter<?>> writers = new LinkedHashMap<>();
+
+    /**
+     * Creates the adapter.
+     *
+     * @param directory
+     *            directory of the scripts, created if it does not exist
+     * @param clearDirectory
+     *            <code>true</code> if the scripts of an earlier run should be deleted first
+     * @param dialect
+     *            dialect of the target database
+     * @param rowsPerStatement
+     *            maximum number of rows per INSERT statement
+     * @param statementsPerCommit
+     *            number of statements per transaction
+     * @param maxFileSize
+     *            number of bytes after which the next script of a table is started
+     * @throws IOException
+     *             if the directory cannot be created or cleared
+     */
+    public SqlScriptAdapter(Path directory, boolean clearDirectory, SqlDialect dialect, int rowsPerStatement,
+            int statementsPerCommit, long maxFileSize) throws IOException {
+        super(directory, clearDirectory, FILE_PATTERN);
+        this.dialect = dialect;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerCommit = statementsPerCommit;
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Waits until all scripts of this adapter are written.
+     *
+     * @throws IOException
+     *             if a script cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (Map.Entry<TableMapping<?>, SqlScriptWriter<?>> writer : writers.entrySet()) {
+            try {
+                writer.getValue().close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+                continue;
+            }
+            LOGGER.info("Wrote {} {} rows to {} {} script(s) {}_*.sql", writer.getValue().getWrittenRows(),
+                    writer.getKey().getTableName(), writer.getValue().getNumberOfFiles(), dialect.getIdentifier(),
+                    getDirectory().resolve(filePrefixOf(writer.getKey())));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    protected <T> void write(TableMapping<T> mapping, Collection<? extends T> entities) throws IOException {
+        writerOf(mapping).addAll(entities);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> SqlScriptWriter<T> writerOf(TableMapping<T> mapping) {
+        SqlScriptWriter<T> writer = (SqlScriptWriter<T>) writers.get(mapping);
+        if (writer == null) {
+            writer = new SqlScriptWriter<>(getDirectory(), filePrefixOf(mapping), mapping, TaskanaAPI.SCHEMA_NAME,
+                    dialect, rowsPerStatement, statementsPerCommit, maxFileSize);
+            writers.put(mapping, writer);
+        }
+        return writer;
+    }
+
+    private String filePrefixOf(TableMapping<?> mapping) {
+        return Formatter.format(TABLES.indexOf(mapping) + 1, TABLE_NUMBER_LENGTH) + "_" + mapping.getTableName() + "_"
+                + getAdapterNumber();
+    }
+}
@@ -3,8 +3,11 @@ package pro.taskana.adapter;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.sql.DataSource;
 
@@ -13,7 +16,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import pro.taskana.ClassificationService;
-import pro.taskana.Task;
 import pro.taskana.TaskService;
 import pro.taskana.TaskanaEngine;
 import pro.taskana.Workbasket;
@@ -25,31 +27,86 @@ import pro.taskana.impl.TaskWrapper;
 import pro.taskana.impl.WorkbasketAccessItemWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
 import pro.taskana.exceptions.ClassificationAlreadyExistException;
-import pro.taskana.exceptions.ClassificationNotFoundException;
 import pro.taskana.exceptions.DomainNotFoundException;
 import pro.taskana.exceptions.InvalidArgumentException;
-import pro.taskana.exceptions.InvalidWorkbasketException;
 import pro.taskana.exceptions.NotAuthorizedException;
-import pro.taskana.exceptions.TaskAlreadyExistException;
-import pro.taskana.exceptions.WorkbasketAlreadyExistException;
-import pro.taskana.exceptions.WorkbasketNotFoundException;
+import pro.taskana.exceptions.TaskanaException;
 import pro.taskana.impl.TaskanaEngineImpl;
+import pro.taskana.metrics.LatencyRecorder;
 import pro.taskana.persistence.DataSourceHandler;
+import pro.taskana.persistence.table.DistributionTarget;
 
-public class TaskanaAPI {
+/**
+ * Persists the generated data via the Taskana API. By default every API call runs in its own transaction
+ * (<code>AUTOCOMMIT</code>). With a commit interval, the calls are grouped into transactions of that many entities on
+ * an explicit connection. A transaction which fails with a {@link SQLException} or a {@link RuntimeException} is
+ * rolled back and retried, up to {@value #MAX_ATTEMPTS} attempts. A {@link TaskanaException} of the API rolls the
+ * transaction back and is rethrown at once, retrying would fail the same way. Transactions committed before the
+ * failure stay committed. Without commit interval nothing is retried, every exception is passed on directly. The
+ * explicit connection belongs to the whole engine, so transactions of one instance do not run concurrently; use one
+ * instance per thread like {@link ParallelAdapter} for that.
+ */
+public class TaskanaAPI implements PersistenceAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskanaAPI.class);
     private static final String DROP_SCHEMA_SQL = "/clear-database.sql";
-    protected static final String SCHEMA_NAME = "taskana";
+    public static final String SCHEMA_NAME = "taskana";
 
+    /**
+     * Commit interval which commits every API call on its own.
+     */
+    public static final int AUTOCOMMIT = 0;
+
+    /**
+     * Attempts per transaction before a database error is passed on.
+     */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final DataSource dataSource;
+    private final int commitInterval;
     private TaskanaEngine taskanaEngine;
     private TaskService taskService;
     private ClassificationService classificationService;
     private WorkbasketService workbasketService;
+    private LatencyRecorder latencyRecorder;
 
     public TaskanaAPI() throws FileNotFoundException, NoSuchFieldException, SQLException {
-        DataSource dataSource = DataSourceHandler.getDataSource();
-        clearDatabase(dataSource);
+        this(DataSourceHandler.getDataSource(), true);
+    }
+
+    /**
+     * Creates a new {@link TaskanaEngine} on the given {@link DataSource}.
+     *
+     * @param dataSource
+     *            the {@link DataSource} of the Taskana database
+     * @param clearDatabase
+     *            <code>true</code> if the existing Taskana schema should be dropped first
+     * @throws SQLException
+     *             if the Taskana schema cannot be created
+     */
+    public TaskanaAPI(DataSource dataSource, boolean clearDatabase) throws SQLException {
+        this(dataSource, clearDatabase, AUTOCOMMIT);
+    }
+
+    /**
+     * Creates a new {@link TaskanaEngine} on the given {@link DataSource} which groups the API calls into
+     * transactions.
+     *
+     * @param dataSource
+     *            the {@link DataSource} of the Taskana database
+     * @param clearDatabase
+     *            <code>true</code> if the existing Taskana schema should be dropped first
+     * @param commitInterval
+     *            number of entities per transaction, {@link #AUTOCOMMIT} to commit every API call
+     * @throws SQLException
+     *             if the Taskana schema cannot be created
+     */
+    public TaskanaAPI(DataSource dataSource, boolean clearDatabase, int commitInterval) throws SQLException {
+        this.dataSource = dataSource;
+        this.commitInterval = commitInterval;
+        if (clearDatabase) {
+            clearDatabase(dataSource);
+        }
 
         TaskanaEngineConfiguration taskanaConfiguration = new TaskanaEngineConfiguration(dataSource, false, false, SCHEMA_NAME);
 
@@ -73,97 +130,225 @@ public class TaskanaAPI {
     }
 
     /**
-     * Persists all given Tasks via the Taskana API.
+     * Persists all given Tasks via the Taskana API, in transactions of <code>commitInterval</code> Tasks. The ids
+     * of the Tasks of a retried transaction are reset, so the API assigns new ones.
      * 
      * @param tasks
      *            The Tasks to persist.
-     * @throws InvalidArgumentException
-     * @throws TaskAlreadyExistException
-     * @throws NotAuthorizedException
-     * @throws ClassificationNotFoundException
-     * @throws WorkbasketNotFoundException
+     * @throws TaskanaException
+     *             if the API rejects a Task, e.g. because its Workbasket or Classification does not exist. The
+     *             current transaction is rolled back.
+     * @throws SQLException
+     *             if a transaction still fails after {@value #MAX_ATTEMPTS} attempts
      */
-    public void createTasks(List<TaskWrapper> tasks)
-            throws WorkbasketNotFoundException, ClassificationNotFoundException, NotAuthorizedException,
-            TaskAlreadyExistException, InvalidArgumentException {
-        for (Task task : tasks) {
-            taskService.createTask(task);
-        }
+    @Override
+    public void createTasks(List<TaskWrapper> tasks) throws TaskanaException, SQLException {
+        // the API rejects Tasks which already have an id, so the ids of a rolled back transaction are reset
+        persistAll("api.createTask", tasks, taskService::createTask, task -> task.setId(null));
     }
 
     /**
-     * Persists all given Classifications via the Taskana API.
+     * Persists all given Classifications via the Taskana API. With a commit interval, the whole category is
+     * created in a single transaction regardless of its size, and a retry creates the parent again.
      * 
      * @param classifications
-     *            The {@link pro.taskana.Classification}s to persist.
-     * @throws InvalidArgumentException
-     * @throws NotAuthorizedException
-     * @throws ClassificationAlreadyExistException
-     * @throws DomainNotFoundException
+     *            The {@link pro.taskana.Classification}s to persist, the first one becomes the parent.
+     * @throws TaskanaException
+     *             if the API rejects a Classification, e.g. because it already exists. The transaction is rolled
+     *             back.
+     * @throws SQLException
+     *             if the transaction still fails after {@value #MAX_ATTEMPTS} attempts
      */
+    @Override
     public void createClassification(List<ClassificationWrapper> classifications)
-            throws DomainNotFoundException, ClassificationAlreadyExistException,
-            NotAuthorizedException, InvalidArgumentException {
+            throws TaskanaException, SQLException {
         ClassificationWrapper parent = classifications.remove(0);
+        if (commitInterval == AUTOCOMMIT) {
+            createClassification(parent, classifications);
+        } else {
+            // the category is created in one transaction, so a retry starts again with the parent
+            inTransaction(() -> createClassification(parent, classifications), () -> {
+                parent.setId(null);
+                for (ClassificationWrapper classification : classifications) {
+                    classification.setId(null);
+                }
+            });
+        }
+    }
+
+    private void createClassification(ClassificationWrapper parent, List<ClassificationWrapper> classifications)
+            throws DomainNotFoundException, ClassificationAlreadyExistException, NotAuthorizedException,
+            InvalidArgumentException {
         parent.setKey(parent.getCategory());
+        long parentStart = System.nanoTime();
         String parentId = classificationService.createClassification(parent).getId();
+        recordLatency("api.createClassification", parentStart);
         int i = 0;
         for (ClassificationWrapper classification : classifications) {
             classification.setParentId(parentId);
             classification.setKey(classification.getCategory() + i);
+            long start = System.nanoTime();
             classificationService.createClassification(classification);
+            recordLatency("api.createClassification", start);
             i++;
         }
     }
 
     /**
-     * Persists all given Workbaskets via the Taskana API.
+     * Persists all given Workbaskets via the Taskana API, in transactions of <code>commitInterval</code>
+     * Workbaskets.
      * 
      * @param workbaskets
      *            The {@link Workbasket}s to persist.
-     * @throws WorkbasketAlreadyExistException
-     * @throws NotAuthorizedException
-     * @throws InvalidWorkbasketException
-     * @throws DomainNotFoundException
-     * @throws WorkbasketNotFoundException
+     * @throws TaskanaException
+     *             if the API rejects a Workbasket, e.g. because its key already exists in the domain. The current
+     *             transaction is rolled back.
+     * @throws SQLException
+     *             if a transaction still fails after {@value #MAX_ATTEMPTS} attempts
      */
-    public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws DomainNotFoundException,
-            InvalidWorkbasketException, NotAuthorizedException, WorkbasketAlreadyExistException {
-        for (WorkbasketWrapper workbasket : workbaskets) {
-            workbasketService.createWorkbasket(workbasket);
-        }
+    @Override
+    public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) throws TaskanaException, SQLException {
+        persistAll("api.createWorkbasket", workbaskets, workbasketService::createWorkbasket, null);
     }
 
     /**
-     * Create distribution targets for existing {@link Workbasket}.
+     * Create distribution targets for existing {@link Workbasket}. The transactions contain
+     * <code>commitInterval</code> distribution targets, not Workbaskets.
      * 
      * @param workbaskets
      *            Already perisited {@link Workbasket}s.
-     * @throws WorkbasketNotFoundException
-     * @throws NotAuthorizedException
+     * @throws TaskanaException
+     *             if the API rejects a distribution target, e.g. because one of the Workbaskets does not exist. The
+     *             current transaction is rolled back.
+     * @throws SQLException
+     *             if a transaction still fails after {@value #MAX_ATTEMPTS} attempts
      */
+    @Override
     public void createDistributionTargets(List<WorkbasketWrapper> workbaskets)
-            throws WorkbasketNotFoundException, NotAuthorizedException {
+            throws TaskanaException, SQLException {
+        List<DistributionTarget> distributionTargets = new ArrayList<>();
         for (WorkbasketWrapper workbasketWrapper : workbaskets) {
             for (WorkbasketWrapper distributionTarget : workbasketWrapper.getDirectChildren()) {
-                workbasketService.addDistributionTarget(workbasketWrapper.getId(), distributionTarget.getId());
+                distributionTargets.add(new DistributionTarget(workbasketWrapper.getId(), distributionTarget.getId()));
             }
         }
+        persistAll("api.addDistributionTarget", distributionTargets, distributionTarget -> workbasketService
+                .addDistributionTarget(distributionTarget.getSourceId(), distributionTarget.getTargetId()), null);
     }
 
     /**
-     * Persists all given Workbaskets via the Taskana API.
+     * Persists all given WorkbasketAccessItems via the Taskana API, in transactions of
+     * <code>commitInterval</code> items.
      * 
      * @param workbasketAccessItems
      *            The {@link WorkbasketAccessItem}s to persist.
-     * @throws NotAuthorizedException
-     * @throws InvalidArgumentException
-     * @throws WorkbasketNotFoundException
+     * @throws TaskanaException
+     *             if the API rejects an item, e.g. because its Workbasket does not exist. The current transaction is
+     *             rolled back.
+     * @throws SQLException
+     *             if a transaction still fails after {@value #MAX_ATTEMPTS} attempts
      */
+    @Override
     public void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems)
-            throws WorkbasketNotFoundException, InvalidArgumentException, NotAuthorizedException {
-        for (WorkbasketAccessItemWrapper workbasketAccessItem : workbasketAccessItems) {
-            workbasketService.createWorkbasketAccessItem(workbasketAccessItem);
+            throws TaskanaException, SQLException {
+        persistAll("api.createWorkbasketAccessItem", workbasketAccessItems,
+                workbasketService::createWorkbasketAccessItem, null);
+    }
+
+    @Override
+    public void recordLatenciesIn(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    /**
+     * Persists the entities one by one, in transactions of <code>commitInterval</code> entities unless every call is
+     * committed on its own.
+     */
+    private <E> void persistAll(String operation, List<E> entities, ApiCall<E> call, Consumer<E> resetForRetry)
+            throws TaskanaException, SQLException {
+        if (commitInterval == AUTOCOMMIT) {
+            for (E entity : entities) {
+                persist(operation, entity, call);
+            }
+            return;
         }
+        for (int from = 0; from < entities.size(); from += commitInterval) {
+            List<E> chunk = entities.subList(from, Math.min(from + commitInterval, entities.size()));
+            inTransaction(() -> {
+                for (E entity : chunk) {
+                    persist(operation, entity, call);
+                }
+            }, resetForRetry == null ? null : () -> chunk.forEach(resetForRetry));
+        }
+    }
+
+    private <E> void persist(String operation, E entity, ApiCall<E> call) throws TaskanaException {
+        long start = System.nanoTime();
+        call.persist(entity);
+        recordLatency(operation, start);
+    }
+
+    /**
+     * Runs the API calls on an explicit connection and commits them. Database errors roll the transaction back and
+     * retry it, errors of the API itself are not retried.
+     *
+     * @param calls
+     *            the API calls of the transaction
+     * @param resetForRetry
+     *            reverts the changes of the API calls to the entities before a retry, may be <code>null</code>
+     */
+    private synchronized void inTransaction(Transaction calls, Runnable resetForRetry)
+            throws TaskanaException, SQLException {
+        for (int attempt = 1;; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                taskanaEngine.setConnection(connection);
+                try {
+                    calls.run();
+                    long start = System.nanoTime();
+                    connection.commit();
+                    recordLatency("api.commit", start);
+                    return;
+                } catch (TaskanaException e) {
+                    connection.rollback();
+                    throw e;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    if (attempt >= MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                    LOGGER.warn("Transaction failed in attempt {} of {}, retrying", attempt, MAX_ATTEMPTS, e);
+                } finally {
+                    taskanaEngine.closeConnection();
+                }
+            }
+            if (resetForRetry != null) {
+                resetForRetry.run();
+            }
+        }
+    }
+
+    private void recordLatency(String operation, long start) {
+        if (latencyRecorder != null) {
+            latencyRecorder.record(operation, start);
+        }
+    }
+
+    /**
+     * Persists one entity via the Taskana API.
+     */
+    @FunctionalInterface
+    private interface ApiCall<E> {
+
+        void persist(E entity) throws TaskanaException;
+    }
+
+    /**
+     * The API calls of one transaction.
+     */
+    @FunctionalInterface
+    private interface Transaction {
+
+        void run() throws TaskanaException;
     }
 }
@@ -1,5 +1,40 @@
 package pro.taskana.data.enums;
 
 public enum AccessType {
-	READ, OPEN, APPEND, DISTRIBUTE, TRANSFER
+	READ, OPEN, APPEND, DISTRIBUTE, TRANSFER;
+
+	/**
+	 * Returns the bit of this access type in a permission bitmask.
+	 * 
+	 * @return bit of this access type
+	 */
+	public int getMask() {
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Combines the given access types to a permission bitmask.
+	 * 
+	 * @param accessTypes
+	 *            granted access types
+	 * @return bitmask with the bits of all given access types
+	 */
+	public static int toMask(AccessType... accessTypes) {
+		int mask = 0;
+		for (AccessType accessType : accessTypes) {
+			mask |= accessType.getMask();
+		}
+		return mask;
+	}
+
+	/**
+	 * Checks if this access type is granted by the given permission bitmask.
+	 * 
+	 * @param mask
+	 *            permission bitmask
+	 * @return <code>true</code> if the bit of this access type is set
+	 */
+	public boolean isGrantedBy(int mask) {
+		return (mask & getMask()) != 0;
+	}
 }
@@ -1,17 +1,31 @@
 package pro.taskana.data.generation;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import pro.taskana.TaskState;
+import pro.taskana.adapter.Db2LoadAdapter;
+import pro.taskana.adapter.JdbcBatchAdapter;
+import pro.taskana.adapter.ParallelAdapter;
+import pro.taskana.adapter.PersistenceAdapter;
+import pro.taskana.adapter.PersistenceMode;
+import pro.taskana.adapter.PostgresCopyAdapter;
+import pro.taskana.adapter.SqlScriptAdapter;
 import pro.taskana.adapter.TaskanaAPI;
 import pro.taskana.data.enums.AccessType;
 import pro.taskana.data.enums.ClassificationType;
@@ -19,12 +33,21 @@ import pro.taskana.data.generation.builder.ClassificationBuilder;
 import pro.taskana.data.generation.builder.TaskBuilder;
 import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
 import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.data.generation.util.RandomSource;
 import pro.taskana.impl.ClassificationWrapper;
 import pro.taskana.impl.DataWrapper;
 import pro.taskana.impl.TaskWrapper;
 import pro.taskana.impl.WorkbasketAccessItemWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.export.DatabaseExporter;
 import pro.taskana.export.ScenarioExporter;
+import pro.taskana.export.io.FileUtils;
+import pro.taskana.metrics.GenerationMetrics;
+import pro.taskana.metrics.Phase;
+import pro.taskana.metrics.PhaseMetrics;
+import pro.taskana.metrics.ProgressReporter;
+import pro.taskana.persistence.DataSourceHandler;
+import pro.taskana.persistence.IndexSuspension;
 
 /**
  * Class for generate, persist and export test data.
@@ -37,8 +60,22 @@ public class DataGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
 
-    private static final String OUPUT_PATH_IDENTIFIER = "-o";
-    private static TaskanaAPI taskana;
+    private static final Map<String, DomainGeneration> DOMAINS = new LinkedHashMap<>();
+
+    /**
+     * Tasks passed to the persistence adapter at once outside of the pipeline, so the progress advances during the
+     * persistence of a large domain.
+     */
+    private static final int TASK_PERSISTENCE_SLICE = 100000;
+
+    private static GeneratorOptions options;
+    private static GenerationMetrics metrics;
+
+    static {
+        DOMAINS.put("A", DataGenerator::buildDomainA);
+        DOMAINS.put("B", DataGenerator::buildDomainB);
+        DOMAINS.put("C", DataGenerator::buildDomainC);
+    }
 
     /**
      * Generate, persist and export test data.
@@ -47,58 +84,238 @@ public class DataGenerator {
      * @throws Exception
      */
     public static void main(String[] args) throws Exception {
-        Path outputDir = null;
-        for (int i = 0; i < args.length; i++) {
-            if (args[i].equals(OUPUT_PATH_IDENTIFIER) && args.length > i + 1) {
-                outputDir = Paths.get(args[i + 1]);
+        options = GeneratorOptions.parse(args);
+        metrics = new GenerationMetrics();
+        Path outputDir = options.getOutputDir();
+        RandomSource randomSource = options.getSeed() == null ? RandomSource.unseeded()
+                : new RandomSource(options.getSeed());
+        try (ProgressReporter progress = metrics.startProgressReporting(options.getProgressIntervalSeconds())) {
+            if (options.isExportFromDatabase()) {
+                exportFromDatabase(outputDir, randomSource);
+            } else {
+                generateAndExport(outputDir, randomSource);
             }
         }
+        metrics.logSummary();
+        metrics.writeSummary(options.getMetricsFile());
+        if (options.getLatencyDir() != null) {
+            metrics.getLatencies().writeDistributions(options.getLatencyDir());
+        }
+    }
+
+    private static void exportFromDatabase(Path outputDir, RandomSource randomSource) throws Exception {
+        if (outputDir == null) {
+            throw new IllegalArgumentException("The export from the database needs an output directory (-o)");
+        }
+        LOGGER.info("Exporting the persisted data with seed {}", randomSource.getSeed());
+        FileUtils fileUtils = createFileUtils(outputDir);
+        metrics.measure(Phase.EXPORT, 0,
+                () -> new DatabaseExporter(DataSourceHandler.getDataSource(), TaskanaAPI.SCHEMA_NAME,
+                        options.getFetchSize()).exportData(randomSource.derive("export"), fileUtils,
+                                options.getExportSampling()));
+    }
 
-        taskana = new TaskanaAPI();
+    private static void generateAndExport(Path outputDir, RandomSource randomSource) throws Exception {
+        LOGGER.info("Generating data with seed {}, pass -seed {} to repeat this run", randomSource.getSeed(),
+                randomSource.getSeed());
+        GenerationContext context = new GenerationContext(randomSource);
+        if (options.getNumberOfPipelineConsumers() > 0) {
+            LOGGER.info("Generating and persisting tasks in a pipeline");
+        }
 
         DataWrapper generatedData;
-        generatedData = buildDomainA();
-        generatedData = generatedData.union(buildDomainB());
-        generatedData = generatedData.union(buildDomainC());
+        if (options.isParallelDomains()) {
+            generatedData = buildDomainsInParallel(context);
+        } else {
+            generatedData = null;
+            // the schema is created before the indexes are suspended, they are restored after the adapter is closed
+            clearPersistence();
+            try (AutoCloseable suspendedIndexes = suspendIndexes();
+                    PersistenceAdapter adapter = createPersistenceAdapter(false)) {
+                for (Map.Entry<String, DomainGeneration> domain : DOMAINS.entrySet()) {
+                    DataWrapper domainData = domain.getValue().build(context.newDomain(domain.getKey()), adapter);
+                    generatedData = generatedData == null ? domainData : generatedData.union(domainData);
+                }
+            }
+        }
 
         if (outputDir != null) {
-            if (outputDir != null && !Files.exists(outputDir)) {
-                Files.createDirectories(outputDir);
+            DataWrapper exportedData = generatedData;
+            FileUtils fileUtils = createFileUtils(outputDir);
+            metrics.measure(Phase.EXPORT, exportedData.tasks.size(), () -> ScenarioExporter.exportData(exportedData,
+                    randomSource.derive("export"), fileUtils, options.getExportSampling()));
+        }
+    }
+
+    private static FileUtils createFileUtils(Path outputDir) throws IOException {
+        if (!Files.exists(outputDir)) {
+            Files.createDirectories(outputDir);
+        }
+        return new FileUtils(outputDir, options.getExportFileType())
+                .withMaxLinesPerFile(options.getExportChunkLines())
+                .withParallelWriters(options.isParallelExport());
+    }
+
+    /**
+     * Builds and persists all domains at the same time. The Taskana schema is recreated once, afterwards every domain
+     * is persisted with its own {@link PersistenceAdapter}.
+     *
+     * @param context
+     *            context of this run
+     * @return the generated data of all domains
+     * @throws Exception
+     *             if a domain cannot be built or persisted
+     */
+    private static DataWrapper buildDomainsInParallel(GenerationContext context) throws Exception {
+        LOGGER.info("Building domains {} in parallel", DOMAINS.keySet());
+        if (options.getPersistenceMode().isDatabaseRequired()) {
+            DataSourceHandler.ensureMaximumActiveConnections(DOMAINS.size() * (options.getNumberOfThreads()
+                    + options.getNumberOfPipelineConsumers() + 2));
+        }
+        clearPersistence();
+
+        try (AutoCloseable suspendedIndexes = suspendIndexes()) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(DOMAINS.size(),
+                    runnable -> new Thread(runnable, "domain-generator-" + threadCounter.getAndIncrement()));
+            try {
+                List<Future<DataWrapper>> futures = new ArrayList<>();
+                for (Map.Entry<String, DomainGeneration> domain : DOMAINS.entrySet()) {
+                    DomainContext domainContext = context.newDomain(domain.getKey());
+                    futures.add(executor.submit(() -> {
+                        try (PersistenceAdapter adapter = createPersistenceAdapter(false)) {
+                            return domain.getValue().build(domainContext, adapter);
+                        }
+                    }));
+                }
+                DataWrapper generatedData = null;
+                for (Future<DataWrapper> future : futures) {
+                    DataWrapper domainData = future.get();
+                    generatedData = generatedData == null ? domainData : generatedData.union(domainData);
+                }
+                return generatedData;
+            } finally {
+                // the indexes must not be restored while the other domains still insert
+                executor.shutdownNow();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
             }
-            ScenarioExporter.exportData(generatedData, outputDir);
+            throw e;
+        }
+    }
+
+    /**
+     * Recreates the Taskana schema, or deletes the files of an earlier run if the persistence mode does not write to
+     * the database.
+     *
+     * @throws Exception
+     *             if the schema cannot be created or the files cannot be deleted
+     */
+    private static void clearPersistence() throws Exception {
+        if (options.getPersistenceMode().isDatabaseRequired()) {
+            new TaskanaAPI(DataSourceHandler.getDataSource(), true).close();
+        } else {
+            createPersistenceAdapter(true).close();
+        }
+    }
+
+    /**
+     * Drops the secondary indexes and foreign keys of the bulk loaded tables if requested. Closing the returned
+     * resource creates them again, also if the persistence failed.
+     *
+     * @return resource restoring the indexes, <code>null</code> if the indexes are not suspended
+     * @throws Exception
+     *             if the indexes cannot be read or dropped
+     */
+    private static AutoCloseable suspendIndexes() throws Exception {
+        if (!options.isSuspendIndexes()) {
+            return null;
         }
+        if (!options.getPersistenceMode().isDatabaseRequired()) {
+            LOGGER.warn("Mode {} does not write to the database, indexes are not suspended",
+                    options.getPersistenceMode().getIdentifier());
+            return null;
+        }
+        IndexSuspension indexSuspension = new IndexSuspension(TaskanaAPI.SCHEMA_NAME, IndexSuspension.DEFAULT_TABLES,
+                options.getIndexStateFile(), IndexSuspension.DEFAULT_REBUILD_THREADS);
+        int suspended = indexSuspension.suspend();
+        LOGGER.info("Suspended {} indexes and foreign keys of {} until the persistence is done", suspended,
+                IndexSuspension.DEFAULT_TABLES);
+        return () -> metrics.measure(Phase.INDEX_REBUILD, suspended, indexSuspension::restore);
+    }
+
+    private static PersistenceAdapter createPersistenceAdapter(boolean clearDatabase) throws Exception {
+        LOGGER.info("Persisting data in mode {}", options.getPersistenceMode());
+        PersistenceAdapter adapter;
+        switch (options.getPersistenceMode()) {
+            case JDBC_BATCH:
+                adapter = new JdbcBatchAdapter(options.getBatchSize(), options.getCommitInterval(), clearDatabase);
+                break;
+            case PARALLEL:
+                adapter = new ParallelAdapter(options.getNumberOfThreads(), options.getApiCommitInterval(),
+                        clearDatabase);
+                break;
+            case POSTGRES_COPY:
+                adapter = new PostgresCopyAdapter(options.getCommitInterval(), clearDatabase);
+                break;
+            case DB2_LOAD:
+                if (options.getPersistenceDir() == null) {
+                    throw new IllegalArgumentException("Mode " + PersistenceMode.DB2_LOAD.getIdentifier()
+                            + " needs the directory of the load files (-persistenceDir)");
+                }
+                adapter = new Db2LoadAdapter(options.getPersistenceDir(), clearDatabase);
+                break;
+            case SQL_SCRIPT:
+                if (options.getPersistenceDir() == null) {
+                    throw new IllegalArgumentException("Mode " + PersistenceMode.SQL_SCRIPT.getIdentifier()
+                            + " needs the directory of the scripts (-persistenceDir)");
+                }
+                adapter = new SqlScriptAdapter(options.getPersistenceDir(), clearDatabase, options.getSqlDialect(),
+                        options.getBatchSize(), options.getStatementsPerCommit(), options.getMaxFileSize());
+                break;
+            default:
+                adapter = new TaskanaAPI(DataSourceHandler.getDataSource(), clearDatabase,
+                        options.getApiCommitInterval());
+        }
+        adapter.recordLatenciesIn(metrics.getLatencies());
+        return adapter;
     }
 
-    private static DataWrapper buildDomainA() throws Exception {
+    private static DataWrapper buildDomainA(DomainContext domain, PersistenceAdapter taskana) throws Exception {
         // Build workbaskets
-        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder("A");
+        PhaseMetrics.Timer structureBuild = metrics.start(Phase.STRUCTURE_BUILD, 0);
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(domain);
         ElementStack<WorkbasketWrapper> personalWorkbaskets = structureBuilder.createSimpleWorkbaskets(50);
         List<WorkbasketWrapper> layer0 = structureBuilder.newLayer().withWb(5).withNumberOfDistTargets(10)
                 .selectFrom(personalWorkbaskets).build();
         List<WorkbasketWrapper> uppermostLayer = structureBuilder.newLayer().withWb(1).withDistTargets(layer0).build();
-        persistDomain(structureBuilder);
+        persistDomain(taskana, structureBuilder, structureBuild);
 
         // Build classifications
-        Map<ClassificationType, List<ClassificationWrapper>> classificationsByType = createClassificationsForDomain(
-                "A");
+        Map<ClassificationType, List<ClassificationWrapper>> classificationsByType = createClassificationsForDomain(taskana,
+                domain);
 
         // Build tasks
-        TaskBuilder taskBuilder = new TaskBuilder(classificationsByType, 150000);
+        TaskBuilder taskBuilder = new TaskBuilder(classificationsByType, 150000,
+                domain.getRandomSource().derive("tasks"));
 
         WorkbasketWrapper root = uppermostLayer.iterator().next();
         List<WorkbasketWrapper> wbsWithTasks = new ArrayList<>(root.getDirectOrIndirectChildren());
         wbsWithTasks.add(root);
 
-        List<TaskWrapper> tasks = taskBuilder.affect(wbsWithTasks).addTasks(TaskState.COMPLETED, 13400)
-                .addTasks(TaskState.CLAIMED, 6700).addTasks(TaskState.READY, 6700).build();
-        taskana.createTasks(tasks);
+        List<TaskWrapper> tasks = persistTasks(taskana, taskBuilder.affect(wbsWithTasks).addTasks(TaskState.COMPLETED, 13400)
+                .addTasks(TaskState.CLAIMED, 6700).addTasks(TaskState.READY, 6700));
 
         return new DataWrapper(structureBuilder.getGeneratedWorkbaskets(), tasks,
                 classificationsByType.values().stream().flatMap(List::stream).collect(Collectors.toList()));
     }
 
-    private static DataWrapper buildDomainB() throws Exception {
-        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder("B");
+    private static DataWrapper buildDomainB(DomainContext domain, PersistenceAdapter taskana) throws Exception {
+        PhaseMetrics.Timer structureBuild = metrics.start(Phase.STRUCTURE_BUILD, 0);
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(domain);
 
         ElementStack<WorkbasketWrapper> personalWorkbaskets = structureBuilder.createSimpleWorkbaskets(100);
 
@@ -111,28 +328,29 @@ public class DataGenerator {
 
         List<WorkbasketWrapper> uppermostLayer = structureBuilder.newLayer().withWb(1).withDistTargets(layer1).build();
 
-        persistDomain(structureBuilder);
+        persistDomain(taskana, structureBuilder, structureBuild);
 
         // Build classifications
-        Map<ClassificationType, List<ClassificationWrapper>> classificationsByType = createClassificationsForDomain(
-                "B");
+        Map<ClassificationType, List<ClassificationWrapper>> classificationsByType = createClassificationsForDomain(taskana,
+                domain);
 
         WorkbasketWrapper root = uppermostLayer.iterator().next();
         List<WorkbasketWrapper> wbsWithTasks = new ArrayList<>(root.getDirectOrIndirectChildren());
         wbsWithTasks.add(root);
 
         // Build tasks
-        TaskBuilder taskBuilder = new TaskBuilder(classificationsByType, 50000);
-        List<TaskWrapper> tasks = taskBuilder.affect(wbsWithTasks).addTasks(TaskState.COMPLETED, 2000)
-                .addTasks(TaskState.CLAIMED, 1000).addTasks(TaskState.READY, 1000).withAttachments(1).build();
+        TaskBuilder taskBuilder = new TaskBuilder(classificationsByType, 50000,
+                domain.getRandomSource().derive("tasks"));
+        List<TaskWrapper> tasks = persistTasks(taskana, taskBuilder.affect(wbsWithTasks).addTasks(TaskState.COMPLETED, 2000)
+                .addTasks(TaskState.CLAIMED, 1000).addTasks(TaskState.READY, 1000).withAttachments(1));
 
-        taskana.createTasks(tasks);
         return new DataWrapper(structureBuilder.getGeneratedWorkbaskets(), tasks,
                 classificationsByType.values().stream().flatMap(List::stream).collect(Collectors.toList()));
     }
 
-    private static DataWrapper buildDomainC() throws Exception {
-        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder("C");
+    private static DataWrapper buildDomainC(DomainContext domain, PersistenceAdapter taskana) throws Exception {
+        PhaseMetrics.Timer structureBuild = metrics.start(Phase.STRUCTURE_BUILD, 0);
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(domain);
 
         ElementStack<WorkbasketWrapper> personalWorkbaskets = structureBuilder.createSimpleWorkbaskets(28125);
 
@@ -150,37 +368,72 @@ public class DataGenerator {
 
         structureBuilder.createUserWithAccessTo("superUser", structureBuilder.getGeneratedWorkbaskets(),
                 AccessType.values());
-        persistDomain(structureBuilder);
+        persistDomain(taskana, structureBuilder, structureBuild);
 
         // Build classifications
-        Map<ClassificationType, List<ClassificationWrapper>> classificationsByType = createClassificationsForDomain(
-                "C");
+        Map<ClassificationType, List<ClassificationWrapper>> classificationsByType = createClassificationsForDomain(taskana,
+                domain);
 
         List<WorkbasketWrapper> wbsWith0Attachments = uppermostLayer.get(0).getDirectOrIndirectChildren();
         List<WorkbasketWrapper> wbsWith1Attachment = uppermostLayer.get(1).getDirectOrIndirectChildren();
         List<WorkbasketWrapper> wbsWith2Attachments = uppermostLayer.get(2).getDirectOrIndirectChildren();
 
         // Build tasks
-        TaskBuilder taskBuilder = new TaskBuilder(classificationsByType, 300000);
+        TaskBuilder taskBuilder = new TaskBuilder(classificationsByType, 300000,
+                domain.getRandomSource().derive("tasks"));
 
-        List<TaskWrapper> tasks = taskBuilder.affect(wbsWith0Attachments).addTasks(TaskState.COMPLETED, 50)
-                .addTasks(TaskState.CLAIMED, 25).addTasks(TaskState.READY, 25).withAttachments(0).build();
-        taskana.createTasks(tasks);
+        List<TaskWrapper> tasks = persistTasks(taskana, taskBuilder.affect(wbsWith0Attachments)
+                .addTasks(TaskState.COMPLETED, 50).addTasks(TaskState.CLAIMED, 25).addTasks(TaskState.READY, 25)
+                .withAttachments(0));
 
-        tasks = taskBuilder.affect(wbsWith1Attachment).addTasks(TaskState.COMPLETED, 50).addTasks(TaskState.CLAIMED, 25)
-                .addTasks(TaskState.READY, 25).withAttachments(1).build();
-        taskana.createTasks(tasks);
+        tasks = persistTasks(taskana, taskBuilder.affect(wbsWith1Attachment).addTasks(TaskState.COMPLETED, 50)
+                .addTasks(TaskState.CLAIMED, 25).addTasks(TaskState.READY, 25).withAttachments(1));
 
-        tasks = taskBuilder.affect(wbsWith2Attachments).addTasks(TaskState.COMPLETED, 50)
-                .addTasks(TaskState.CLAIMED, 25).addTasks(TaskState.READY, 25).withAttachments(2).build();
-        taskana.createTasks(tasks);
+        tasks = persistTasks(taskana, taskBuilder.affect(wbsWith2Attachments).addTasks(TaskState.COMPLETED, 50)
+                .addTasks(TaskState.CLAIMED, 25).addTasks(TaskState.READY, 25).withAttachments(2));
         return new DataWrapper(structureBuilder.getGeneratedWorkbaskets(), tasks,
                 classificationsByType.values().stream().flatMap(List::stream).collect(Collectors.toList()));
     }
 
-    private static Map<ClassificationType, List<ClassificationWrapper>> createClassificationsForDomain(String domain)
+    /**
+     * Generates and persists the tasks configured in the given {@link TaskBuilder}. In pipelined mode generation and
+     * persistence overlap and the tasks are not retained, otherwise the tasks are generated with the configured number of
+     * generation threads.
+     *
+     * @param taskana
+     *            adapter of the domain
+     * @param taskBuilder
+     *            configured {@link TaskBuilder}
+     * @return the persisted tasks, empty in pipelined mode
+     * @throws Exception
+     *             if the tasks cannot be persisted
+     */
+    private static List<TaskWrapper> persistTasks(PersistenceAdapter taskana, TaskBuilder taskBuilder)
             throws Exception {
-        ClassificationBuilder classificationBuilder = new ClassificationBuilder(domain);
+        if (options.getNumberOfPipelineConsumers() > 0) {
+            new TaskPipeline(taskana, options.getNumberOfPipelineConsumers(), options.getPipelineQueueCapacity(),
+                    TaskPipeline.DEFAULT_CHUNK_SIZE).withMetrics(metrics).run(taskBuilder);
+            return new ArrayList<>();
+        }
+        List<TaskWrapper> tasks;
+        try (PhaseMetrics.Timer generation = metrics.start(Phase.TASK_GENERATION, taskBuilder.getNumberOfTasks())) {
+            tasks = taskBuilder.withParallelism(options.getNumberOfGenerationThreads()).build();
+            generation.count(tasks.size());
+        }
+        try (PhaseMetrics.Timer persistence = metrics.start(Phase.TASK_PERSISTENCE, tasks.size())) {
+            for (int from = 0; from < tasks.size(); from += TASK_PERSISTENCE_SLICE) {
+                List<TaskWrapper> slice = tasks.subList(from, Math.min(tasks.size(), from + TASK_PERSISTENCE_SLICE));
+                taskana.createTasks(slice);
+                persistence.count(slice.size());
+            }
+        }
+        return tasks;
+    }
+
+    private static Map<ClassificationType, List<ClassificationWrapper>> createClassificationsForDomain(
+            PersistenceAdapter taskana, DomainContext domain) throws Exception {
+        ClassificationBuilder classificationBuilder = new ClassificationBuilder(domain.getDomainName(),
+                domain.getRandomSource().derive("classifications"));
         classificationBuilder.newClassificationCategory("MASCHINELL").withType(ClassificationType.AUFGABENTYP)
                 .withChildren(100).build();
         classificationBuilder.newClassificationCategory("MANUELL").withType(ClassificationType.AUFGABENTYP)
@@ -189,19 +442,48 @@ public class DataGenerator {
                 .withChildren(100).build();
         classificationBuilder.newClassificationCategory("DOKTYP_EXTERN").withType(ClassificationType.DOKUMENTTYP)
                 .withChildren(100).build();
-        taskana.createClassification(classificationBuilder.getAllGeneratedClassifications());
+        List<ClassificationWrapper> classifications = classificationBuilder.getAllGeneratedClassifications();
+        metrics.measure(Phase.CLASSIFICATIONS, classifications.size(),
+                () -> taskana.createClassification(classifications));
         return classificationBuilder.getClassificationsByType();
     }
 
-    private static void persistDomain(WorkbasketStructureBuilder domainBuilder) throws Exception {
+    /**
+     * Persists the workbaskets, distribution targets and access items of a domain.
+     *
+     * @param taskana
+     *            adapter of the domain
+     * @param domainBuilder
+     *            builder of the domain structure
+     * @param structureBuild
+     *            timer started before the structure was built, closed as soon as the structure is complete
+     * @throws Exception
+     *             if the structure cannot be persisted
+     */
+    private static void persistDomain(PersistenceAdapter taskana, WorkbasketStructureBuilder domainBuilder,
+            PhaseMetrics.Timer structureBuild) throws Exception {
         LOGGER.info("Persisting domain {}", domainBuilder.getDomainName());
         List<WorkbasketWrapper> workbaskets = domainBuilder.getGeneratedWorkbaskets();
         List<WorkbasketAccessItemWrapper> workbasketAccessItems = domainBuilder.getGeneratedAccessItems();
-
-        taskana.createWorkbaskets(workbaskets);
-        taskana.createDistributionTargets(workbaskets);
-        taskana.createWorkbasketAccesItem(workbasketAccessItems);
+        structureBuild.count(workbaskets.size() + workbasketAccessItems.size());
+        structureBuild.close();
+
+        long distributionTargets = workbaskets.stream().mapToLong(wb -> wb.getDirectChildren().size()).sum();
+        metrics.measure(Phase.WORKBASKETS, workbaskets.size(), () -> taskana.createWorkbaskets(workbaskets));
+        metrics.measure(Phase.DISTRIBUTION_TARGETS, distributionTargets,
+                () -> taskana.createDistributionTargets(workbaskets));
+        metrics.measure(Phase.ACCESS_ITEMS, workbasketAccessItems.size(),
+                () -> taskana.createWorkbasketAccesItem(workbasketAccessItems));
         LOGGER.info("Domain {} successfully persisted", domainBuilder.getDomainName());
     }
 
+    /**
+     * Builds and persists a single domain.
+     */
+    @FunctionalInterface
+    private interface DomainGeneration {
+
+        DataWrapper build(DomainContext domain, PersistenceAdapter taskana) throws Exception;
+    }
+
 }
@@ -0,0 +1,79 @@
+package pro.taskana.data.generation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pro.taskana.data.generation.util.RandomSource;
+
+/**
+ * State of the generation of a single domain: the counters which used to be static and the random values of the
+ * domain. Created by {@link GenerationContext#newDomain(String)}.
+ */
+public class DomainContext {
+
+    private static final int FIRST_ORG_LEVEL_1 = 1;
+
+    private final String domainName;
+    private final RandomSource randomSource;
+    private final int firstAccessItemId;
+    private final int lastAccessItemId;
+    private final AtomicInteger nextAccessItemId;
+    private final AtomicInteger nextOrgLevel1;
+
+    DomainContext(String domainName, RandomSource randomSource, int firstAccessItemId, int numberOfAccessItemIds) {
+        this.domainName = domainName;
+        this.randomSource = randomSource;
+        this.firstAccessItemId = firstAccessItemId;
+        this.lastAccessItemId = firstAccessItemId + numberOfAccessItemIds - 1;
+        this.nextAccessItemId = new AtomicInteger(firstAccessItemId);
+        this.nextOrgLevel1 = new AtomicInteger(FIRST_ORG_LEVEL_1);
+    }
+
+    /**
+     * Creates the context of a domain which is generated on its own, e.g. in a test.
+     *
+     * @param domainName
+     *            name of the domain
+     * @return context of the domain
+     */
+    public static DomainContext standalone(String domainName) {
+        return new GenerationContext(RandomSource.unseeded()).newDomain(domainName);
+    }
+
+    public String getDomainName() {
+        return domainName;
+    }
+
+    /**
+     * Returns the random source of this domain, derived from the random source of the run and the domain name.
+     *
+     * @return random source
+     */
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    /**
+     * Allocates the next access item id from the range of this domain.
+     *
+     * @return access item id
+     * @throws IllegalStateException
+     *             if the range of this domain is exhausted
+     */
+    public int nextAccessItemId() {
+        int id = nextAccessItemId.getAndIncrement();
+        if (id > lastAccessItemId) {
+            throw new IllegalStateException("Access item ids of domain " + domainName + " exhausted, range starts at "
+                    + firstAccessItemId);
+        }
+        return id;
+    }
+
+    /**
+     * Allocates the next value of the first organisation level, i.e. the number of the next root workbasket.
+     *
+     * @return organisation level value
+     */
+    public int nextOrgLevel1() {
+        return nextOrgLevel1.getAndIncrement();
+    }
+}
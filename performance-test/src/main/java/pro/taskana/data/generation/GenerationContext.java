@@ -0,0 +1,64 @@
+package pro.taskana.data.generation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import pro.taskana.data.generation.util.RandomSource;
+
+/**
+ * State of one generation run which is shared by all domains. Every domain gets its own {@link DomainContext} with a
+ * disjoint range of ids, so the domains can be generated at the same time.
+ */
+public class GenerationContext {
+
+    public static final int DEFAULT_ACCESS_ITEM_IDS_PER_DOMAIN = 10000000;
+
+    private final RandomSource randomSource;
+    private final int accessItemIdsPerDomain;
+    private final Map<String, DomainContext> domains;
+
+    public GenerationContext(RandomSource randomSource) {
+        this(randomSource, DEFAULT_ACCESS_ITEM_IDS_PER_DOMAIN);
+    }
+
+    /**
+     * Creates a new context.
+     *
+     * @param randomSource
+     *            root of all random values of this run
+     * @param accessItemIdsPerDomain
+     *            size of the range of access item ids reserved for each domain
+     */
+    public GenerationContext(RandomSource randomSource, int accessItemIdsPerDomain) {
+        this.randomSource = randomSource;
+        this.accessItemIdsPerDomain = accessItemIdsPerDomain;
+        this.domains = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates the context of a new domain and reserves its id ranges.
+     *
+     * @param domainName
+     *            name of the domain
+     * @return context of the domain
+     * @throws IllegalArgumentException
+     *             if the domain already exists in this run
+     */
+    public synchronized DomainContext newDomain(String domainName) {
+        if (domains.containsKey(domainName)) {
+            throw new IllegalArgumentException("Domain " + domainName + " already exists");
+        }
+        long firstAccessItemId = (long) domains.size() * accessItemIdsPerDomain;
+        if (firstAccessItemId + accessItemIdsPerDomain > Integer.MAX_VALUE) {
+            throw new IllegalStateException("No access item ids left for domain " + domainName);
+        }
+        DomainContext domain = new DomainContext(domainName, randomSource.derive(domainName), (int) firstAccessItemId,
+                accessItemIdsPerDomain);
+        domains.put(domainName, domain);
+        return domain;
+    }
+
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+}
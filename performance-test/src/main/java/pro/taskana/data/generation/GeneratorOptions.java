@@ -0,0 +1,399 @@
+package pro.taskana.data.generation;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import pro.taskana.adapter.JdbcBatchAdapter;
+import pro.taskana.adapter.ParallelAdapter;
+import pro.taskana.adapter.PersistenceMode;
+import pro.taskana.adapter.TaskanaAPI;
+import pro.taskana.export.DatabaseExporter;
+import pro.taskana.export.ScenarioExporter;
+import pro.taskana.export.io.FileType;
+import pro.taskana.export.sampling.SamplingStrategy;
+import pro.taskana.persistence.IndexSuspension;
+import pro.taskana.persistence.SqlDialect;
+import pro.taskana.persistence.SqlScriptWriter;
+
+/**
+ * Command line options of the {@link DataGenerator}.
+ */
+public class GeneratorOptions {
+
+    private static final String OUTPUT_PATH_IDENTIFIER = "-o";
+    private static final String PERSISTENCE_MODE_IDENTIFIER = "-m";
+    private static final String PERSISTENCE_DIR_IDENTIFIER = "-persistenceDir";
+    private static final String BATCH_SIZE_IDENTIFIER = "-batchSize";
+    private static final String COMMIT_INTERVAL_IDENTIFIER = "-commitInterval";
+    private static final String API_COMMIT_INTERVAL_IDENTIFIER = "-apiCommitInterval";
+    private static final String SUSPEND_INDEXES_IDENTIFIER = "-suspendIndexes";
+    private static final String INDEX_STATE_FILE_IDENTIFIER = "-indexStateFile";
+    private static final String SQL_DIALECT_IDENTIFIER = "-sqlDialect";
+    private static final String STATEMENTS_PER_COMMIT_IDENTIFIER = "-statementsPerCommit";
+    private static final String MAX_FILE_SIZE_IDENTIFIER = "-maxFileSize";
+    private static final String THREADS_IDENTIFIER = "-threads";
+    private static final String PIPELINE_IDENTIFIER = "-pipeline";
+    private static final String QUEUE_CAPACITY_IDENTIFIER = "-queueCapacity";
+    private static final String SEED_IDENTIFIER = "-seed";
+    private static final String GENERATION_THREADS_IDENTIFIER = "-generationThreads";
+    private static final String PARALLEL_DOMAINS_IDENTIFIER = "-parallelDomains";
+    private static final String EXPORT_FILE_TYPE_IDENTIFIER = "-exportFileType";
+    private static final String EXPORT_CHUNK_LINES_IDENTIFIER = "-exportChunkLines";
+    private static final String PARALLEL_EXPORT_IDENTIFIER = "-parallelExport";
+    private static final String EXPORT_SAMPLING_IDENTIFIER = "-exportSampling";
+    private static final String EXPORT_FROM_DATABASE_IDENTIFIER = "-exportFromDatabase";
+    private static final String FETCH_SIZE_IDENTIFIER = "-fetchSize";
+    private static final String PROGRESS_INTERVAL_IDENTIFIER = "-progressInterval";
+    private static final String METRICS_FILE_IDENTIFIER = "-metricsFile";
+    private static final String LATENCY_DIR_IDENTIFIER = "-latencyDir";
+
+    public static final long DEFAULT_PROGRESS_INTERVAL_SECONDS = 30;
+    public static final String DEFAULT_METRICS_FILE = "generation-metrics.csv";
+
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private Path outputDir;
+    private PersistenceMode persistenceMode = PersistenceMode.API;
+    private Path persistenceDir;
+    private int batchSize = JdbcBatchAdapter.DEFAULT_BATCH_SIZE;
+    private int commitInterval = JdbcBatchAdapter.DEFAULT_COMMIT_INTERVAL;
+    private int apiCommitInterval = TaskanaAPI.AUTOCOMMIT;
+    private boolean suspendIndexes = false;
+    private Path indexStateFile = Paths.get(IndexSuspension.DEFAULT_STATE_FILE);
+    private SqlDialect sqlDialect = SqlDialect.DB2;
+    private int statementsPerCommit = SqlScriptWriter.DEFAULT_STATEMENTS_PER_COMMIT;
+    private long maxFileSize = SqlScriptWriter.DEFAULT_MAX_FILE_SIZE;
+    private int numberOfThreads = ParallelAdapter.DEFAULT_NUMBER_OF_THREADS;
+    private int numberOfPipelineConsumers = 0;
+    private int pipelineQueueCapacity = TaskPipeline.DEFAULT_QUEUE_CAPACITY;
+    private Long seed;
+    private int numberOfGenerationThreads = 1;
+    private boolean parallelDomains = false;
+    private FileType exportFileType = FileType.CSV;
+    private long exportChunkLines = 0;
+    private boolean parallelExport = false;
+    private SamplingStrategy exportSampling = ScenarioExporter.DEFAULT_SAMPLING_STRATEGY;
+    private boolean exportFromDatabase = false;
+    private int fetchSize = DatabaseExporter.DEFAULT_FETCH_SIZE;
+    private long progressIntervalSeconds = DEFAULT_PROGRESS_INTERVAL_SECONDS;
+    private Path metricsFile = Paths.get(DEFAULT_METRICS_FILE);
+    private Path latencyDir;
+
+    /**
+     * Reads the options from the command line arguments. Every option is followed by its value.
+     *
+     * @param args
+     *            command line arguments
+     * @return parsed options
+     * @throws IllegalArgumentException
+     *             if the tasks are generated in a pipeline and exported at the same time
+     */
+    public static GeneratorOptions parse(String[] args) {
+        GeneratorOptions options = new GeneratorOptions();
+        for (int i = 0; i < args.length - 1; i++) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case OUTPUT_PATH_IDENTIFIER:
+                    options.outputDir = Paths.get(value);
+                    break;
+                case PERSISTENCE_MODE_IDENTIFIER:
+                    options.persistenceMode = PersistenceMode.fromIdentifier(value);
+                    break;
+                case PERSISTENCE_DIR_IDENTIFIER:
+                    options.persistenceDir = Paths.get(value);
+                    break;
+                case BATCH_SIZE_IDENTIFIER:
+                    options.batchSize = Integer.parseInt(value);
+                    break;
+                case COMMIT_INTERVAL_IDENTIFIER:
+                    options.commitInterval = Integer.parseInt(value);
+                    break;
+                case API_COMMIT_INTERVAL_IDENTIFIER:
+                    options.apiCommitInterval = Integer.parseInt(value);
+                    break;
+                case SUSPEND_INDEXES_IDENTIFIER:
+                    options.suspendIndexes = Boolean.parseBoolean(value);
+                    break;
+                case INDEX_STATE_FILE_IDENTIFIER:
+                    options.indexStateFile = Paths.get(value);
+                    break;
+                case SQL_DIALECT_IDENTIFIER:
+                    options.sqlDialect = SqlDialect.fromIdentifier(value);
+                    break;
+                case STATEMENTS_PER_COMMIT_IDENTIFIER:
+                    options.statementsPerCommit = Integer.parseInt(value);
+                    break;
+                case MAX_FILE_SIZE_IDENTIFIER:
+                    options.maxFileSize = Long.parseLong(value) * BYTES_PER_MEGABYTE;
+                    break;
+                case THREADS_IDENTIFIER:
+                    options.numberOfThreads = Integer.parseInt(value);
+                    break;
+                case PIPELINE_IDENTIFIER:
+                    options.numberOfPipelineConsumers = Integer.parseInt(value);
+                    break;
+                case QUEUE_CAPACITY_IDENTIFIER:
+                    options.pipelineQueueCapacity = Integer.parseInt(value);
+                    break;
+                case SEED_IDENTIFIER:
+                    options.seed = Long.parseLong(value);
+                    break;
+                case GENERATION_THREADS_IDENTIFIER:
+                    options.numberOfGenerationThreads = Integer.parseInt(value);
+                    break;
+                case PARALLEL_DOMAINS_IDENTIFIER:
+                    options.parallelDomains = Boolean.parseBoolean(value);
+                    break;
+                case EXPORT_FILE_TYPE_IDENTIFIER:
+                    options.exportFileType = FileType.fromIdentifier(value);
+                    break;
+                case EXPORT_CHUNK_LINES_IDENTIFIER:
+                    options.exportChunkLines = Long.parseLong(value);
+                    break;
+                case PARALLEL_EXPORT_IDENTIFIER:
+                    options.parallelExport = Boolean.parseBoolean(value);
+                    break;
+                case EXPORT_SAMPLING_IDENTIFIER:
+                    options.exportSampling = SamplingStrategy.fromIdentifier(value);
+                    break;
+                case EXPORT_FROM_DATABASE_IDENTIFIER:
+                    options.exportFromDatabase = Boolean.parseBoolean(value);
+                    break;
+                case FETCH_SIZE_IDENTIFIER:
+                    options.fetchSize = Integer.parseInt(value);
+                    break;
+                case PROGRESS_INTERVAL_IDENTIFIER:
+                    options.progressIntervalSeconds = Long.parseLong(value);
+                    break;
+                case METRICS_FILE_IDENTIFIER:
+                    options.metricsFile = Paths.get(value);
+                    break;
+                case LATENCY_DIR_IDENTIFIER:
+                    options.latencyDir = Paths.get(value);
+                    break;
+                default:
+                    continue;
+            }
+            i++;
+        }
+        if (options.numberOfPipelineConsumers > 0 && options.outputDir != null && !options.exportFromDatabase) {
+            // the pipeline does not retain the tasks, the task based export files would stay empty
+            throw new IllegalArgumentException(PIPELINE_IDENTIFIER + " cannot be combined with the export ("
+                    + OUTPUT_PATH_IDENTIFIER + "), export the persisted data afterwards with "
+                    + EXPORT_FROM_DATABASE_IDENTIFIER + " true");
+        }
+        return options;
+    }
+
+    /**
+     * Returns the directory for the exported files, <code>null</code> if nothing should be exported.
+     *
+     * @return output directory
+     */
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    public PersistenceMode getPersistenceMode() {
+        return persistenceMode;
+    }
+
+    /**
+     * Returns the directory the persistence modes which do not need a database write their files to.
+     *
+     * @return persistence directory, <code>null</code> if not set
+     */
+    public Path getPersistenceDir() {
+        return persistenceDir;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Returns the number of entities per transaction of the Taskana API, {@link TaskanaAPI#AUTOCOMMIT} if every API
+     * call is committed on its own.
+     *
+     * @return API commit interval
+     */
+    public int getApiCommitInterval() {
+        return apiCommitInterval;
+    }
+
+    /**
+     * Returns whether the secondary indexes and foreign keys of the bulk loaded tables are dropped during the
+     * persistence and created again afterwards.
+     *
+     * @return <code>true</code> if the indexes are suspended
+     */
+    public boolean isSuspendIndexes() {
+        return suspendIndexes;
+    }
+
+    /**
+     * Returns the file the definitions of the suspended indexes are kept in until they are restored.
+     *
+     * @return index state file
+     */
+    public Path getIndexStateFile() {
+        return indexStateFile;
+    }
+
+    /**
+     * Returns the database the scripts of mode {@link PersistenceMode#SQL_SCRIPT} are written for.
+     *
+     * @return SQL dialect
+     */
+    public SqlDialect getSqlDialect() {
+        return sqlDialect;
+    }
+
+    /**
+     * Returns the number of INSERT statements per transaction of the written SQL scripts.
+     *
+     * @return statements per commit
+     */
+    public int getStatementsPerCommit() {
+        return statementsPerCommit;
+    }
+
+    /**
+     * Returns the number of bytes after which the next SQL script of a table is started.
+     *
+     * @return maximum file size in bytes
+     */
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Returns the number of consumer threads of the task pipeline, 0 if tasks are not generated in a pipeline.
+     *
+     * @return number of consumers
+     */
+    public int getNumberOfPipelineConsumers() {
+        return numberOfPipelineConsumers;
+    }
+
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    /**
+     * Returns the seed for all random values, <code>null</code> if a new seed should be chosen.
+     *
+     * @return seed
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of threads generating tasks, 1 if tasks are generated in the main thread.
+     *
+     * @return number of generation threads
+     */
+    public int getNumberOfGenerationThreads() {
+        return numberOfGenerationThreads;
+    }
+
+    /**
+     * Returns whether the domains are built and persisted at the same time.
+     *
+     * @return <code>true</code> if the domains are built in parallel
+     */
+    public boolean isParallelDomains() {
+        return parallelDomains;
+    }
+
+    /**
+     * Returns the type of the exported files.
+     *
+     * @return file type
+     */
+    public FileType getExportFileType() {
+        return exportFileType;
+    }
+
+    /**
+     * Returns the maximum number of lines per exported file, 0 if files are never split.
+     *
+     * @return maximum number of lines per file
+     */
+    public long getExportChunkLines() {
+        return exportChunkLines;
+    }
+
+    /**
+     * Returns whether every export file is written by its own thread.
+     *
+     * @return <code>true</code> if the files are written in parallel
+     */
+    public boolean isParallelExport() {
+        return parallelExport;
+    }
+
+    /**
+     * Returns the strategy selecting the tasks of export files with a limited number of lines.
+     *
+     * @return sampling strategy
+     */
+    public SamplingStrategy getExportSampling() {
+        return exportSampling;
+    }
+
+    /**
+     * Returns whether the scenario files are exported from the data in the database instead of generating new data.
+     *
+     * @return <code>true</code> if only the persisted data is exported
+     */
+    public boolean isExportFromDatabase() {
+        return exportFromDatabase;
+    }
+
+    /**
+     * Returns the number of task rows fetched per round trip when exporting from the database.
+     *
+     * @return fetch size
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Returns the seconds between two progress lines, 0 if no progress is logged.
+     *
+     * @return progress interval in seconds
+     */
+    public long getProgressIntervalSeconds() {
+        return progressIntervalSeconds;
+    }
+
+    /**
+     * Returns the csv file the metrics of every phase are appended to at the end of the run.
+     *
+     * @return metrics file
+     */
+    public Path getMetricsFile() {
+        return metricsFile;
+    }
+
+    /**
+     * Returns the directory the percentile distributions of the persistence calls are written to, <code>null</code>
+     * if they are only logged.
+     *
+     * @return latency directory
+     */
+    public Path getLatencyDir() {
+        return latencyDir;
+    }
+}
@@ -0,0 +1,239 @@
+package pro.taskana.data.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.adapter.PersistenceAdapter;
+import pro.taskana.data.generation.builder.TaskBuilder;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.metrics.GenerationMetrics;
+import pro.taskana.metrics.Phase;
+import pro.taskana.metrics.PhaseMetrics;
+
+/**
+ * Generates and persists tasks at the same time. The calling thread generates the tasks and puts them in chunks
+ * into a bounded queue, one or more consumer threads take the chunks and persist them. If the queue is full, the
+ * generation waits until a consumer has taken a chunk, so only a bounded number of tasks is held in memory.
+ */
+public class TaskPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskPipeline.class);
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final List<TaskWrapper> END_OF_STREAM = new ArrayList<>();
+
+    private final PersistenceAdapter adapter;
+    private final int numberOfConsumers;
+    private final int queueCapacity;
+    private final int chunkSize;
+
+    private GenerationMetrics metrics = new GenerationMetrics();
+
+    /**
+     * Creates the pipeline.
+     *
+     * @param adapter
+     *            persists the chunks. Must be thread safe if there is more than one consumer.
+     * @param numberOfConsumers
+     *            number of threads persisting the chunks
+     * @param queueCapacity
+     *            maximum number of chunks waiting to be persisted
+     * @param chunkSize
+     *            number of tasks per chunk
+     */
+    public TaskPipeline(PersistenceAdapter adapter, int numberOfConsumers, int queueCapacity, int chunkSize) {
+        this.adapter = adapter;
+        this.numberOfConsumers = numberOfConsumers;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Counts the generated and the persisted tasks in the given metrics, chunk by chunk.
+     *
+     * @param generationMetrics
+     *            metrics of the run
+     * @return this pipeline
+     */
+    public TaskPipeline withMetrics(GenerationMetrics generationMetrics) {
+        this.metrics = generationMetrics;
+        return this;
+    }
+
+    /**
+     * Generates the tasks configured in the given {@link TaskBuilder} and persists them. The tasks are not
+     * retained.
+     *
+     * @param taskBuilder
+     *            configured {@link TaskBuilder}
+     * @return number of persisted tasks
+     * @throws Exception
+     *             the first exception thrown while persisting a chunk
+     * @throws CancellationException
+     *             if the thread is interrupted while waiting for the persistence
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting for the consumers
+     */
+    public long run(TaskBuilder taskBuilder) throws Exception {
+        BlockingQueue<List<TaskWrapper>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicLong persistedTasks = new AtomicLong();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService consumers = Executors.newFixedThreadPool(numberOfConsumers,
+                runnable -> new Thread(runnable, "task-consumer-" + threadCounter.getAndIncrement()));
+
+        long numberOfTasks = taskBuilder.getNumberOfTasks();
+        PhaseMetrics.Timer persistence = metrics.start(Phase.TASK_PERSISTENCE, numberOfTasks);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < numberOfConsumers; i++) {
+            futures.add(consumers.submit(() -> {
+                consume(queue, failure, persistedTasks, persistence);
+                return null;
+            }));
+        }
+
+        long start = System.nanoTime();
+        PhaseMetrics.Timer generation = metrics.start(Phase.TASK_GENERATION, numberOfTasks);
+        ChunkingProducer producer = new ChunkingProducer(queue, failure, generation);
+        try {
+            taskBuilder.stream().forEach(producer);
+            producer.flush();
+        } catch (CancellationException e) {
+            // a failed chunk is thrown below, once the consumers are done
+            if (failure.get() == null) {
+                throw e;
+            }
+        } finally {
+            generation.close();
+            try {
+                for (int i = 0; i < numberOfConsumers; i++) {
+                    putUninterruptibly(queue, END_OF_STREAM);
+                }
+                awaitConsumers(futures);
+            } finally {
+                consumers.shutdownNow();
+                persistence.close();
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Pipeline persisted {} tasks with {} consumers in {} ms, generation waited {} ms for persistence",
+                persistedTasks.get(), numberOfConsumers, elapsedMillis, producer.getBlockedNanos() / 1_000_000);
+        return persistedTasks.get();
+    }
+
+    private void consume(BlockingQueue<List<TaskWrapper>> queue, AtomicReference<Exception> failure,
+            AtomicLong persistedTasks, PhaseMetrics.Timer persistence) throws InterruptedException {
+        while (true) {
+            List<TaskWrapper> chunk = queue.take();
+            if (chunk == END_OF_STREAM) {
+                return;
+            }
+            if (failure.get() == null) {
+                try {
+                    adapter.createTasks(chunk);
+                    persistedTasks.addAndGet(chunk.size());
+                    persistence.count(chunk.size());
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+
+    private void awaitConsumers(List<Future<Void>> futures) throws InterruptedException {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOGGER.error("Task consumer terminated unexpectedly", e.getCause());
+            }
+        }
+    }
+
+    private static void putUninterruptibly(BlockingQueue<List<TaskWrapper>> queue, List<TaskWrapper> chunk) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(chunk);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Collects the generated tasks into chunks and puts full chunks into the queue.
+     */
+    private class ChunkingProducer implements Consumer<TaskWrapper> {
+
+        private final BlockingQueue<List<TaskWrapper>> queue;
+        private final AtomicReference<Exception> failure;
+        private final PhaseMetrics.Timer generation;
+
+        private List<TaskWrapper> currentChunk;
+        private long blockedNanos;
+
+        ChunkingProducer(BlockingQueue<List<TaskWrapper>> queue, AtomicReference<Exception> failure,
+                PhaseMetrics.Timer generation) {
+            this.queue = queue;
+            this.failure = failure;
+            this.generation = generation;
+            this.currentChunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void accept(TaskWrapper task) {
+            currentChunk.add(task);
+            if (currentChunk.size() >= chunkSize) {
+                if (failure.get() != null) {
+                    throw new CancellationException("Persisting tasks failed");
+                }
+                flush();
+            }
+        }
+
+        void flush() {
+            if (currentChunk.isEmpty()) {
+                return;
+            }
+            generation.count(currentChunk.size());
+            long start = System.nanoTime();
+            try {
+                queue.put(currentChunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for the persistence");
+            }
+            blockedNanos += System.nanoTime() - start;
+            currentChunk = new ArrayList<>(chunkSize);
+        }
+
+        long getBlockedNanos() {
+            return blockedNanos;
+        }
+    }
+}
@@ -2,49 +2,41 @@ package pro.taskana.data.generation.builder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.BiConsumer;
 
 import pro.taskana.Workbasket;
 import pro.taskana.WorkbasketAccessItem;
 import pro.taskana.data.enums.AccessType;
+import pro.taskana.data.generation.DomainContext;
 import pro.taskana.impl.UserWrapper;
 import pro.taskana.impl.WorkbasketAccessItemWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
 
 /**
- * Class wraps the functionality for creating {@link WorkbasketAccessItem}.
+ * Class wraps the functionality for creating {@link WorkbasketAccessItem}. The
+ * grants are collected in an {@link AccessMatrix}, the
+ * {@link WorkbasketAccessItem} are created by
+ * {@link #getGeneratedAccessItems()}.
  * 
  * @author fe
  *
  */
 public class AccessItemBuilder {
 
-    private static Map<AccessType, BiConsumer<WorkbasketAccessItemWrapper, Boolean>> accessMapper;
+    private static final int ALWAYS_GRANTED = AccessType.toMask(AccessType.APPEND, AccessType.READ);
 
+    private final DomainContext domainContext;
+    private final AccessMatrix accessMatrix;
     private List<UserWrapper> currentUsers;
     private List<WorkbasketWrapper> accessibleWorkbaskets;
+    private int currentAccessMask;
     private List<WorkbasketAccessItemWrapper> generatedAccessItems;
-    private Map<AccessType, Boolean> currentAccessTypes;
-
-    static {
-        accessMapper = new HashMap<>();
-        accessMapper.put(AccessType.APPEND, (accessItem, access) -> accessItem.setPermAppend(access));
-        accessMapper.put(AccessType.READ, (accessItem, access) -> accessItem.setPermRead(access));
-        accessMapper.put(AccessType.DISTRIBUTE, (accessItem, access) -> accessItem.setPermDistribute(access));
-        accessMapper.put(AccessType.OPEN, (accessItem, access) -> accessItem.setPermOpen(access));
-        accessMapper.put(AccessType.TRANSFER, (accessItem, access) -> accessItem.setPermTransfer(access));
-    }
 
-    public AccessItemBuilder() {
-        currentAccessTypes = new HashMap<>();
-        for (AccessType accessType : AccessType.values()) {
-            currentAccessTypes.put(accessType, false);
-        }
+    public AccessItemBuilder(DomainContext domainContext) {
+        this.domainContext = domainContext;
+        this.accessMatrix = new AccessMatrix();
+        this.currentAccessMask = 0;
         accessibleWorkbaskets = new ArrayList<>();
-        generatedAccessItems = new ArrayList<>();
     }
 
     /**
@@ -68,6 +60,7 @@ public class AccessItemBuilder {
     public AccessItemBuilder forUsers(List<UserWrapper> users) {
         this.currentUsers = users;
         this.accessibleWorkbaskets = new ArrayList<>();
+        this.currentAccessMask = 0;
         return this;
     }
 
@@ -120,54 +113,63 @@ public class AccessItemBuilder {
      * @return configured {@link AccessItemBuilder} instance
      */
     public AccessItemBuilder hasAccess(AccessType... grantedAccessTypes) {
-        for (AccessType accessType : grantedAccessTypes) {
-            currentAccessTypes.put(accessType, true);
-        }
+        currentAccessMask |= AccessType.toMask(grantedAccessTypes);
         return this;
     }
 
     /**
-     * Generate the {@link WorkbasketAccessItem}.
+     * Grants the configured access to the users. If a user already has access
+     * to a {@link Workbasket}, the permissions are merged.
+     * 
+     * @throws IllegalStateException
+     *             if the {@link WorkbasketAccessItem} were already created
      */
     public void build() {
+        if (generatedAccessItems != null) {
+            throw new IllegalStateException("Access items were already created, no further access can be granted");
+        }
         for (UserWrapper user : currentUsers) {
-            generatedAccessItems.addAll(generateAccessItems(user, accessibleWorkbaskets));
+            for (WorkbasketWrapper accessedWorkbasket : accessibleWorkbaskets) {
+                accessMatrix.grant(user, accessedWorkbasket, currentAccessMask | ALWAYS_GRANTED);
+            }
         }
     }
 
     /**
-     * Supplies all generated {@link WorkbasketAccessItemt}.
+     * Supplies all generated {@link WorkbasketAccessItemt}. They are created
+     * from the {@link AccessMatrix} on the first call, one per user and
+     * {@link Workbasket}.
      * 
      * @return created {@link WorkbasketAccessItem}
      */
     public List<WorkbasketAccessItemWrapper> getGeneratedAccessItems() {
-        generatedAccessItems.forEach(WorkbasketAccessItemWrapper::initAttributes);
+        if (generatedAccessItems == null) {
+            List<WorkbasketAccessItemWrapper> accessItems = new ArrayList<>(accessMatrix.size());
+            accessMatrix.forEach((user, workbasket, mask) -> accessItems.add(generateAccessItem(user, workbasket, mask)));
+            accessItems.forEach(WorkbasketAccessItemWrapper::initAttributes);
+            generatedAccessItems = accessItems;
+        }
         return generatedAccessItems;
     }
 
-    private List<WorkbasketAccessItemWrapper> generateAccessItems(UserWrapper user, List<WorkbasketWrapper> accessed) {
-        List<WorkbasketAccessItemWrapper> accessItems = new ArrayList<>();
-        for (WorkbasketWrapper accessedWorkbasket : accessed) {
-            accessItems.add(generateAccessItem(user, accessedWorkbasket));
-        }
-        return accessItems;
+    /**
+     * Supplies the {@link AccessMatrix} with all granted permissions.
+     * 
+     * @return access matrix
+     */
+    public AccessMatrix getAccessMatrix() {
+        return accessMatrix;
     }
 
-    private WorkbasketAccessItemWrapper generateAccessItem(UserWrapper user, WorkbasketWrapper accessed) {
-        WorkbasketAccessItemWrapper wbAI = new WorkbasketAccessItemWrapper();
+    private WorkbasketAccessItemWrapper generateAccessItem(UserWrapper user, WorkbasketWrapper accessed, int mask) {
+        WorkbasketAccessItemWrapper wbAI = new WorkbasketAccessItemWrapper(domainContext.nextAccessItemId());
         wbAI.setWorkbasketWrapper(accessed);
         wbAI.grantAccessToUser(user);
-        setAccess(wbAI);
-        wbAI.setPermAppend(true);
-        wbAI.setPermRead(true);
+        wbAI.setPermRead(AccessType.READ.isGrantedBy(mask));
+        wbAI.setPermOpen(AccessType.OPEN.isGrantedBy(mask));
+        wbAI.setPermAppend(AccessType.APPEND.isGrantedBy(mask));
+        wbAI.setPermDistribute(AccessType.DISTRIBUTE.isGrantedBy(mask));
+        wbAI.setPermTransfer(AccessType.TRANSFER.isGrantedBy(mask));
         return wbAI;
     }
-
-    private void setAccess(WorkbasketAccessItemWrapper wbAi) {
-        for (AccessType accessType : accessMapper.keySet()) {
-            if (currentAccessTypes.containsKey(accessType)) {
-                accessMapper.get(accessType).accept(wbAi, currentAccessTypes.get(accessType));
-            }
-        }
-    }
 }
@@ -0,0 +1,107 @@
+package pro.taskana.data.generation.builder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import pro.taskana.WorkbasketAccessItem;
+import pro.taskana.data.enums.AccessType;
+import pro.taskana.impl.UserWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Stores the permissions of users on workbaskets as bitmasks of
+ * {@link AccessType}. Each pair of user and workbasket is stored once,
+ * overlapping grants are merged into the existing bitmask. The
+ * {@link WorkbasketAccessItem} are created from the matrix when they are
+ * needed.
+ */
+public class AccessMatrix {
+
+    private final Map<UserWrapper, Map<WorkbasketWrapper, Integer>> permissions;
+    private int numberOfEntries;
+    private long numberOfMergedGrants;
+
+    public AccessMatrix() {
+        this.permissions = new LinkedHashMap<>();
+    }
+
+    /**
+     * Grants the given permissions to the user on the workbasket.
+     * 
+     * @param user
+     *            user which gets the permissions
+     * @param workbasket
+     *            accessed workbasket
+     * @param mask
+     *            bitmask of the granted {@link AccessType}
+     */
+    public void grant(UserWrapper user, WorkbasketWrapper workbasket, int mask) {
+        Map<WorkbasketWrapper, Integer> workbasketsOfUser = permissions.computeIfAbsent(user,
+                key -> new LinkedHashMap<>());
+        Integer existingMask = workbasketsOfUser.get(workbasket);
+        if (existingMask == null) {
+            workbasketsOfUser.put(workbasket, mask);
+            numberOfEntries++;
+        } else {
+            workbasketsOfUser.put(workbasket, existingMask | mask);
+            numberOfMergedGrants++;
+        }
+    }
+
+    /**
+     * Returns the permissions of the user on the workbasket.
+     * 
+     * @param user
+     *            user
+     * @param workbasket
+     *            workbasket
+     * @return bitmask of the granted {@link AccessType}, 0 if nothing is granted
+     */
+    public int getPermissions(UserWrapper user, WorkbasketWrapper workbasket) {
+        Map<WorkbasketWrapper, Integer> workbasketsOfUser = permissions.get(user);
+        if (workbasketsOfUser == null) {
+            return 0;
+        }
+        Integer mask = workbasketsOfUser.get(workbasket);
+        return mask == null ? 0 : mask;
+    }
+
+    /**
+     * Supplies the number of distinct pairs of user and workbasket.
+     * 
+     * @return number of entries
+     */
+    public int size() {
+        return numberOfEntries;
+    }
+
+    /**
+     * Supplies the number of grants which were merged into an existing entry.
+     * 
+     * @return number of merged grants
+     */
+    public long getNumberOfMergedGrants() {
+        return numberOfMergedGrants;
+    }
+
+    /**
+     * Passes every entry to the given consumer. The users and their workbaskets
+     * are visited in the order of their first grant.
+     * 
+     * @param consumer
+     *            consumer of the entries
+     */
+    public void forEach(EntryConsumer consumer) {
+        permissions.forEach((user, workbasketsOfUser) -> workbasketsOfUser
+                .forEach((workbasket, mask) -> consumer.accept(user, workbasket, mask)));
+    }
+
+    /**
+     * Consumer of a single entry of the {@link AccessMatrix}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(UserWrapper user, WorkbasketWrapper workbasket, int mask);
+    }
+}
@@ -24,9 +24,8 @@ public class AttachmentBuilder {
     private List<ClassificationWrapper> documentClassifications;
     private ObjectReferenceBuilder objectReferenceBuilder;
 
-    private int currentClassificationCounter;
     private int maxAmountAttachments;
-    private int currentAttachmentAmount;
+    private long nextAttachmentIndex;
 
     public AttachmentBuilder(Map<ClassificationType, List<ClassificationWrapper>> classifications) {
         this(classifications, new ObjectReferenceBuilder(DEFAULT_AMOUNT_OBJECT_REFERENCES));
@@ -57,28 +56,44 @@ public class AttachmentBuilder {
      * @return set of {@link Attachment}
      */
     public List<Attachment> getAttachments(int numberOfAttachments) {
+        List<Attachment> attachments = getAttachments(nextAttachmentIndex, numberOfAttachments);
+        nextAttachmentIndex += numberOfAttachments;
+        return attachments;
+    }
+
+    /**
+     * Generates the {@link Attachment} at the given positions of the sequence this builder hands out. The result only
+     * depends on the positions, so several threads may generate disjoint ranges at the same time.
+     * 
+     * @param firstAttachmentIndex
+     *            position of the first {@link Attachment}, starting with 0.
+     * @param numberOfAttachments
+     *            number of {@link Attachment} to be generated.
+     * @return set of {@link Attachment}, without those beyond the maximum amount of attachments
+     */
+    public List<Attachment> getAttachments(long firstAttachmentIndex, int numberOfAttachments) {
         List<Attachment> attachements = new ArrayList<>();
 
         for (int i = 0; i < numberOfAttachments; i++) {
-            if (currentAttachmentAmount < maxAmountAttachments || maxAmountAttachments == 0) {
-                attachements.add(generateAttachement());
+            long index = firstAttachmentIndex + i;
+            if (index < maxAmountAttachments || maxAmountAttachments == 0) {
+                attachements.add(generateAttachement(index));
             }
         }
 
         return attachements;
     }
 
-    private Attachment generateAttachement() {
-        currentAttachmentAmount++;
+    private Attachment generateAttachement(long index) {
         AttachmentImpl attachment = new AttachmentWrapper();
 
-        attachment.setObjectReference(objectReferenceBuilder.getObjectReference());
-        attachment.setClassificationSummary(pickClassification().asSummary());
+        attachment.setObjectReference(objectReferenceBuilder.getObjectReference(index));
+        attachment.setClassificationSummary(pickClassification(index).asSummary());
 
         return attachment;
     }
 
-    private ClassificationImpl pickClassification() {
-        return documentClassifications.get(currentClassificationCounter++ % documentClassifications.size());
+    private ClassificationImpl pickClassification(long index) {
+        return documentClassifications.get((int) (index % documentClassifications.size()));
     }
 }
@@ -4,13 +4,15 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import pro.taskana.Classification;
 import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.util.RandomSource;
 import pro.taskana.impl.ClassificationWrapper;
 
 /**
@@ -25,13 +27,19 @@ public class ClassificationBuilder {
     private static final List<String> CUSTOM_1_VALUES = Arrays.asList("ANR", "VNR", "RVNR", "KOLVNR");
     
     private final String domain;
+    private final Random rnd;
     private String category;
     private ClassificationType type;
     private int numberOfChildren;
     
     public ClassificationBuilder(String domain) {
+        this(domain, RandomSource.unseeded());
+    }
+    
+    public ClassificationBuilder(String domain, RandomSource randomSource) {
         this.domain = domain;
-        this.classificationsByType = new HashMap<>();
+        this.rnd = randomSource.newRandom();
+        this.classificationsByType = new EnumMap<>(ClassificationType.class);
     }
     
     private void init() {
@@ -88,8 +96,9 @@ public class ClassificationBuilder {
         classification.setIsValidInDomain(true);
         classification.setCreated(Instant.now());
         
-        Collections.shuffle(CUSTOM_1_VALUES);
-        classification.setCustom1(CUSTOM_1_VALUES.stream().collect(Collectors.joining(", ")));
+        List<String> custom1Values = new ArrayList<>(CUSTOM_1_VALUES);
+        Collections.shuffle(custom1Values, rnd);
+        classification.setCustom1(custom1Values.stream().collect(Collectors.joining(", ")));
         
         initClassificationTypeIfNeccessary(type);
         classificationsByType.get(type).add(classification);
@@ -34,6 +34,18 @@ public class ObjectReferenceBuilder {
         return getNextObjectReference();
     }
 
+    /**
+     * Supplies the {@link ObjectReference} at the given position of the endless sequence this builder hands out. Does
+     * not move the cursor used by {@link #getObjectReference()}.
+     * 
+     * @param index
+     *            position in the sequence, starting with 0.
+     * @return the {@link ObjectReference} at the given position.
+     */
+    public ObjectReference getObjectReference(long index) {
+        return builtObjectReferences.get((int) (index % builtObjectReferences.size()));
+    }
+
     /**
      * Supplies a set of {@link ObjectReference}.
      * 
@@ -1,14 +1,27 @@
 package pro.taskana.data.generation.builder;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import pro.taskana.Task;
 import pro.taskana.TaskState;
+import pro.taskana.WorkbasketSummary;
 import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.util.RandomSource;
 import pro.taskana.impl.ClassificationWrapper;
 import pro.taskana.impl.TaskWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
@@ -27,7 +40,7 @@ public class TaskBuilder {
 	private static final Map<String, String> CALLBACK_INFO = new HashMap<>();
 	private static final Map<String, String> CUSTOM_ATTRIBUTES = new HashMap<>();
     private List<ClassificationWrapper> taskClassifications;
-    private Random rnd;
+    private RandomSource randomSource;
     private List<WorkbasketWrapper> affectedWorkbaskets;
     private Map<TaskState, Integer> taskDistribution;
     
@@ -35,6 +48,11 @@ public class TaskBuilder {
     private ObjectReferenceBuilder objectReferenceBuilder;
     
     private int numberOfAttachments;
+    private int parallelism;
+    
+    private int numberOfBatches;
+    private long nextTaskIndex;
+    private long nextAttachmentIndex;
     
 	static {
 		for (int i = 1; i <= NUMBER_OF_CALLBACK_INFOS; i++) {
@@ -47,24 +65,35 @@ public class TaskBuilder {
 		}
 	}
 
-    public TaskBuilder(Map<ClassificationType, List<ClassificationWrapper>> classifications, int numberOfDifferentPOR, int maxAttachments) {
-        this.taskDistribution = new HashMap<>();
+    public TaskBuilder(Map<ClassificationType, List<ClassificationWrapper>> classifications, int numberOfDifferentPOR,
+            int maxAttachments, RandomSource randomSource) {
+        this.taskDistribution = new EnumMap<>(TaskState.class);
         this.affectedWorkbaskets = new ArrayList<>();
         this.taskClassifications = classifications.get(ClassificationType.AUFGABENTYP);
-        this.rnd = new Random();
+        this.randomSource = randomSource;
+        this.parallelism = 1;
         attachmentBuilder = new AttachmentBuilder(classifications, maxAttachments);
         this.numberOfAttachments = 0;
         objectReferenceBuilder = new ObjectReferenceBuilder(numberOfDifferentPOR);
     }
     
+    public TaskBuilder(Map<ClassificationType, List<ClassificationWrapper>> classifications, int numberOfDifferentPOR, int maxAttachments) {
+        this(classifications, numberOfDifferentPOR, maxAttachments, RandomSource.unseeded());
+    }
+    
     public TaskBuilder(Map<ClassificationType, List<ClassificationWrapper>> classifications, int numberOfPOR) {
         this(classifications, numberOfPOR, 0);
     }
     
+    public TaskBuilder(Map<ClassificationType, List<ClassificationWrapper>> classifications, int numberOfPOR,
+            RandomSource randomSource) {
+        this(classifications, numberOfPOR, 0, randomSource);
+    }
+    
     
     public TaskBuilder affect(List<WorkbasketWrapper> workbaskets) {
         this.affectedWorkbaskets = workbaskets;
-        this.taskDistribution = new HashMap<>();
+        this.taskDistribution = new EnumMap<>(TaskState.class);
         this.numberOfAttachments = 0;
         return this;
     }
@@ -83,43 +112,238 @@ public class TaskBuilder {
         return this;
     }
     
+    /**
+     * Supplies the number of tasks in the current configuration.
+     *
+     * @return number of tasks {@link #build()} would generate
+     */
+    public long getNumberOfTasks() {
+        if (affectedWorkbaskets == null) {
+            return 0;
+        }
+        long tasksPerWorkbasket = taskDistribution.values().stream().mapToLong(Integer::longValue).sum();
+        return affectedWorkbaskets.size() * tasksPerWorkbasket;
+    }
+
+    /**
+     * Sets the number of threads {@link #build()} uses. Every workbasket has its own random stream and its own range
+     * of object references and attachments, so the generated tasks do not depend on the number of threads.
+     * 
+     * @param parallelism
+     *            number of threads, 1 to generate all tasks in the calling thread
+     * @return this builder
+     */
+    public TaskBuilder withParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+    
+    /**
+     * Generates the configured tasks. With a parallelism greater than 1 the workbaskets are distributed over a
+     * {@link ForkJoinPool}; the tasks are returned in the same order as by {@link #stream()}.
+     * 
+     * @return the configured tasks
+     */
     public List<TaskWrapper> build() {
-        List<TaskWrapper> generatedTaks = new ArrayList<>();
-        for (WorkbasketWrapper wb : affectedWorkbaskets) {
-           generatedTaks.addAll(generateTasksForWorkbasket(wb));
-        }
-        return generatedTaks;
-    }
-    
-    private List<TaskWrapper> generateTasksForWorkbasket(WorkbasketWrapper workbasket) {
-        List<TaskWrapper> tasksInWb = new ArrayList<>();
-        for (TaskState state : taskDistribution.keySet()) {
-            List<TaskWrapper> tasksInState = generateTasks(workbasket, state, taskDistribution.get(state));
-            tasksInWb.addAll(tasksInState);
-        }
-        return tasksInWb;
-    }
-    
-    private List<TaskWrapper> generateTasks(WorkbasketWrapper workbasket, TaskState state, int quantity) {
-        List<TaskWrapper> tasks = new ArrayList<>();
-        for (int i = 0; i < quantity; i++) {
-            TaskWrapper task = new TaskWrapper(workbasket, state);
-            task.setOwner(workbasket.getOwner());
-            task.setNote(workbasket.getOwner());
-            task.setWorkbasketKey(workbasket.getKey());
-            task.setWorkbasketSummary(workbasket.asSummary());
-            task.setDomain(workbasket.getDomain());
-            int rndIndex = rnd.nextInt(taskClassifications.size());
-            ClassificationImpl taskClassification = taskClassifications.get(rndIndex);
-            task.setClassification(taskClassification);
-            
-            task.setPrimaryObjRef(objectReferenceBuilder.getObjectReference());
-            task.setAttachments(attachmentBuilder.getAttachments(numberOfAttachments));
-            tasks.add(task);
-			task.setCallbackInfo(CALLBACK_INFO);
-			task.setCustomAttributes(CUSTOM_ATTRIBUTES);
-        }
-        return tasks;
+        if (parallelism <= 1) {
+            return stream().collect(Collectors.toList());
+        }
+        TaskBatch batch = new TaskBatch();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, batch.getNumberOfWorkbaskets()).parallel()
+                    .mapToObj(batch::generateTasks).flatMap(List::stream).collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating tasks", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * Supplies the configured tasks as a lazy {@link Stream}. Every task is
+     * generated when it is consumed, so it can be garbage collected as soon as
+     * the consumer has processed it. The stream is always sequential.
+     * 
+     * @return ordered stream of the configured tasks
+     */
+    public Stream<TaskWrapper> stream() {
+        TaskIterator iterator = new TaskIterator(new TaskBatch());
+        return StreamSupport.stream(Spliterators.spliterator(iterator, iterator.getNumberOfTasks(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Supplies the configured tasks as a lazy {@link Iterator}. Every task is
+     * generated by {@link Iterator#next()}. The iterator keeps the
+     * configuration at the time of its creation.
+     * 
+     * @return iterator over the configured tasks
+     */
+    public Iterator<TaskWrapper> iterator() {
+        return new TaskIterator(new TaskBatch());
+    }
+    
+    private TaskWrapper generateTask(WorkbasketWrapper workbasket, WorkbasketSummary workbasketSummary,
+            TaskState state, Random rnd, long taskIndex, long firstAttachmentIndex, int attachmentsPerTask) {
+        TaskWrapper task = new TaskWrapper(workbasket, state);
+        task.setOwner(workbasket.getOwner());
+        task.setNote(workbasket.getOwner());
+        task.setWorkbasketKey(workbasket.getKey());
+        task.setWorkbasketSummary(workbasketSummary);
+        task.setDomain(workbasket.getDomain());
+        int rndIndex = rnd.nextInt(taskClassifications.size());
+        ClassificationImpl taskClassification = taskClassifications.get(rndIndex);
+        task.setClassification(taskClassification);
+        
+        task.setPrimaryObjRef(objectReferenceBuilder.getObjectReference(taskIndex));
+        task.setAttachments(attachmentBuilder.getAttachments(firstAttachmentIndex, attachmentsPerTask));
+        task.setCallbackInfo(CALLBACK_INFO);
+        task.setCustomAttributes(CUSTOM_ATTRIBUTES);
+        return task;
+    }
+    
+    /**
+     * Snapshot of the current configuration. On creation the batch reserves its range of object references and
+     * attachments, so every workbasket of the batch can be generated on its own.
+     */
+    private class TaskBatch {
+        
+        private final RandomSource batchRandomSource;
+        private final List<WorkbasketWrapper> workbaskets;
+        private final List<TaskState> states;
+        private final List<Integer> quantities;
+        private final int tasksPerWorkbasket;
+        private final int attachmentsPerTask;
+        private final long firstTaskIndex;
+        private final long firstAttachmentIndex;
+        
+        TaskBatch() {
+            this.batchRandomSource = randomSource.derive(numberOfBatches++);
+            this.workbaskets = new ArrayList<>(affectedWorkbaskets);
+            this.states = new ArrayList<>(taskDistribution.keySet());
+            this.quantities = new ArrayList<>();
+            states.forEach(state -> quantities.add(taskDistribution.get(state)));
+            this.tasksPerWorkbasket = quantities.stream().mapToInt(Integer::intValue).sum();
+            this.attachmentsPerTask = numberOfAttachments;
+            this.firstTaskIndex = nextTaskIndex;
+            this.firstAttachmentIndex = nextAttachmentIndex;
+            nextTaskIndex += getNumberOfTasks();
+            nextAttachmentIndex += getNumberOfTasks() * attachmentsPerTask;
+        }
+        
+        int getNumberOfWorkbaskets() {
+            return workbaskets.size();
+        }
+        
+        long getNumberOfTasks() {
+            return (long) workbaskets.size() * tasksPerWorkbasket;
+        }
+        
+        WorkbasketTasks tasksOf(int workbasketIndex) {
+            return new WorkbasketTasks(this, workbasketIndex);
+        }
+        
+        List<TaskWrapper> generateTasks(int workbasketIndex) {
+            List<TaskWrapper> tasks = new ArrayList<>(tasksPerWorkbasket);
+            tasksOf(workbasketIndex).forEachRemaining(tasks::add);
+            return tasks;
+        }
+    }
+    
+    /**
+     * Generates the tasks of a single workbasket of a {@link TaskBatch}. The random stream is derived from the
+     * workbasket key and the object references and attachments are taken from the workbasket's range.
+     */
+    private class WorkbasketTasks implements Iterator<TaskWrapper> {
+        
+        private final TaskBatch batch;
+        private final WorkbasketWrapper workbasket;
+        private final WorkbasketSummary workbasketSummary;
+        private final Random rnd;
+        
+        private long taskIndex;
+        private int stateIndex;
+        private int generatedInState;
+        
+        WorkbasketTasks(TaskBatch batch, int workbasketIndex) {
+            this.batch = batch;
+            this.workbasket = batch.workbaskets.get(workbasketIndex);
+            this.workbasketSummary = workbasket.asSummary();
+            this.rnd = batch.batchRandomSource.derive(workbasket.getKey()).newRandom();
+            this.taskIndex = batch.firstTaskIndex + (long) workbasketIndex * batch.tasksPerWorkbasket;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (stateIndex < batch.states.size()) {
+                if (generatedInState < batch.quantities.get(stateIndex)) {
+                    return true;
+                }
+                stateIndex++;
+                generatedInState = 0;
+            }
+            return false;
+        }
+        
+        @Override
+        public TaskWrapper next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long attachmentIndex = batch.firstAttachmentIndex
+                    + (taskIndex - batch.firstTaskIndex) * batch.attachmentsPerTask;
+            TaskWrapper task = generateTask(workbasket, workbasketSummary, batch.states.get(stateIndex), rnd,
+                    taskIndex, attachmentIndex, batch.attachmentsPerTask);
+            generatedInState++;
+            taskIndex++;
+            return task;
+        }
+    }
+    
+    /**
+     * Walks through the workbaskets of a {@link TaskBatch} and generates one
+     * task per call of {@link #next()}.
+     */
+    private class TaskIterator implements Iterator<TaskWrapper> {
+        
+        private final TaskBatch batch;
+        
+        private int workbasketIndex;
+        private WorkbasketTasks current;
+        
+        TaskIterator(TaskBatch batch) {
+            this.batch = batch;
+        }
+        
+        long getNumberOfTasks() {
+            return batch.getNumberOfTasks();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (workbasketIndex >= batch.getNumberOfWorkbaskets()) {
+                    return false;
+                }
+                current = batch.tasksOf(workbasketIndex++);
+            }
+            return true;
+        }
+        
+        @Override
+        public TaskWrapper next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
     }
 
 }
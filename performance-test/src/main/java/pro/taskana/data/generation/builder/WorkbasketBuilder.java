@@ -6,6 +6,7 @@ import java.util.List;
 
 import pro.taskana.Workbasket;
 import pro.taskana.WorkbasketType;
+import pro.taskana.data.generation.DomainContext;
 import pro.taskana.data.generation.util.DateHelper;
 import pro.taskana.impl.UserWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
@@ -18,20 +19,17 @@ import pro.taskana.impl.WorkbasketWrapper;
  */
 public class WorkbasketBuilder {
 
-    public static int WORKBASKETS_IN_ORG_LVL_1 = 1;
-
     private final UserBuilder userBuilder;
-    private final String domainName;
+    private final DomainContext domainContext;
     private final DateHelper dateHelper;
 
     private List<WorkbasketWrapper> generatedWorkbaskets;
 
-    public WorkbasketBuilder(String domainName, UserBuilder userBuilder) {
+    public WorkbasketBuilder(DomainContext domainContext, UserBuilder userBuilder) {
         this.dateHelper = new DateHelper();
         this.userBuilder = userBuilder;
-        this.domainName = domainName;
+        this.domainContext = domainContext;
         generatedWorkbaskets = new ArrayList<>();
-        WORKBASKETS_IN_ORG_LVL_1 = 1;
     }
 
     /**
@@ -95,7 +93,7 @@ public class WorkbasketBuilder {
     }
 
     private WorkbasketWrapper createWorkbasket(WorkbasketType type) {
-        WorkbasketWrapper wb = new WorkbasketWrapper(type, domainName);
+        WorkbasketWrapper wb = new WorkbasketWrapper(type, domainContext);
         Instant created = dateHelper.getNextTimestampForWorkbasket();
         wb.setCreated(created);
         wb.setModified(created);
@@ -2,12 +2,15 @@ package pro.taskana.data.generation.builder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import pro.taskana.Workbasket;
 import pro.taskana.WorkbasketAccessItem;
 import pro.taskana.data.enums.AccessType;
+import pro.taskana.data.generation.DomainContext;
 import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.data.generation.util.PopOrder;
 import pro.taskana.impl.UserWrapper;
 import pro.taskana.impl.WorkbasketAccessItemWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
@@ -22,10 +25,12 @@ import pro.taskana.impl.WorkbasketWrapper;
 public class WorkbasketStructureBuilder {
 
     private final String domainName;
+    private final Random random;
     private int quantity;
     private int numberOfDistTargetsFromPool;
     private List<WorkbasketWrapper> distributionTargets;
     private ElementStack<WorkbasketWrapper> poolOfGeneratedWorkbaskets;
+    private PopOrder popOrder;
     private List<WorkbasketWrapper> lastGeneratedLayer;
 
     private AccessItemBuilder accesItemBuilder;
@@ -33,10 +38,22 @@ public class WorkbasketStructureBuilder {
     private UserBuilder userBuilder;
 
     public WorkbasketStructureBuilder(String domainName) {
-        this.domainName = domainName;
+        this(DomainContext.standalone(domainName));
+    }
+
+    /**
+     * Creates a builder for the domain of the given context. All ids are taken
+     * from the context, so builders of different domains may run concurrently.
+     * 
+     * @param domainContext
+     *            context of the domain
+     */
+    public WorkbasketStructureBuilder(DomainContext domainContext) {
+        this.domainName = domainContext.getDomainName();
         this.userBuilder = new UserBuilder(domainName);
-        this.accesItemBuilder = new AccessItemBuilder();
-        this.workbasketBuilder = new WorkbasketBuilder(domainName, userBuilder);
+        this.accesItemBuilder = new AccessItemBuilder(domainContext);
+        this.workbasketBuilder = new WorkbasketBuilder(domainContext, userBuilder);
+        this.random = domainContext.getRandomSource().derive("pop-order").newRandom();
         init();
     }
 
@@ -110,7 +127,24 @@ public class WorkbasketStructureBuilder {
      * @return configured {@link WorkbasketStructureBuilder} instance
      */
     public WorkbasketStructureBuilder selectFrom(ElementStack<WorkbasketWrapper> availableWorkbaskets) {
+        return selectFrom(availableWorkbaskets, PopOrder.SEQUENTIAL);
+    }
+
+    /**
+     * Sets a set of {@link Workbasket} to select the distribution targets of the
+     * current layer's {@link Workbasket} and the order they are selected in. The
+     * remaining elements of the set are reordered when the layer is built.
+     * 
+     * @param availableWorkbaskets
+     *            set of {@link Workbasket}
+     * @param order
+     *            order in which the distribution targets are taken from the set
+     * @return configured {@link WorkbasketStructureBuilder} instance
+     */
+    public WorkbasketStructureBuilder selectFrom(ElementStack<WorkbasketWrapper> availableWorkbaskets,
+            PopOrder order) {
         this.poolOfGeneratedWorkbaskets = availableWorkbaskets;
+        this.popOrder = order;
         return this;
     }
 
@@ -229,7 +263,7 @@ public class WorkbasketStructureBuilder {
 
     private void addAdditionalDistributionTargetsToWorkbaskets(int numberOfDirectDistTargets,
             List<WorkbasketWrapper> generatedworkbaskets, ElementStack<WorkbasketWrapper> workbasketPool) {
-
+        popOrder.arrange(workbasketPool, generatedworkbaskets.size(), random);
         for (WorkbasketWrapper workbasket : generatedworkbaskets) {
             List<WorkbasketWrapper> childWorkbaskets = null;
             if (!workbasketPool.isEmpty()) {
@@ -261,6 +295,7 @@ public class WorkbasketStructureBuilder {
         quantity = 1;
         distributionTargets = new ArrayList<>();
         poolOfGeneratedWorkbaskets = new ElementStack<>();
+        popOrder = PopOrder.SEQUENTIAL;
     }
 
 }
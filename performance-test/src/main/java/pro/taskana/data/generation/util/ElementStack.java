@@ -2,74 +2,186 @@ package pro.taskana.data.generation.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Class wraps a list of elements and provides the pop functionality of stack.
- * 
+ * The elements are kept in an array, a cursor marks the first element which
+ * has not been popped yet. Therefore {@link #pop(int)} costs only the copy of
+ * the popped elements, independent of the number of previous pops.
+ *
+ * The elements are popped in the order they were added unless they are
+ * reordered, see {@link #shuffled(List, Random)}, {@link #strided(List, int)}
+ * and {@link PopOrder}.
+ *
  * @author fe
  *
  */
 public class ElementStack<E> {
 
-    private List<E> elements;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] elements;
+    private int head;
+    private int tail;
 
     public ElementStack() {
-        elements = new ArrayList<>();
+        elements = new Object[DEFAULT_CAPACITY];
     }
 
     public ElementStack(List<E> elements) {
-        this.elements = elements;
+        this.elements = elements.toArray();
+        this.tail = this.elements.length;
+    }
+
+    /**
+     * Creates a stack which pops the given elements in random order.
+     *
+     * @param elements
+     *            elements of the stack
+     * @param random
+     *            source of the order
+     * @return new stack
+     */
+    public static <E> ElementStack<E> shuffled(List<E> elements, Random random) {
+        ElementStack<E> stack = new ElementStack<>(elements);
+        stack.shuffle(random);
+        return stack;
+    }
+
+    /**
+     * Creates a stack which pops every stride-th element first, starting with
+     * the first element, then every stride-th element starting with the second
+     * element and so on. With a stride equal to the number of pops each pop
+     * gets elements spread over the whole list instead of neighbours.
+     *
+     * @param elements
+     *            elements of the stack
+     * @param stride
+     *            distance between two consecutively popped elements
+     * @return new stack
+     */
+    public static <E> ElementStack<E> strided(List<E> elements, int stride) {
+        ElementStack<E> stack = new ElementStack<>(elements);
+        stack.stride(stride);
+        return stack;
+    }
+
+    /**
+     * Puts the elements which have not been popped yet into random order.
+     *
+     * @param random
+     *            source of the order
+     */
+    public void shuffle(Random random) {
+        for (int i = tail - 1; i > head; i--) {
+            int j = head + random.nextInt(i - head + 1);
+            Object swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+    }
+
+    /**
+     * Reorders the elements which have not been popped yet like
+     * {@link #strided(List, int)}.
+     *
+     * @param stride
+     *            distance between two consecutively popped elements
+     * @throws IllegalArgumentException
+     *             if the stride is not positive
+     */
+    public void stride(int stride) {
+        if (stride < 1) {
+            throw new IllegalArgumentException("Stride must be positive but was " + stride);
+        }
+        Object[] target = new Object[getSize()];
+        int next = 0;
+        for (int offset = 0; offset < stride; offset++) {
+            for (int i = head + offset; i < tail; i += stride) {
+                target[next++] = elements[i];
+            }
+        }
+        System.arraycopy(target, 0, elements, head, target.length);
     }
 
     /**
      * Adds a new item to the wrapped list.
-     * 
+     *
      * @param item
      *            to be added.
      */
     public void add(E item) {
-        this.elements.add(item);
+        if (tail == elements.length) {
+            compact(Math.max(DEFAULT_CAPACITY, getSize() * 2));
+        }
+        elements[tail++] = item;
     }
 
     /**
      * Checks if the contained list is null or empty.
-     * 
+     *
      * @return <code>true</code> if the contained list is null or empty, otherwise
      *         <code>false</code>
      */
     public boolean isEmpty() {
-        return elements == null || elements.isEmpty();
+        return head == tail;
     }
 
     /**
-     * Removes a number of elements starting at index 0 and return this as list.
-     * 
+     * Removes a number of elements from the top of the stack and return this as
+     * list.
+     *
      * @param amount
      *            number of elements which will be removed from the list
-     * @return list of removed elements
+     * @return new modifiable list of removed elements
+     * @throws IndexOutOfBoundsException
+     *             if the stack contains less elements
      */
+    @SuppressWarnings("unchecked")
     public List<E> pop(int amount) {
-        List<E> subList = elements.subList(0, amount);
-        elements = elements.subList(amount, elements.size());
-        return subList;
+        if (amount < 0 || amount > getSize()) {
+            throw new IndexOutOfBoundsException("Cannot pop " + amount + " of " + getSize() + " elements");
+        }
+        List<E> popped = new ArrayList<>(amount);
+        for (int i = head; i < head + amount; i++) {
+            popped.add((E) elements[i]);
+            elements[i] = null;
+        }
+        head += amount;
+        return popped;
     }
 
     /**
      * Supplies the number of elements in the stack.
-     * 
+     *
      * @return size of the stack
      */
     public int getSize() {
-        return elements.size();
+        return tail - head;
     }
 
     /**
-     * Supplies a list representation for the contained elements.
-     * 
-     * @return List of elements
+     * Supplies a list representation for the contained elements in the order
+     * they would be popped.
+     *
+     * @return new list of elements
      */
+    @SuppressWarnings("unchecked")
     public List<E> toList() {
-        return elements;
+        List<E> list = new ArrayList<>(getSize());
+        for (int i = head; i < tail; i++) {
+            list.add((E) elements[i]);
+        }
+        return list;
+    }
+
+    private void compact(int capacity) {
+        Object[] compacted = new Object[capacity];
+        System.arraycopy(elements, head, compacted, 0, getSize());
+        tail = getSize();
+        head = 0;
+        elements = compacted;
     }
 
 }
@@ -0,0 +1,63 @@
+package pro.taskana.data.generation.util;
+
+import java.util.Random;
+
+/**
+ * Enum contains the orders in which a layer pops its distribution targets
+ * from an {@link ElementStack}. {@link #SEQUENTIAL} keeps the order of the
+ * stack, so every workbasket gets neighbouring elements. The identifier can be
+ * used to select the order, e.g. as benchmark parameter.
+ */
+public enum PopOrder {
+    SEQUENTIAL("sequential"), SHUFFLED("shuffled"), STRIDED("strided");
+
+    private final String identifier;
+
+    private PopOrder(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Reorders the remaining elements of the given stack.
+     *
+     * @param stack
+     *            stack the elements are popped from
+     * @param numberOfPops
+     *            number of pops which will share the elements, used as stride
+     *            by {@link #STRIDED}
+     * @param random
+     *            source of the order of {@link #SHUFFLED}
+     */
+    public void arrange(ElementStack<?> stack, int numberOfPops, Random random) {
+        switch (this) {
+            case SHUFFLED:
+                stack.shuffle(random);
+                break;
+            case STRIDED:
+                stack.stride(Math.max(1, numberOfPops));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the order for the given identifier.
+     *
+     * @param identifier
+     *            identifier of the order
+     * @return matching {@link PopOrder}
+     */
+    public static PopOrder fromIdentifier(String identifier) {
+        for (PopOrder order : values()) {
+            if (order.identifier.equalsIgnoreCase(identifier)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pop order " + identifier);
+    }
+}
@@ -0,0 +1,101 @@
+package pro.taskana.data.generation.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Source of reproducible random numbers. A run is configured with one seed; every builder derives its own named
+ * source from it. Derived seeds depend only on the parent seed and the name, not on the order in which sources are
+ * derived, so parallel generation stays reproducible.
+ *
+ * E.g. <code>new RandomSource(42).derive("C").derive("tasks")</code> always yields the same numbers, no matter
+ * which other sources have been derived before.
+ */
+public class RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final long seed;
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a source with a seed that differs from run to run.
+     *
+     * @return new {@link RandomSource}
+     */
+    public static RandomSource unseeded() {
+        return new RandomSource(mix(System.nanoTime() ^ Thread.currentThread().getId() * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Returns the seed of this source. A source created with this seed produces the same numbers.
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Derives an independent source for the given name.
+     *
+     * @param name
+     *            name of the derived source, e.g. the name of a builder or a workbasket key
+     * @return derived {@link RandomSource}
+     */
+    public RandomSource derive(String name) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return new RandomSource(mix(seed + GOLDEN_GAMMA * mix(hash)));
+    }
+
+    /**
+     * Derives an independent source for the given index.
+     *
+     * @param index
+     *            index of the derived source, e.g. the position of a workbasket
+     * @return derived {@link RandomSource}
+     */
+    public RandomSource derive(long index) {
+        return new RandomSource(mix(seed + GOLDEN_GAMMA * (index + 1)));
+    }
+
+    /**
+     * Creates a new {@link Random} starting at the seed of this source.
+     *
+     * @return new {@link Random}
+     */
+    public Random newRandom() {
+        return new Random(seed);
+    }
+
+    /**
+     * Creates a new {@link SplittableRandom} starting at the seed of this source.
+     *
+     * @return new {@link SplittableRandom}
+     */
+    public SplittableRandom newSplittableRandom() {
+        return new SplittableRandom(seed);
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed;
+    }
+
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,66 +1,155 @@
 package pro.taskana.export;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import pro.taskana.export.io.CsvWriter;
+import pro.taskana.export.sampling.Sampler;
 
+/**
+ * Writes one line per accepted object to its target files. The objects are
+ * passed one after another by {@link #export(Object)}, so several exporters
+ * can be fed by a single pass over the data.
+ */
 public class DataExporter<T> {
 
-    private final List<T> objects;
-    
     private List<Function<T, String>> producer;
     private List<Predicate<T>> predicates;
     private List<Supplier<String>> supplier;
     private List<String> constantLineValues;
-    private Integer maxLines;
-    
-    public DataExporter(List<T> objects) {
-        this.objects = objects;
+    private Sampler<T> sampler;
+
+    private final List<CsvWriter> targets;
+    private final StringBuilder line;
+    private int valuesInLine;
+
+    public DataExporter() {
         this.producer = new ArrayList<>();
         this.predicates = new ArrayList<>();
         this.supplier = new ArrayList<>();
-        this.maxLines = null;
+        this.sampler = null;
         this.constantLineValues = new ArrayList<>();
+        this.targets = new ArrayList<>();
+        this.line = new StringBuilder();
     }
-    
+
     public void addLineValueProducer(Function<T, String> producer) {
         this.producer.add(producer);
     }
-    
+
     public void maxLines(Integer maxLines) {
-        this.maxLines = maxLines;
+        this.sampler = maxLines == null ? null : Sampler.firstN(maxLines);
     }
-    
+
+    /**
+     * Limits the exported lines to the objects selected by the given sampler.
+     * Objects which the sampler does not accept immediately are written by
+     * {@link #finish()}.
+     * 
+     * @param sampler
+     *            selects the exported objects, <code>null</code> to export all
+     *            objects
+     */
+    public void sampleWith(Sampler<T> sampler) {
+        this.sampler = sampler;
+    }
+
     public void addConstantLineValue(String value) {
         this.constantLineValues.add(value);
     }
-    
+
     public void addLineValueSupplier(Supplier<String> supplier) {
         this.supplier.add(supplier);
     }
-    
+
     public void addPredicate(Predicate<T> predicate) {
         this.predicates.add(predicate);
     }
-    
-    public List<List<String>> generateFileContent() {                
-        List<T> filteredObjects = objects.stream()
-                .filter(o -> predicates.stream().allMatch(p -> p.test(o))).collect(Collectors.toList());
-        if(maxLines != null && filteredObjects.size() > maxLines) {
-            filteredObjects = filteredObjects.subList(0, maxLines);
+
+    /**
+     * Adds a file which receives every line of this exporter.
+     * 
+     * @param target
+     *            writer of the file
+     */
+    public void writeTo(CsvWriter target) {
+        this.targets.add(target);
+    }
+
+    /**
+     * Checks whether this exporter already selected its maximum number of
+     * lines.
+     * 
+     * @return <code>true</code> if no further lines are selected
+     */
+    public boolean isComplete() {
+        return sampler != null && sampler.isComplete();
+    }
+
+    /**
+     * Writes the line of the given object to all target files if the object
+     * matches all predicates and is selected by the sampler.
+     * 
+     * @param object
+     *            the next object
+     * @throws IOException
+     *             if the line cannot be written
+     */
+    public void export(T object) throws IOException {
+        if (isComplete()) {
+            return;
+        }
+        for (Predicate<T> predicate : predicates) {
+            if (!predicate.test(object)) {
+                return;
+            }
+        }
+        if (sampler == null || sampler.offer(object)) {
+            writeLine(object);
+        }
+    }
+
+    /**
+     * Writes the lines of the objects which the sampler selected but did not
+     * accept immediately. Must be called after the last object.
+     * 
+     * @throws IOException
+     *             if a line cannot be written
+     */
+    public void finish() throws IOException {
+        if (sampler != null) {
+            for (T object : sampler.drain()) {
+                writeLine(object);
+            }
+        }
+    }
+
+    private void writeLine(T object) throws IOException {
+        line.setLength(0);
+        valuesInLine = 0;
+        for (Function<T, String> value : producer) {
+            appendValue(value.apply(object));
+        }
+        for (Supplier<String> value : supplier) {
+            appendValue(value.get());
+        }
+        for (String value : constantLineValues) {
+            appendValue(value);
+        }
+        for (CsvWriter target : targets) {
+            target.writeLine(line);
         }
-        List<List<String>> lines = filteredObjects.stream()
-                .map(o -> producer.stream().map(p -> p.apply(o)).collect(Collectors.toList()))
-                .collect(Collectors.toList());
-        lines.forEach(line -> line.addAll(constantLineValues));
-        return lines;
     }
-    
-    
-    
-    
+
+    private void appendValue(String value) {
+        if (valuesInLine++ > 0) {
+            line.append(CsvWriter.SEPARATOR);
+        }
+        line.append(value);
+    }
+
 }
@@ -0,0 +1,246 @@
+package pro.taskana.export;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.ObjectReference;
+import pro.taskana.TaskState;
+import pro.taskana.WorkbasketType;
+import pro.taskana.data.generation.DomainContext;
+import pro.taskana.data.generation.util.RandomSource;
+import pro.taskana.export.io.FileUtils;
+import pro.taskana.export.sampling.SamplingStrategy;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.DataWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Writes the scenario files of data which is already persisted, without
+ * generating it again. Classifications, workbaskets and distribution targets
+ * are read completely, the tasks are read with a forward only cursor and handed
+ * to the {@link ScenarioExporter} one by one. Only the columns used by the
+ * scenario files are selected and only samplers with a bounded sample are
+ * accepted, so the memory footprint does not depend on the number of tasks.
+ * {@link SamplingStrategy#STRATIFIED} is rejected, it keeps up to twice the
+ * sample size in memory, plus one task per stratum.
+ */
+public class DatabaseExporter {
+
+    public static final int DEFAULT_FETCH_SIZE = 10000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseExporter.class);
+
+    private final DataSource dataSource;
+    private final String schemaName;
+    private final int fetchSize;
+
+    /**
+     * Creates an exporter for the given database.
+     * 
+     * @param dataSource
+     *            database containing the Taskana schema
+     * @param schemaName
+     *            name of the Taskana schema
+     * @param fetchSize
+     *            number of task rows fetched per round trip
+     */
+    public DatabaseExporter(DataSource dataSource, String schemaName, int fetchSize) {
+        this.dataSource = dataSource;
+        this.schemaName = schemaName;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Reads the persisted data and writes the scenario files.
+     * 
+     * @param randomSource
+     *            source of the random values in the files.
+     * @param fileUtils
+     *            creates the new files.
+     * @param sampling
+     *            selects the tasks of files with a limited number of lines.
+     * @throws IllegalArgumentException
+     *             if the sampling strategy is {@link SamplingStrategy#STRATIFIED}
+     */
+    public void exportData(RandomSource randomSource, FileUtils fileUtils, SamplingStrategy sampling) {
+        if (sampling == SamplingStrategy.STRATIFIED) {
+            throw new IllegalArgumentException("The export from the database does not support the sampling strategy "
+                    + sampling.getIdentifier());
+        }
+        long start = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            // several drivers, e.g. PostgreSQL, only use a cursor outside of auto commit mode
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                Map<String, ClassificationWrapper> classifications = readClassifications(connection);
+                Map<String, WorkbasketWrapper> workbaskets = readWorkbaskets(connection);
+                int distributionTargets = readDistributionTargets(connection, workbaskets);
+                LOGGER.info("Read {} classifications, {} workbaskets and {} distribution targets",
+                        classifications.size(), workbaskets.size(), distributionTargets);
+
+                DataWrapper data = new DataWrapper(new ArrayList<>(workbaskets.values()), Collections.emptyList(),
+                        new ArrayList<>(classifications.values()));
+                try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(fetchSize);
+                    try (ResultSet rows = statement.executeQuery("SELECT ID, STATE, DOMAIN, WORKBASKET_ID, "
+                            + "WORKBASKET_KEY, CLASSIFICATION_ID, POR_VALUE FROM " + table("TASK"))) {
+                        TaskCursor tasks = new TaskCursor(rows, workbaskets, classifications);
+                        ScenarioExporter.exportData(data, () -> tasks, randomSource, fileUtils, sampling);
+                        LOGGER.info("Exported {} tasks from the database in {} s", tasks.numberOfTasks,
+                                (System.currentTimeMillis() - start) / 1000);
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Cannot read the scenario data from the database", e);
+        }
+    }
+
+    /**
+     * Reads the classifications of the exported domains. The Taskana API also
+     * copies every classification into the master domain (empty domain). The
+     * generated data has no such copies and tasks never reference them, so they
+     * are skipped and the random classifications of the scenario files are
+     * drawn from the same set as in the export of generated data.
+     */
+    private Map<String, ClassificationWrapper> readClassifications(Connection connection) throws SQLException {
+        Map<String, ClassificationWrapper> classifications = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery(
+                        "SELECT ID, KEY, CATEGORY, TYPE, DOMAIN, CUSTOM_1 FROM " + table("CLASSIFICATION")
+                                + " WHERE DOMAIN <> '' ORDER BY DOMAIN, KEY")) {
+            while (rows.next()) {
+                ClassificationWrapper classification = new ClassificationWrapper();
+                classification.setId(rows.getString("ID"));
+                classification.setKey(rows.getString("KEY"));
+                classification.setCategory(rows.getString("CATEGORY"));
+                classification.setType(rows.getString("TYPE"));
+                classification.setDomain(rows.getString("DOMAIN"));
+                classification.setCustom1(rows.getString("CUSTOM_1"));
+                classifications.put(classification.getId(), classification);
+            }
+        }
+        return classifications;
+    }
+
+    private Map<String, WorkbasketWrapper> readWorkbaskets(Connection connection) throws SQLException {
+        Map<String, WorkbasketWrapper> workbaskets = new LinkedHashMap<>();
+        Map<String, DomainContext> domains = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery(
+                        "SELECT ID, KEY, DOMAIN, TYPE, OWNER FROM " + table("WORKBASKET") + " ORDER BY DOMAIN, KEY")) {
+            while (rows.next()) {
+                WorkbasketWrapper workbasket = new WorkbasketWrapper(WorkbasketType.valueOf(rows.getString("TYPE")),
+                        domains.computeIfAbsent(rows.getString("DOMAIN"), DomainContext::standalone));
+                workbasket.setId(rows.getString("ID"));
+                workbasket.setKey(rows.getString("KEY"));
+                workbasket.setOwner(rows.getString("OWNER"));
+                workbaskets.put(workbasket.getId(), workbasket);
+            }
+        }
+        return workbaskets;
+    }
+
+    private int readDistributionTargets(Connection connection, Map<String, WorkbasketWrapper> workbaskets)
+            throws SQLException {
+        int distributionTargets = 0;
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT SOURCE_ID, TARGET_ID FROM "
+                        + table("DISTRIBUTION_TARGETS") + " ORDER BY SOURCE_ID, TARGET_ID")) {
+            while (rows.next()) {
+                WorkbasketWrapper source = require(workbaskets, rows.getString("SOURCE_ID"), "workbasket");
+                WorkbasketWrapper target = require(workbaskets, rows.getString("TARGET_ID"), "workbasket");
+                source.addDistributionTargets(Collections.singletonList(target));
+                distributionTargets++;
+            }
+        }
+        return distributionTargets;
+    }
+
+    private String table(String tableName) {
+        return schemaName + "." + tableName;
+    }
+
+    private static <T> T require(Map<String, T> elements, String id, String description) {
+        T element = elements.get(id);
+        if (element == null) {
+            throw new NoSuchElementException("No " + description + " with id " + id + " in the database");
+        }
+        return element;
+    }
+
+    /**
+     * Single use iterator over the task rows. Every row becomes a new
+     * {@link TaskWrapper} which is counted by its workbasket.
+     */
+    private static class TaskCursor implements Iterator<TaskWrapper> {
+
+        private final ResultSet rows;
+        private final Map<String, WorkbasketWrapper> workbaskets;
+        private final Map<String, ClassificationWrapper> classifications;
+        private Boolean hasNext;
+        private long numberOfTasks;
+
+        TaskCursor(ResultSet rows, Map<String, WorkbasketWrapper> workbaskets,
+                Map<String, ClassificationWrapper> classifications) {
+            this.rows = rows;
+            this.workbaskets = workbaskets;
+            this.classifications = classifications;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = rows.next();
+                } catch (SQLException e) {
+                    throw new RuntimeException("Cannot read the next task from the database", e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public TaskWrapper next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                TaskWrapper task = new TaskWrapper(require(workbaskets, rows.getString("WORKBASKET_ID"), "workbasket"),
+                        TaskState.valueOf(rows.getString("STATE")));
+                task.setId(rows.getString("ID"));
+                task.setDomain(rows.getString("DOMAIN"));
+                task.setWorkbasketKey(rows.getString("WORKBASKET_KEY"));
+                task.setClassification(require(classifications, rows.getString("CLASSIFICATION_ID"), "classification"));
+                ObjectReference primaryObjRef = new ObjectReference();
+                primaryObjRef.setValue(rows.getString("POR_VALUE"));
+                task.setPrimaryObjRef(primaryObjRef);
+                numberOfTasks++;
+                return task;
+            } catch (SQLException e) {
+                throw new RuntimeException("Cannot read the next task from the database", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package pro.taskana.export;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import pro.taskana.impl.DataWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+/**
+ * Hash based lookups over the exported {@link DataWrapper}. Built once per
+ * export, so line value producers resolve references in constant time instead
+ * of searching the lists. If several elements share a key, the first one wins.
+ */
+public class ExportIndex {
+
+    private final Map<String, WorkbasketWrapper> workbasketsByKey;
+
+    public ExportIndex(DataWrapper data) {
+        this.workbasketsByKey = new HashMap<>(capacityFor(data.workbaskets.size()));
+        for (WorkbasketWrapper workbasket : data.workbaskets) {
+            workbasketsByKey.putIfAbsent(workbasket.getKey(), workbasket);
+        }
+    }
+
+    /**
+     * Returns the workbasket with the given key.
+     *
+     * @param key
+     *            key of the workbasket
+     * @return the workbasket
+     * @throws NoSuchElementException
+     *             if there is no workbasket with this key
+     */
+    public WorkbasketWrapper getWorkbasketByKey(String key) {
+        return require(workbasketsByKey.get(key), "workbasket with key", key);
+    }
+
+    private static <T> T require(T element, String description, String key) {
+        if (element == null) {
+            throw new NoSuchElementException("No " + description + " " + key + " in the exported data");
+        }
+        return element;
+    }
+
+    private static int capacityFor(int elements) {
+        return (int) (elements / 0.75f) + 1;
+    }
+}
@@ -1,18 +1,36 @@
 package pro.taskana.export;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 
+import pro.taskana.data.generation.util.RandomSource;
 import pro.taskana.impl.ClassificationWrapper;
 import pro.taskana.impl.DataWrapper;
 import pro.taskana.impl.TaskWrapper;
 import pro.taskana.impl.WorkbasketWrapper;
+import pro.taskana.export.io.CsvWriter;
 import pro.taskana.export.io.FileType;
 import pro.taskana.export.io.FileUtils;
+import pro.taskana.export.sampling.SamplingStrategy;
 
 public class ScenarioExporter {
 
+    public static final SamplingStrategy DEFAULT_SAMPLING_STRATEGY = SamplingStrategy.RESERVOIR;
+
+    private static final int MAX_TASK_LINES = 100000;
+
+    /**
+     * Stratum of a task for {@link SamplingStrategy#STRATIFIED}. The workbasket
+     * is not part of it, with it almost every task would be its own stratum.
+     */
+    private static final Function<TaskWrapper, ?> TASK_STRATUM = t -> Arrays.asList(t.getDomain(), t.getState(),
+            t.getClassificationKey());
+
     /**
      * Generate files containing informations of the build test data.
      * 
@@ -22,97 +40,212 @@ public class ScenarioExporter {
      *            output directory for new files.
      */
     public static void exportData(DataWrapper data, Path outputDir) {
-        Random rnd = new Random();
-        FileUtils fileUtils = new FileUtils(outputDir, FileType.CSV);
-
-        DataExporter<WorkbasketWrapper> ownerKeyExistingTasks = new DataExporter<>(data.workbaskets);
-        ownerKeyExistingTasks.addPredicate(wb -> !wb.getTasks().isEmpty());
-        ownerKeyExistingTasks.addPredicate(wb -> wb.getDomain().equals("C"));
-        
-        ownerKeyExistingTasks.addLineValueProducer(wb -> wb.getKey());
-        ownerKeyExistingTasks.addLineValueProducer(wb -> wb.getDomain());
-        ownerKeyExistingTasks.addLineValueProducer(wb -> wb.getOwner());
-        fileUtils.createFile("00_auslesen_einer_aufgabe_aus_einem_postkorb",
-                ownerKeyExistingTasks.generateFileContent());
-
-        DataExporter<TaskWrapper> taskIDOwner = new DataExporter<>(data.tasks);
-        taskIDOwner.maxLines(100000);
-        taskIDOwner.addPredicate(t -> t.getDomain().equals("C"));
-        taskIDOwner.addLineValueProducer(t -> t.getId());
-        taskIDOwner.addLineValueProducer(t -> data.workbaskets.stream()
-                .filter(wb -> wb.getKey().equals(t.getWorkbasketKey())).findFirst().get().getOwner());
-        fileUtils.createFile("01_auslesen_einer_aufgabe_per_id", taskIDOwner.generateFileContent());
-
-        DataExporter<TaskWrapper> porOwner = new DataExporter<>(data.tasks);
-        taskIDOwner.maxLines(100000);
-        porOwner.addPredicate(t -> t.getDomain().equals("C"));
-        porOwner.addLineValueProducer(t -> t.getPrimaryObjRef().getValue());
-        porOwner.addLineValueProducer(t -> "superUser");
-        fileUtils.createFile("02_suchen_von_aufgaben_mit_ordnungsbegriff", porOwner.generateFileContent());
-
-        DataExporter<WorkbasketWrapper> ownerWbKey = new DataExporter<>(data.workbaskets);
-        ownerWbKey.addPredicate(wb -> wb.getDomain().equals("C"));
-        ownerWbKey.addLineValueProducer(wb -> wb.getKey());
-        ownerWbKey.addLineValueProducer(wb -> wb.getDomain());
-        ownerWbKey.addLineValueProducer(wb -> wb.getOwner());
-        fileUtils.createFile("03_00_lesen_der_daten_eines_postkorbs", ownerWbKey.generateFileContent());
-        
-        DataExporter<WorkbasketWrapper> ownerWbId = new DataExporter<>(data.workbaskets);
-        ownerWbId.addPredicate(wb -> wb.getDomain().equals("C"));
-        ownerWbId.addLineValueProducer(wb -> wb.getId());
-        ownerWbId.addLineValueProducer(wb -> wb.getOwner());
-        fileUtils.createFile("03_01_lesen_der_daten_eines_postkorbs_per_id", ownerWbId.generateFileContent());
-
-        DataExporter<TaskWrapper> typeCategoryCustomDomain = new DataExporter<>(data.tasks);
-        typeCategoryCustomDomain.maxLines(100000);
-        typeCategoryCustomDomain.addPredicate(t -> t.getDomain().equals("C"));
-        typeCategoryCustomDomain.addLineValueProducer(t -> t.getClassificationSummary().getType());
-        typeCategoryCustomDomain.addLineValueProducer(t -> t.getClassificationCategory());       
-        typeCategoryCustomDomain.addLineValueProducer(t -> {
-            String[] values = t.getClassification().getCustom1().split(",");
-            return values[rnd.nextInt(values.length-1)];
-        });
-        typeCategoryCustomDomain.addLineValueProducer(t -> t.getDomain());
-        typeCategoryCustomDomain.addConstantLineValue(data.workbaskets.iterator().next().getOwner());
-        fileUtils.createFile("04_00_suchen_einer_klassifikation", typeCategoryCustomDomain.generateFileContent());
-        
-        DataExporter<TaskWrapper> classificationId = new DataExporter<>(data.tasks);
-        classificationId.maxLines(100000);
-        classificationId.addPredicate(t -> t.getDomain().equals("C"));
-        classificationId.addLineValueProducer(t -> t.getClassificationSummary().getId());
-        classificationId.addConstantLineValue(data.workbaskets.iterator().next().getOwner());
-        fileUtils.createFile("04_01_suchen_einer_klassifikation_per_id", classificationId.generateFileContent());
-
-        DataExporter<TaskWrapper> keyDomain = new DataExporter<>(data.tasks);
-        typeCategoryCustomDomain.maxLines(100000);
-        keyDomain.addPredicate(t -> t.getDomain().equals("C"));
-        keyDomain.addLineValueProducer(t -> t.getClassificationKey());
-        keyDomain.addLineValueProducer(t -> t.getDomain());
-        keyDomain.addConstantLineValue(data.workbaskets.iterator().next().getOwner());
-        fileUtils.createFile("05_lesen_einer_klassifikation", keyDomain.generateFileContent());
-        
-        DataExporter<WorkbasketWrapper> createUpdateTransferCompleteTask = new DataExporter<>(data.workbaskets);
-        createUpdateTransferCompleteTask.addPredicate(wb -> !wb.getDirectChildren().isEmpty());
-        createUpdateTransferCompleteTask.addPredicate(wb -> wb.getDomain().equals("C"));
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getKey());
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getId());
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getDomain());
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> {
-            ClassificationWrapper rndClassification = data.classifications.get(rnd.nextInt(data.classifications.size()-1));
-            return rndClassification.getKey() + "," + rndClassification.getCategory();
-        });
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getDirectChildren().iterator().next().getKey());
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getDirectChildren().iterator().next().getId());
-        createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getOwner());
-        fileUtils.createFile("06_aufgabe_erstellen_claimen_aktualisieren_abschliessen_weiterleiten", createUpdateTransferCompleteTask.generateFileContent());
-
-        DataExporter<WorkbasketWrapper> ownerKeyForPermission = new DataExporter<>(data.workbaskets);
-        ownerKeyForPermission.addPredicate(wb -> wb.getDirectOrIndirectChildren().size() < 25);
-        ownerKeyForPermission.addPredicate(wb -> wb.getDomain().equals("C"));
-        ownerKeyForPermission.addLineValueProducer(wb -> wb.getOwner());
-        List<List<String>> content = ownerKeyForPermission.generateFileContent();
-        fileUtils.createFile("07_postkoerbe_suchen_auf_die_der_aufrufer_das_recht_open_hat", content);
-        fileUtils.createFile("08_postkoerbe_suchen_auf_die_der_aufrufer_das_recht_append_hat", content);
+        exportData(data, outputDir, RandomSource.unseeded());
+    }
+
+    /**
+     * Generate files containing informations of the build test data. Random
+     * values are drawn from the given source, so the same seed produces the same
+     * files. All files are written at the same time during one pass over the
+     * tasks and one pass over the workbaskets.
+     * 
+     * @param data
+     *            which was persisted.
+     * @param outputDir
+     *            output directory for new files.
+     * @param randomSource
+     *            source of the random values in the files.
+     */
+    public static void exportData(DataWrapper data, Path outputDir, RandomSource randomSource) {
+        exportData(data, randomSource, new FileUtils(outputDir, FileType.CSV), DEFAULT_SAMPLING_STRATEGY);
+    }
+
+    /**
+     * Generate files containing informations of the build test data. The given
+     * {@link FileUtils} defines the type of the files, whether large files are
+     * split into chunks and whether every file is written by its own thread.
+     * The content is the same in all cases. Files with a limited number of
+     * lines contain the tasks selected by the given sampling strategy.
+     * 
+     * @param data
+     *            which was persisted.
+     * @param randomSource
+     *            source of the random values in the files.
+     * @param fileUtils
+     *            creates the new files.
+     * @param sampling
+     *            selects the tasks of files with a limited number of lines.
+     */
+    public static void exportData(DataWrapper data, RandomSource randomSource, FileUtils fileUtils,
+            SamplingStrategy sampling) {
+        exportData(data, data.tasks, randomSource, fileUtils, sampling);
+    }
+
+    /**
+     * Generate files containing informations of the given tasks and the
+     * workbaskets and classifications of the given data. The tasks are iterated
+     * exactly once, so they can be read from a cursor without keeping them in
+     * memory.
+     * 
+     * @param data
+     *            workbaskets and classifications, its tasks are ignored.
+     * @param tasks
+     *            tasks to export.
+     * @param randomSource
+     *            source of the random values in the files.
+     * @param fileUtils
+     *            creates the new files.
+     * @param sampling
+     *            selects the tasks of files with a limited number of lines.
+     */
+    public static void exportData(DataWrapper data, Iterable<TaskWrapper> tasks, RandomSource randomSource,
+            FileUtils fileUtils, SamplingStrategy sampling) {
+        Random rnd = randomSource.newRandom();
+        Random samplingRandom = randomSource.derive("sampling").newRandom();
+        List<CsvWriter> files = new ArrayList<>();
+        List<DataExporter<TaskWrapper>> taskExporters = new ArrayList<>();
+        List<DataExporter<WorkbasketWrapper>> workbasketExporters = new ArrayList<>();
+        ExportIndex index = new ExportIndex(data);
+
+        try {
+            DataExporter<WorkbasketWrapper> ownerKeyExistingTasks = new DataExporter<>();
+            ownerKeyExistingTasks.addPredicate(wb -> wb.getNumberOfTasks() > 0);
+            ownerKeyExistingTasks.addPredicate(wb -> wb.getDomain().equals("C"));
+
+            ownerKeyExistingTasks.addLineValueProducer(wb -> wb.getKey());
+            ownerKeyExistingTasks.addLineValueProducer(wb -> wb.getDomain());
+            ownerKeyExistingTasks.addLineValueProducer(wb -> wb.getOwner());
+            ownerKeyExistingTasks.writeTo(openFile(fileUtils, files, ScenarioFile.TASK_OF_WORKBASKET));
+            workbasketExporters.add(ownerKeyExistingTasks);
+
+            DataExporter<TaskWrapper> taskIDOwner = new DataExporter<>();
+            taskIDOwner.sampleWith(sampling.newSampler(MAX_TASK_LINES, TASK_STRATUM, samplingRandom));
+            taskIDOwner.addPredicate(t -> t.getDomain().equals("C"));
+            taskIDOwner.addLineValueProducer(t -> t.getId());
+            taskIDOwner.addLineValueProducer(t -> index.getWorkbasketByKey(t.getWorkbasketKey()).getOwner());
+            taskIDOwner.writeTo(openFile(fileUtils, files, ScenarioFile.TASK_BY_ID));
+            taskExporters.add(taskIDOwner);
+
+            DataExporter<TaskWrapper> porOwner = new DataExporter<>();
+            porOwner.addPredicate(t -> t.getDomain().equals("C"));
+            porOwner.addLineValueProducer(t -> t.getPrimaryObjRef().getValue());
+            porOwner.addLineValueProducer(t -> "superUser");
+            porOwner.writeTo(openFile(fileUtils, files, ScenarioFile.TASKS_BY_OBJECT_REFERENCE));
+            taskExporters.add(porOwner);
+
+            DataExporter<WorkbasketWrapper> ownerWbKey = new DataExporter<>();
+            ownerWbKey.addPredicate(wb -> wb.getDomain().equals("C"));
+            ownerWbKey.addLineValueProducer(wb -> wb.getKey());
+            ownerWbKey.addLineValueProducer(wb -> wb.getDomain());
+            ownerWbKey.addLineValueProducer(wb -> wb.getOwner());
+            ownerWbKey.writeTo(openFile(fileUtils, files, ScenarioFile.WORKBASKET_BY_KEY));
+            workbasketExporters.add(ownerWbKey);
+
+            DataExporter<WorkbasketWrapper> ownerWbId = new DataExporter<>();
+            ownerWbId.addPredicate(wb -> wb.getDomain().equals("C"));
+            ownerWbId.addLineValueProducer(wb -> wb.getId());
+            ownerWbId.addLineValueProducer(wb -> wb.getOwner());
+            ownerWbId.writeTo(openFile(fileUtils, files, ScenarioFile.WORKBASKET_BY_ID));
+            workbasketExporters.add(ownerWbId);
+
+            DataExporter<TaskWrapper> typeCategoryCustomDomain = new DataExporter<>();
+            typeCategoryCustomDomain.sampleWith(sampling.newSampler(MAX_TASK_LINES, TASK_STRATUM, samplingRandom));
+            typeCategoryCustomDomain.addPredicate(t -> t.getDomain().equals("C"));
+            typeCategoryCustomDomain.addLineValueProducer(t -> t.getClassificationSummary().getType());
+            typeCategoryCustomDomain.addLineValueProducer(t -> t.getClassificationCategory());
+            typeCategoryCustomDomain.addLineValueProducer(t -> {
+                String[] values = t.getClassification().getCustom1().split(",");
+                return values[rnd.nextInt(values.length-1)];
+            });
+            typeCategoryCustomDomain.addLineValueProducer(t -> t.getDomain());
+            typeCategoryCustomDomain.addConstantLineValue(data.workbaskets.iterator().next().getOwner());
+            typeCategoryCustomDomain.writeTo(openFile(fileUtils, files, ScenarioFile.CLASSIFICATION_QUERY));
+            taskExporters.add(typeCategoryCustomDomain);
+
+            DataExporter<TaskWrapper> classificationId = new DataExporter<>();
+            classificationId.sampleWith(sampling.newSampler(MAX_TASK_LINES, TASK_STRATUM, samplingRandom));
+            classificationId.addPredicate(t -> t.getDomain().equals("C"));
+            classificationId.addLineValueProducer(t -> t.getClassificationSummary().getId());
+            classificationId.addConstantLineValue(data.workbaskets.iterator().next().getOwner());
+            classificationId.writeTo(openFile(fileUtils, files, ScenarioFile.CLASSIFICATION_BY_ID));
+            taskExporters.add(classificationId);
+
+            DataExporter<TaskWrapper> keyDomain = new DataExporter<>();
+            keyDomain.addPredicate(t -> t.getDomain().equals("C"));
+            keyDomain.addLineValueProducer(t -> t.getClassificationKey());
+            keyDomain.addLineValueProducer(t -> t.getDomain());
+            keyDomain.addConstantLineValue(data.workbaskets.iterator().next().getOwner());
+            keyDomain.writeTo(openFile(fileUtils, files, ScenarioFile.CLASSIFICATION_BY_KEY));
+            taskExporters.add(keyDomain);
+
+            DataExporter<WorkbasketWrapper> createUpdateTransferCompleteTask = new DataExporter<>();
+            createUpdateTransferCompleteTask.addPredicate(wb -> !wb.getDirectChildren().isEmpty());
+            createUpdateTransferCompleteTask.addPredicate(wb -> wb.getDomain().equals("C"));
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getKey());
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getId());
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getDomain());
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> {
+                ClassificationWrapper rndClassification = data.classifications.get(rnd.nextInt(data.classifications.size()-1));
+                return rndClassification.getKey() + "," + rndClassification.getCategory();
+            });
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getDirectChildren().iterator().next().getKey());
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getDirectChildren().iterator().next().getId());
+            createUpdateTransferCompleteTask.addLineValueProducer(wb -> wb.getOwner());
+            createUpdateTransferCompleteTask.writeTo(openFile(fileUtils, files, ScenarioFile.TASK_LIFECYCLE));
+            workbasketExporters.add(createUpdateTransferCompleteTask);
+
+            DataExporter<WorkbasketWrapper> ownerKeyForPermission = new DataExporter<>();
+            ownerKeyForPermission.addPredicate(wb -> wb.getNumberOfDirectOrIndirectChildren() < 25);
+            ownerKeyForPermission.addPredicate(wb -> wb.getDomain().equals("C"));
+            ownerKeyForPermission.addLineValueProducer(wb -> wb.getOwner());
+            ownerKeyForPermission.writeTo(
+                    openFile(fileUtils, files, ScenarioFile.WORKBASKETS_WITH_OPEN_PERMISSION));
+            ownerKeyForPermission.writeTo(
+                    openFile(fileUtils, files, ScenarioFile.WORKBASKETS_WITH_APPEND_PERMISSION));
+            workbasketExporters.add(ownerKeyForPermission);
+
+            // the tasks are exported first, so the random values are drawn in the same order as before
+            exportAll(tasks, taskExporters);
+            exportAll(data.workbaskets, workbasketExporters);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot export scenario files to " + fileUtils.getOutputDir(), e);
+        } finally {
+            closeAll(files);
+        }
+    }
+
+    private static <T> void exportAll(Iterable<T> objects, List<DataExporter<T>> exporters) throws IOException {
+        for (T object : objects) {
+            for (DataExporter<T> exporter : exporters) {
+                exporter.export(object);
+            }
+        }
+        for (DataExporter<T> exporter : exporters) {
+            exporter.finish();
+        }
+    }
+
+    private static CsvWriter openFile(FileUtils fileUtils, List<CsvWriter> files, ScenarioFile scenarioFile)
+            throws IOException {
+        CsvWriter file = fileUtils.openFile(scenarioFile.getFileName());
+        files.add(file);
+        return file;
+    }
+
+    private static void closeAll(List<CsvWriter> files) {
+        RuntimeException failure = null;
+        for (CsvWriter file : files) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = new RuntimeException("Cannot close scenario file", e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
 }
@@ -0,0 +1,56 @@
+package pro.taskana.export;
+
+/**
+ * Enum contains the exported scenario files. The identifier is the number at the beginning of the file name and is
+ * used to select scenarios on the command line.
+ */
+public enum ScenarioFile {
+    TASK_OF_WORKBASKET("00", "00_auslesen_einer_aufgabe_aus_einem_postkorb"),
+    TASK_BY_ID("01", "01_auslesen_einer_aufgabe_per_id"),
+    TASKS_BY_OBJECT_REFERENCE("02", "02_suchen_von_aufgaben_mit_ordnungsbegriff"),
+    WORKBASKET_BY_KEY("03_00", "03_00_lesen_der_daten_eines_postkorbs"),
+    WORKBASKET_BY_ID("03_01", "03_01_lesen_der_daten_eines_postkorbs_per_id"),
+    CLASSIFICATION_QUERY("04_00", "04_00_suchen_einer_klassifikation"),
+    CLASSIFICATION_BY_ID("04_01", "04_01_suchen_einer_klassifikation_per_id"),
+    CLASSIFICATION_BY_KEY("05", "05_lesen_einer_klassifikation"),
+    TASK_LIFECYCLE("06", "06_aufgabe_erstellen_claimen_aktualisieren_abschliessen_weiterleiten"),
+    WORKBASKETS_WITH_OPEN_PERMISSION("07", "07_postkoerbe_suchen_auf_die_der_aufrufer_das_recht_open_hat"),
+    WORKBASKETS_WITH_APPEND_PERMISSION("08", "08_postkoerbe_suchen_auf_die_der_aufrufer_das_recht_append_hat");
+
+    private final String identifier;
+    private final String fileName;
+
+    private ScenarioFile(String identifier, String fileName) {
+        this.identifier = identifier;
+        this.fileName = fileName;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Returns the name of the file without extension and chunk number.
+     *
+     * @return file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the scenario file for the given command line identifier.
+     *
+     * @param identifier
+     *            identifier of the scenario file, e.g. 03_01
+     * @return matching {@link ScenarioFile}
+     */
+    public static ScenarioFile fromIdentifier(String identifier) {
+        for (ScenarioFile file : values()) {
+            if (file.identifier.equals(identifier)) {
+                return file;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + identifier);
+    }
+}
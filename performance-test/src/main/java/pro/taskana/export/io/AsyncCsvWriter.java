@@ -0,0 +1,116 @@
+package pro.taskana.export.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands the lines in batches to a worker thread which owns the delegate. The
+ * caller still builds every line and only converts it to a String, the worker
+ * does the buffering, compression and I/O of the delegate. The number of
+ * pending batches is limited, so a slow disk throttles the caller instead of
+ * filling the heap.
+ */
+class AsyncCsvWriter extends CsvWriter {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int MAX_PENDING_BATCHES = 16;
+
+    private final CsvWriter delegate;
+    private final ExecutorService worker;
+    private final Semaphore pendingBatches;
+    private final AtomicReference<Exception> failure;
+
+    private List<String> batch;
+    private long numberOfLines;
+
+    AsyncCsvWriter(CsvWriter delegate, String threadName) {
+        this.delegate = delegate;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        this.pendingBatches = new Semaphore(MAX_PENDING_BATCHES);
+        this.failure = new AtomicReference<>();
+        this.batch = new ArrayList<>(BATCH_SIZE);
+    }
+
+    @Override
+    public void writeLine(CharSequence line) throws IOException {
+        checkFailure();
+        batch.add(line.toString());
+        numberOfLines++;
+        if (batch.size() >= BATCH_SIZE) {
+            submitBatch();
+        }
+    }
+
+    @Override
+    public long getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    /**
+     * Writes the remaining lines, closes the delegate and waits for the worker.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!batch.isEmpty()) {
+                submitBatch();
+            }
+        } finally {
+            worker.execute(() -> {
+                try {
+                    delegate.close();
+                } catch (IOException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            worker.shutdown();
+            try {
+                worker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the export worker");
+            }
+        }
+        checkFailure();
+    }
+
+    private void submitBatch() throws IOException {
+        List<String> lines = batch;
+        batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            pendingBatches.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the export worker");
+        }
+        worker.execute(() -> {
+            try {
+                if (failure.get() == null) {
+                    for (String line : lines) {
+                        delegate.writeLine(line);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                pendingBatches.release();
+            }
+        });
+    }
+
+    private void checkFailure() throws IOException {
+        Exception exception = failure.get();
+        if (exception instanceof IOException) {
+            throw (IOException) exception;
+        } else if (exception != null) {
+            throw new IOException(exception);
+        }
+    }
+}
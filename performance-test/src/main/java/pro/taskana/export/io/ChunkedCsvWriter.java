@@ -0,0 +1,74 @@
+package pro.taskana.export.io;
+
+import java.io.IOException;
+
+/**
+ * Splits the lines into several numbered files with a maximum number of lines
+ * each. The first file is opened immediately without a number, so there is
+ * always at least one file. Only when a second chunk is needed, the first file
+ * is closed and renamed to chunk 1, so a file which fits into a single chunk
+ * keeps its plain name.
+ */
+class ChunkedCsvWriter extends CsvWriter {
+
+    private final ChunkOpener chunkOpener;
+    private final ChunkNumbering chunkNumbering;
+    private final long maxLinesPerChunk;
+
+    private CsvWriter currentChunk;
+    private int numberOfChunks;
+    private long numberOfLines;
+
+    ChunkedCsvWriter(ChunkOpener chunkOpener, ChunkNumbering chunkNumbering, long maxLinesPerChunk)
+            throws IOException {
+        if (maxLinesPerChunk < 1) {
+            throw new IllegalArgumentException("Chunks need at least one line but got " + maxLinesPerChunk);
+        }
+        this.chunkOpener = chunkOpener;
+        this.chunkNumbering = chunkNumbering;
+        this.maxLinesPerChunk = maxLinesPerChunk;
+        this.currentChunk = chunkOpener.open(0);
+        this.numberOfChunks = 1;
+    }
+
+    @Override
+    public void writeLine(CharSequence line) throws IOException {
+        if (currentChunk.getNumberOfLines() >= maxLinesPerChunk) {
+            currentChunk.close();
+            if (numberOfChunks == 1) {
+                chunkNumbering.numberFirstChunk();
+            }
+            currentChunk = chunkOpener.open(++numberOfChunks);
+        }
+        currentChunk.writeLine(line);
+        numberOfLines++;
+    }
+
+    @Override
+    public long getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        currentChunk.close();
+    }
+
+    /**
+     * Opens the file of a chunk, chunk number 0 is the file without number.
+     */
+    @FunctionalInterface
+    interface ChunkOpener {
+
+        CsvWriter open(int chunkNumber) throws IOException;
+    }
+
+    /**
+     * Renames the closed file without number to chunk 1.
+     */
+    @FunctionalInterface
+    interface ChunkNumbering {
+
+        void numberFirstChunk() throws IOException;
+    }
+}
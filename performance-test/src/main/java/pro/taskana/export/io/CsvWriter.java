@@ -0,0 +1,90 @@
+package pro.taskana.export.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes lines of comma separated values. Lines are separated by a line feed,
+ * the last line of a file is not terminated. Instances are created by
+ * {@link FileUtils#openFile(String)}.
+ */
+public abstract class CsvWriter implements Closeable {
+
+    public static final String SEPARATOR = ",";
+
+    /**
+     * Creates a writer which writes all lines to the given {@link Writer}.
+     * 
+     * @param writer
+     *            target of the lines
+     * @return new {@link CsvWriter}
+     */
+    public static CsvWriter of(Writer writer) {
+        return new SingleFileCsvWriter(writer);
+    }
+
+    /**
+     * Writes a line of already separated values.
+     * 
+     * @param line
+     *            content of the line
+     * @throws IOException
+     *             if the line cannot be written
+     */
+    public abstract void writeLine(CharSequence line) throws IOException;
+
+    /**
+     * Writes a line with the given values.
+     * 
+     * @param values
+     *            values of the line
+     * @throws IOException
+     *             if the line cannot be written
+     */
+    public void writeLine(List<String> values) throws IOException {
+        writeLine(String.join(SEPARATOR, values));
+    }
+
+    /**
+     * Supplies the number of written lines.
+     * 
+     * @return number of lines
+     */
+    public abstract long getNumberOfLines();
+
+    /**
+     * {@link CsvWriter} for exactly one file.
+     */
+    private static class SingleFileCsvWriter extends CsvWriter {
+
+        private static final char LINE_SEPARATOR = '\n';
+
+        private final Writer writer;
+        private long numberOfLines;
+
+        SingleFileCsvWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeLine(CharSequence line) throws IOException {
+            if (numberOfLines > 0) {
+                writer.write(LINE_SEPARATOR);
+            }
+            writer.append(line);
+            numberOfLines++;
+        }
+
+        @Override
+        public long getNumberOfLines() {
+            return numberOfLines;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
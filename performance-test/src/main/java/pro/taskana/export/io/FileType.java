@@ -1,15 +1,61 @@
 package pro.taskana.export.io;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
 public enum FileType {
-    CSV("csv");
+    CSV("csv", "csv", false),
+    CSV_GZIP("gzip", "csv.gz", true);
+    
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
     
+    private String identifier;
     private String extension;
+    private boolean compressed;
     
-    private FileType(String extension) {
+    private FileType(String identifier, String extension, boolean compressed) {
+        this.identifier = identifier;
         this.extension = extension;
+        this.compressed = compressed;
+    }
+    
+    public String getIdentifier() {
+        return identifier;
     }
     
     public String getExtension() {
         return extension;
     }
+    
+    /**
+     * Wraps the stream of a new file, e.g. to compress the content.
+     * 
+     * @param out
+     *            stream of the file
+     * @return stream which receives the content of the file
+     * @throws IOException
+     *             if the stream cannot be wrapped
+     */
+    public OutputStream wrap(OutputStream out) throws IOException {
+        return compressed ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+    }
+    
+    /**
+     * Returns the file type with the given identifier.
+     * 
+     * @param identifier
+     *            identifier of the file type, e.g. "gzip"
+     * @return file type
+     * @throws IllegalArgumentException
+     *             if there is no file type with this identifier
+     */
+    public static FileType fromIdentifier(String identifier) {
+        for (FileType fileType : values()) {
+            if (fileType.identifier.equalsIgnoreCase(identifier)) {
+                return fileType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown file type " + identifier);
+    }
 }
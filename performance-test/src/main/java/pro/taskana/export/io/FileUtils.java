@@ -1,11 +1,14 @@
 package pro.taskana.export.io;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for creating new files.
@@ -15,41 +18,104 @@ import java.util.stream.Collectors;
  */
 public class FileUtils {
 
-    private static final String DEFAULT_SEPARATOR = ",";
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
 
     private final Path outputDir;
     private final FileType fileType;
+    private final int bufferSize;
+    private long maxLinesPerFile;
+    private boolean parallel;
 
     public FileUtils(Path outputDir, FileType fileType) {
-        super();
+        this(outputDir, fileType, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates the utility for the given directory.
+     * 
+     * @param outputDir
+     *            directory of the new files.
+     * @param fileType
+     *            type of the new files.
+     * @param bufferSize
+     *            size of the write buffer of each file in characters.
+     */
+    public FileUtils(Path outputDir, FileType fileType, int bufferSize) {
         this.outputDir = outputDir;
         this.fileType = fileType;
+        this.bufferSize = bufferSize;
+        this.maxLinesPerFile = 0;
+        this.parallel = false;
     }
 
     /**
-     * Create a file with the given name and content.
+     * Splits files with more lines into numbered chunks, e.g. name_001.csv,
+     * name_002.csv and so on. A file with at most this number of lines keeps
+     * its plain name.
      * 
-     * @param name
-     *            of the new file.
-     * @param lines
-     *            content of the file.
+     * @param maxLinesPerFile
+     *            maximum number of lines per file, 0 to never split files.
+     * @return this instance
      */
-    public void createFile(String fileName, List<List<String>> lines) {
-        try {
-            File file = new File(outputDir.toString(), fileName + "." + fileType.getExtension());
-            file.createNewFile();
+    public FileUtils withMaxLinesPerFile(long maxLinesPerFile) {
+        this.maxLinesPerFile = maxLinesPerFile;
+        return this;
+    }
+
+    /**
+     * Writes every opened file on its own worker thread.
+     * 
+     * @param parallel
+     *            <code>true</code> to use a worker thread per file.
+     * @return this instance
+     */
+    public FileUtils withParallelWriters(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
 
-            FileWriter writer = new FileWriter(file);
-            String content = lines.stream().map(line -> line.stream().collect(Collectors.joining(DEFAULT_SEPARATOR)))
-                    .collect(Collectors.joining("\n"));
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    /**
+     * Opens a new file with the given name. The lines are written through a
+     * buffer, the caller has to close the returned writer.
+     * 
+     * @param fileName
+     *            name of the new file without extension.
+     * @return writer for the lines of the file
+     * @throws IOException
+     *             if the file cannot be created
+     */
+    public CsvWriter openFile(String fileName) throws IOException {
+        CsvWriter writer;
+        if (maxLinesPerFile > 0) {
+            writer = new ChunkedCsvWriter(chunkNumber -> CsvWriter.of(openWriter(chunkName(fileName, chunkNumber))),
+                    () -> Files.move(file(fileName).toPath(), file(chunkName(fileName, 1)).toPath()),
+                    maxLinesPerFile);
+        } else {
+            writer = CsvWriter.of(openWriter(fileName));
+        }
+        return parallel ? new AsyncCsvWriter(writer, "export-" + fileName) : writer;
+    }
 
-            content.replaceAll(" ", "");
-            writer.write(content);
-            writer.flush();
-            writer.close();
+    private Writer openWriter(String fileName) throws IOException {
+        OutputStream out = new FileOutputStream(file(fileName));
+        try {
+            return new BufferedWriter(new OutputStreamWriter(fileType.wrap(out)), bufferSize);
         } catch (IOException e) {
-            e.printStackTrace();
+            out.close();
+            throw e;
         }
     }
 
+    private File file(String fileName) {
+        return new File(outputDir.toString(), fileName + "." + fileType.getExtension());
+    }
+
+    private static String chunkName(String fileName, int chunkNumber) {
+        return chunkNumber == 0 ? fileName : String.format("%s_%03d", fileName, chunkNumber);
+    }
+
 }
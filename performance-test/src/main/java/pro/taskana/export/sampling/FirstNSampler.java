@@ -0,0 +1,28 @@
+package pro.taskana.export.sampling;
+
+/**
+ * Accepts the first candidates until the sample is full.
+ */
+class FirstNSampler<T> extends Sampler<T> {
+
+    private final int size;
+    private int selected;
+
+    FirstNSampler(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public boolean offer(T candidate) {
+        if (isComplete()) {
+            return false;
+        }
+        selected++;
+        return true;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return selected >= size;
+    }
+}
@@ -0,0 +1,58 @@
+package pro.taskana.export.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selects a random sample of distinct candidates and turns it into a skewed
+ * access pattern: a small hot set is selected repeatedly, the remaining cold
+ * candidates at most once.
+ */
+class HotColdSampler<T> extends Sampler<T> {
+
+    private final int size;
+    private final double hotSetFraction;
+    private final double hotAccessShare;
+    private final Random random;
+    private final ReservoirSampler<T> distinctCandidates;
+
+    HotColdSampler(int size, double hotSetFraction, double hotAccessShare, Random random) {
+        if (hotSetFraction <= 0 || hotSetFraction > 1 || hotAccessShare < 0 || hotAccessShare > 1) {
+            throw new IllegalArgumentException(
+                    "Invalid hot set fraction " + hotSetFraction + " or hot access share " + hotAccessShare);
+        }
+        this.size = size;
+        this.hotSetFraction = hotSetFraction;
+        this.hotAccessShare = hotAccessShare;
+        this.random = random;
+        this.distinctCandidates = new ReservoirSampler<>(size, random);
+    }
+
+    @Override
+    public boolean offer(T candidate) {
+        return distinctCandidates.offer(candidate);
+    }
+
+    @Override
+    public List<T> drain() {
+        List<T> distinct = distinctCandidates.drain();
+        if (distinct.isEmpty()) {
+            return distinct;
+        }
+        int hotSetSize = Math.max(1, (int) Math.round(distinct.size() * hotSetFraction));
+        List<T> hotSet = distinct.subList(0, hotSetSize);
+        List<T> coldSet = distinct.subList(hotSetSize, distinct.size());
+
+        List<T> sample = new ArrayList<>(distinct.size());
+        int nextCold = 0;
+        while (sample.size() < Math.min(size, distinct.size())) {
+            if (nextCold < coldSet.size() && random.nextDouble() >= hotAccessShare) {
+                sample.add(coldSet.get(nextCold++));
+            } else {
+                sample.add(hotSet.get(random.nextInt(hotSet.size())));
+            }
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,68 @@
+package pro.taskana.export.sampling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reservoir sampling with geometric skips (Li's algorithm L). After the
+ * reservoir is filled only the candidates which replace an element need random
+ * numbers, so the costs per skipped candidate are a single comparison.
+ */
+class ReservoirSampler<T> extends Sampler<T> {
+
+    private final int size;
+    private final Random random;
+    private final List<T> reservoir;
+
+    private long offered;
+    private long nextReplacement;
+    private double weight;
+
+    ReservoirSampler(int size, Random random) {
+        this.size = size;
+        this.random = random;
+        this.reservoir = new ArrayList<>();
+    }
+
+    @Override
+    public boolean offer(T candidate) {
+        if (size <= 0) {
+            return false;
+        }
+        long position = offered++;
+        if (position < size) {
+            reservoir.add(candidate);
+            if (position == size - 1) {
+                weight = Math.exp(Math.log(nextUniform()) / size);
+                skip(position);
+            }
+        } else if (position == nextReplacement) {
+            reservoir.set(random.nextInt(size), candidate);
+            weight *= Math.exp(Math.log(nextUniform()) / size);
+            skip(position);
+        }
+        return false;
+    }
+
+    @Override
+    public List<T> drain() {
+        List<T> sample = new ArrayList<>(reservoir);
+        reservoir.clear();
+        Collections.shuffle(sample, random);
+        return sample;
+    }
+
+    private void skip(long position) {
+        nextReplacement = position + (long) Math.floor(Math.log(nextUniform()) / Math.log(1 - weight)) + 1;
+    }
+
+    private double nextUniform() {
+        double value;
+        do {
+            value = random.nextDouble();
+        } while (value == 0);
+        return value;
+    }
+}
@@ -0,0 +1,104 @@
+package pro.taskana.export.sampling;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Selects a limited number of objects out of a stream of candidates in a
+ * single pass. Candidates which are definitely part of the sample are accepted
+ * immediately by {@link #offer(Object)}, all other selected candidates are
+ * returned by {@link #drain()} after the last candidate.
+ */
+public abstract class Sampler<T> {
+
+    /**
+     * Accepts the first candidates, like a simple truncation of the data.
+     * 
+     * @param size
+     *            maximum number of selected objects
+     * @return new sampler
+     */
+    public static <T> Sampler<T> firstN(int size) {
+        return new FirstNSampler<>(size);
+    }
+
+    /**
+     * Selects a uniformly distributed random sample of the candidates.
+     * 
+     * @param size
+     *            maximum number of selected objects
+     * @param random
+     *            source of the selection
+     * @return new sampler
+     */
+    public static <T> Sampler<T> reservoir(int size, Random random) {
+        return new ReservoirSampler<>(size, random);
+    }
+
+    /**
+     * Distributes the sample evenly over the strata of the candidates, so small
+     * strata are represented as well as large ones.
+     * 
+     * @param size
+     *            maximum number of selected objects
+     * @param stratum
+     *            supplies the stratum of a candidate
+     * @param random
+     *            source of the selection
+     * @return new sampler
+     */
+    public static <T> Sampler<T> stratified(int size, Function<T, ?> stratum, Random random) {
+        return new StratifiedSampler<>(size, stratum, random);
+    }
+
+    /**
+     * Selects a random sample and repeats a small hot set of it. A share of
+     * hotAccessShare of the selected objects is drawn from the hot set, which
+     * contains hotSetFraction of the distinct objects.
+     * 
+     * @param size
+     *            maximum number of selected objects
+     * @param hotSetFraction
+     *            size of the hot set relative to the distinct objects
+     * @param hotAccessShare
+     *            share of the selected objects drawn from the hot set
+     * @param random
+     *            source of the selection
+     * @return new sampler
+     */
+    public static <T> Sampler<T> hotCold(int size, double hotSetFraction, double hotAccessShare, Random random) {
+        return new HotColdSampler<>(size, hotSetFraction, hotAccessShare, random);
+    }
+
+    /**
+     * Offers the next candidate.
+     * 
+     * @param candidate
+     *            the next candidate
+     * @return <code>true</code> if the candidate is selected and can be used
+     *         immediately, <code>false</code> if it is not selected or will be
+     *         returned by {@link #drain()}
+     */
+    public abstract boolean offer(T candidate);
+
+    /**
+     * Returns the selected candidates which were not accepted immediately. Must
+     * be called once after the last candidate.
+     * 
+     * @return remaining selected candidates
+     */
+    public List<T> drain() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Checks whether further candidates are ignored.
+     * 
+     * @return <code>true</code> if no further candidate can be selected
+     */
+    public boolean isComplete() {
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+package pro.taskana.export.sampling;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Enum contains the supported ways to limit the number of exported lines. The
+ * identifier is used to select the strategy on the command line.
+ */
+public enum SamplingStrategy {
+    FIRST("first"), RESERVOIR("reservoir"), STRATIFIED("stratified"), HOT_COLD("hotcold");
+
+    /**
+     * Share of the distinct objects which are selected repeatedly by
+     * {@link #HOT_COLD}.
+     */
+    public static final double HOT_SET_FRACTION = 0.2;
+
+    /**
+     * Share of the selected objects which are drawn from the hot set by
+     * {@link #HOT_COLD}.
+     */
+    public static final double HOT_ACCESS_SHARE = 0.8;
+
+    private final String identifier;
+
+    private SamplingStrategy(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Creates a new sampler of this strategy.
+     * 
+     * @param size
+     *            maximum number of selected objects
+     * @param stratum
+     *            supplies the stratum of an object, only used by
+     *            {@link #STRATIFIED}
+     * @param random
+     *            source of the selection
+     * @return new sampler
+     */
+    public <T> Sampler<T> newSampler(int size, Function<T, ?> stratum, Random random) {
+        switch (this) {
+            case RESERVOIR:
+                return Sampler.reservoir(size, random);
+            case STRATIFIED:
+                return Sampler.stratified(size, stratum, random);
+            case HOT_COLD:
+                return Sampler.hotCold(size, HOT_SET_FRACTION, HOT_ACCESS_SHARE, random);
+            default:
+                return Sampler.firstN(size);
+        }
+    }
+
+    /**
+     * Returns the strategy for the given command line identifier.
+     * 
+     * @param identifier
+     *            identifier of the strategy
+     * @return matching {@link SamplingStrategy}
+     */
+    public static SamplingStrategy fromIdentifier(String identifier) {
+        for (SamplingStrategy strategy : values()) {
+            if (strategy.identifier.equalsIgnoreCase(identifier)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sampling strategy " + identifier);
+    }
+}
@@ -0,0 +1,120 @@
+package pro.taskana.export.sampling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Groups the candidates by their stratum and takes one random candidate of
+ * every stratum in turn until the sample is full. Strata with less candidates
+ * than their share leave the remaining places to the larger strata. Every
+ * stratum keeps a uniform random reservoir of at most <code>cap</code>
+ * candidates. The cap starts at <code>size</code> and is halved whenever the
+ * reservoirs together hold more than twice the sample size, so at most about
+ * <code>2 * size</code> candidates are retained. Only if there are more strata
+ * than that, one candidate per stratum is retained, so the key of the strata
+ * should be coarse.
+ */
+class StratifiedSampler<T> extends Sampler<T> {
+
+    private final int size;
+    private final Function<T, ?> stratum;
+    private final Random random;
+    private final Map<Object, Stratum<T>> strata;
+
+    private int cap;
+    private long retained;
+
+    StratifiedSampler(int size, Function<T, ?> stratum, Random random) {
+        this.size = size;
+        this.stratum = stratum;
+        this.random = random;
+        this.strata = new LinkedHashMap<>();
+        this.cap = size;
+    }
+
+    @Override
+    public boolean offer(T candidate) {
+        if (size <= 0) {
+            return false;
+        }
+        Stratum<T> reservoir = strata.computeIfAbsent(stratum.apply(candidate), key -> new Stratum<>());
+        long position = reservoir.offered++;
+        if (reservoir.candidates.size() < cap) {
+            reservoir.candidates.add(candidate);
+            retained++;
+            while (retained > 2L * size && cap > 1) {
+                shrink(cap / 2);
+            }
+        } else {
+            // algorithm R, still uniform after the reservoir was shrunk to a random subset
+            long replaced = (long) (random.nextDouble() * (position + 1));
+            if (replaced < cap) {
+                reservoir.candidates.set((int) replaced, candidate);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<T> drain() {
+        // every reservoir is drained in random order, so its first elements are a random selection
+        List<List<T>> remaining = new ArrayList<>();
+        for (Stratum<T> reservoir : strata.values()) {
+            Collections.shuffle(reservoir.candidates, random);
+            remaining.add(reservoir.candidates);
+        }
+        strata.clear();
+        retained = 0;
+        Collections.shuffle(remaining, random);
+        List<T> sample = new ArrayList<>();
+        for (int taken = 0; sample.size() < size; taken++) {
+            boolean progress = false;
+            for (int i = 0; i < remaining.size() && sample.size() < size; i++) {
+                List<T> candidates = remaining.get(i);
+                if (taken < candidates.size()) {
+                    sample.add(candidates.get(taken));
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                break;
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * Returns the number of candidates currently kept in the reservoirs.
+     */
+    long getRetained() {
+        return retained;
+    }
+
+    private void shrink(int newCap) {
+        cap = newCap;
+        retained = 0;
+        for (Stratum<T> reservoir : strata.values()) {
+            List<T> candidates = reservoir.candidates;
+            if (candidates.size() > cap) {
+                // a random subset of a uniform reservoir is a uniform reservoir of the smaller size
+                Collections.shuffle(candidates, random);
+                candidates.subList(cap, candidates.size()).clear();
+            }
+            retained += candidates.size();
+        }
+    }
+
+    /**
+     * Reservoir of a single stratum.
+     */
+    private static class Stratum<T> {
+
+        private final List<T> candidates = new ArrayList<>();
+        private long offered;
+    }
+}
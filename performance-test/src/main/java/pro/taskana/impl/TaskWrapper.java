@@ -10,7 +10,7 @@ public class TaskWrapper extends TaskImpl{
     
     public TaskWrapper(WorkbasketWrapper workbasket, TaskState state) {
         setState(state);
-        workbasket.addTask(this);
+        workbasket.addTask();
     }
     
     public void setClassification(Classification classification) {
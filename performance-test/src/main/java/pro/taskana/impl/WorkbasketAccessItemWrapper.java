@@ -12,15 +12,18 @@ import pro.taskana.impl.WorkbasketAccessItemImpl;
  */
 public class WorkbasketAccessItemWrapper extends WorkbasketAccessItemImpl {
 
-    private static int ACCESS_ITEM_ID = 0;
-
     private final int uniqueNumber;
     private UserWrapper proficientUser;
     private WorkbasketWrapper wbWrapper;
 
-    public WorkbasketAccessItemWrapper() {
-        this.uniqueNumber = ACCESS_ITEM_ID;
-        ACCESS_ITEM_ID++;
+    /**
+     * Creates a new access item.
+     * 
+     * @param uniqueNumber
+     *            number used as id, unique within the generation run
+     */
+    public WorkbasketAccessItemWrapper(int uniqueNumber) {
+        this.uniqueNumber = uniqueNumber;
     }
 
     /**
@@ -3,10 +3,9 @@ package pro.taskana.impl;
 import java.util.ArrayList;
 import java.util.List;
 
-import pro.taskana.Task;
 import pro.taskana.Workbasket;
 import pro.taskana.WorkbasketType;
-import pro.taskana.data.generation.builder.WorkbasketBuilder;
+import pro.taskana.data.generation.DomainContext;
 import pro.taskana.data.generation.util.Formatter;
 import pro.taskana.impl.WorkbasketImpl;
 
@@ -35,17 +34,17 @@ public class WorkbasketWrapper extends WorkbasketImpl {
     private String formattedOrgLevel;
 
     private WorkbasketWrapper parent;
-    private List<WorkbasketWrapper> directOrIndirectChildren;
     private List<WorkbasketWrapper> directChildren;
     private UserWrapper userWrapper;
-    private List<Task> tasks;
+    private int numberOfTasks;
+    private final DomainContext domainContext;
 
-    public WorkbasketWrapper(WorkbasketType type, String domain) {
-        this.tasks = new ArrayList<>();
+    public WorkbasketWrapper(WorkbasketType type, DomainContext domainContext) {
+        this.domainContext = domainContext;
+        this.numberOfTasks = 0;
         this.setType(type);
-        this.setDomain(domain);
+        this.setDomain(domainContext.getDomainName());
         this.layer = 0;
-        directOrIndirectChildren = new ArrayList<>();
         directChildren = new ArrayList<>();
         parent = null;
         formattedOrgLevel = null;
@@ -62,12 +61,21 @@ public class WorkbasketWrapper extends WorkbasketImpl {
         this.layer = layer;
     }
 
-    public void addTask(Task task) {
-        this.tasks.add(task);
+    /**
+     * Counts a new task in this {@link Workbasket}. The task itself is not
+     * referenced, so it can be garbage collected once it is persisted.
+     */
+    public void addTask() {
+        this.numberOfTasks++;
     }
 
-    public List<Task> getTasks() {
-        return tasks;
+    /**
+     * Returns the number of generated tasks in this {@link Workbasket}.
+     *
+     * @return number of tasks
+     */
+    public int getNumberOfTasks() {
+        return numberOfTasks;
     }
 
     /**
@@ -111,12 +119,31 @@ public class WorkbasketWrapper extends WorkbasketImpl {
     /**
      * Provides all direct or indirect children. Direct children are the
      * distribution targets. Indirect children are the direct children of the
-     * distribution targets.
+     * distribution targets. The list is computed from the tree on every call,
+     * it starts with the direct children, followed by the direct or indirect
+     * children of each direct child.
      *
-     * @return direct or indirect connected {@link Workbasket} of a lower level
+     * @return new list of the direct or indirect connected {@link Workbasket} of
+     *         a lower level
      */
     public List<WorkbasketWrapper> getDirectOrIndirectChildren() {
-        return directOrIndirectChildren;
+        List<WorkbasketWrapper> descendants = new ArrayList<>(getNumberOfDirectOrIndirectChildren());
+        collectDirectOrIndirectChildren(descendants);
+        return descendants;
+    }
+
+    /**
+     * Counts all direct or indirect children without collecting them.
+     *
+     * @return number of direct or indirect connected {@link Workbasket} of a
+     *         lower level
+     */
+    public int getNumberOfDirectOrIndirectChildren() {
+        int count = directChildren.size();
+        for (WorkbasketWrapper child : directChildren) {
+            count += child.getNumberOfDirectOrIndirectChildren();
+        }
+        return count;
     }
 
     /**
@@ -137,11 +164,11 @@ public class WorkbasketWrapper extends WorkbasketImpl {
      *            distribution targets
      */
     public void addDistributionTargets(List<WorkbasketWrapper> distributionTargets) {
-        this.directChildren.addAll(distributionTargets);
-        distributionTargets.forEach(dt -> dt.setParent(this));
-
-        this.directOrIndirectChildren.addAll(distributionTargets);
-        distributionTargets.forEach(child -> this.directOrIndirectChildren.addAll(child.getDirectOrIndirectChildren()));
+        for (WorkbasketWrapper distributionTarget : distributionTargets) {
+            distributionTarget.setParent(this);
+            distributionTarget.memberId = directChildren.size() + INITIAL_MEMBER_ID;
+            directChildren.add(distributionTarget);
+        }
     }
 
     /**
@@ -178,25 +205,27 @@ public class WorkbasketWrapper extends WorkbasketImpl {
 
     /**
      * Returns the member id of this {@link Workbasket}. Member id is the index of
-     * this {@link Workbasket} within the list of the parents direct children.
+     * this {@link Workbasket} within the list of the parents direct children. It
+     * is stored when the {@link Workbasket} is added as distribution target.
      * 
      * @return id
      */
     public int getMemberId() {
-        if (parent == null) {
-            if (memberId == null) {
-                memberId = INITIAL_MEMBER_ID;
-            }
-        } else if (memberId == null) {
-            memberId = parent.getDirectChildren().indexOf(this) + INITIAL_MEMBER_ID;
+        if (memberId == null) {
+            memberId = INITIAL_MEMBER_ID;
         }
         return memberId;
     }
 
+    private void collectDirectOrIndirectChildren(List<WorkbasketWrapper> descendants) {
+        descendants.addAll(directChildren);
+        directChildren.forEach(child -> child.collectDirectOrIndirectChildren(descendants));
+    }
+
     private void calculateOrgLvl() {
         if (getOrgLevel1() == null || getOrgLevel1().isEmpty()) {
             if (parent == null) {
-                int orgLevelValue = WorkbasketBuilder.WORKBASKETS_IN_ORG_LVL_1++;
+                int orgLevelValue = domainContext.nextOrgLevel1();
                 formattedOrgLevel = Formatter.format(orgLevelValue, NUMBER_LENGTH_IN_ID);
                 setOrgLevel1(formattedOrgLevel);
             } else {
@@ -238,50 +267,19 @@ public class WorkbasketWrapper extends WorkbasketImpl {
         }
     }
 
+    /**
+     * Workbaskets are only equal to themselves. Comparing the tree would be
+     * expensive and the generator never creates two wrappers for the same
+     * {@link Workbasket}.
+     */
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = super.hashCode();
-        result = prime * result + ((directChildren == null) ? 0 : directChildren.hashCode());
-        result = prime * result + ((directOrIndirectChildren == null) ? 0 : directOrIndirectChildren.hashCode());
-        result = prime * result + ((formattedOrgLevel == null) ? 0 : formattedOrgLevel.hashCode());
-        result = prime * result + layer;
-        result = prime * result + ((memberId == null) ? 0 : memberId.hashCode());
-        result = prime * result + ((parent == null) ? 0 : parent.hashCode());
-        result = prime * result + ((userWrapper == null) ? 0 : userWrapper.hashCode());
-        return result;
+        return System.identityHashCode(this);
     }
 
     @Override
     public boolean equals(Object obj) {
-        if (this == obj)
-            return true;
-        if (getClass() != obj.getClass())
-            return false;
-        WorkbasketWrapper other = (WorkbasketWrapper) obj;
-        if (formattedOrgLevel == null) {
-            if (other.formattedOrgLevel != null)
-                return false;
-        } else if (!formattedOrgLevel.equals(other.formattedOrgLevel))
-            return false;
-        if (layer != other.layer)
-            return false;
-        if (memberId == null) {
-            if (other.memberId != null)
-                return false;
-        } else if (!memberId.equals(other.memberId))
-            return false;
-        if (parent == null) {
-            if (other.parent != null)
-                return false;
-        } else if (!parent.equals(other.parent))
-            return false;
-        if (userWrapper == null) {
-            if (other.userWrapper != null)
-                return false;
-        } else if (!userWrapper.equals(other.userWrapper))
-            return false;
-        return true;
+        return this == obj;
     }
 
     @Override
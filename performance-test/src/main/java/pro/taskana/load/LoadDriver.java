@@ -0,0 +1,298 @@
+package pro.taskana.load;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import javax.security.auth.Subject;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import pro.taskana.TaskanaEngine;
+import pro.taskana.adapter.TaskanaAPI;
+import pro.taskana.configuration.TaskanaEngineConfiguration;
+import pro.taskana.export.ScenarioFile;
+import pro.taskana.impl.TaskanaEngineImpl;
+import pro.taskana.metrics.LatencyHistogram;
+import pro.taskana.metrics.LatencyRecorder;
+import pro.taskana.persistence.DataSourceHandler;
+import pro.taskana.security.UserPrincipal;
+
+/**
+ * Replays the exported scenario files against the configured database, so the performance of the Taskana API can be
+ * measured without JMeter. Every thread has its own {@link TaskanaEngine} and makes the calls of the selected
+ * scenarios in turn, each as the user named in the line of the scenario file. With a target rate the calls are
+ * started at fixed intervals, otherwise every thread starts the next call as soon as the previous one has returned.
+ *
+ * Two latencies are recorded per scenario. The service time starts when the call is actually made. The response time
+ * starts at the time the call was scheduled for. If the database stalls, the calls which could not be started in
+ * time are still measured from their scheduled start, so the response times do not hide the stall (coordinated
+ * omission). Without a target rate both are the same. Run it with
+ * <code>java -cp performance-test-0.0.1-SNAPSHOT-jar-with-dependencies.jar pro.taskana.load.LoadDriver -i &lt;dir&gt;</code>.
+ */
+public class LoadDriver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final String SERVICE_TIMES_DIRECTORY = "service";
+
+    private final DataSource dataSource;
+    private final LoadOptions options;
+    private final Map<String, Subject> subjects = new ConcurrentHashMap<>();
+    private final LatencyRecorder responseTimes = new LatencyRecorder();
+    private final LatencyRecorder serviceTimes = new LatencyRecorder();
+
+    public LoadDriver(DataSource dataSource, LoadOptions options) {
+        this.dataSource = dataSource;
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        DataSourceHandler.ensureMaximumActiveConnections(options.getNumberOfThreads());
+        LoadDriver driver = new LoadDriver(DataSourceHandler.getDataSource(), options);
+        List<ScenarioRun> results = driver.run();
+        LOGGER.info(String.format("%-8s %9s %7s %9s", "scenario", "calls", "errors", "calls/s"));
+        for (ScenarioRun result : results) {
+            LOGGER.info(result.toString());
+        }
+        LOGGER.info("Response times, measured from the scheduled start of the calls:");
+        driver.getResponseTimes().logReport();
+        if (options.getRate() > 0) {
+            LOGGER.info("Service times, measured from the actual start of the calls:");
+            driver.getServiceTimes().logReport();
+        }
+        if (options.getReportFile() != null) {
+            writeReport(options.getReportFile(), results);
+        }
+        if (options.getHistogramDir() != null) {
+            driver.getResponseTimes().writeDistributions(options.getHistogramDir());
+            driver.getServiceTimes().writeDistributions(options.getHistogramDir().resolve(SERVICE_TIMES_DIRECTORY));
+        }
+    }
+
+    /**
+     * Returns the response times of the scenarios, measured from the scheduled start of every call.
+     *
+     * @return latencies by scenario identifier
+     */
+    public LatencyRecorder getResponseTimes() {
+        return responseTimes;
+    }
+
+    /**
+     * Returns the service times of the scenarios, measured from the actual start of every call.
+     *
+     * @return latencies by scenario identifier
+     */
+    public LatencyRecorder getServiceTimes() {
+        return serviceTimes;
+    }
+
+    /**
+     * Replays the selected scenarios for the configured duration.
+     *
+     * @return the results of the scenarios which have been replayed
+     * @throws Exception
+     *             if a scenario file cannot be read or no engine can be created
+     */
+    public List<ScenarioRun> run() throws Exception {
+        List<ScenarioRun> runs = new ArrayList<>();
+        for (ScenarioFile scenarioFile : options.getScenarios()) {
+            ScenarioInput input = new ScenarioInput(options.getInputDir(), scenarioFile);
+            if (input.isMissing()) {
+                LOGGER.warn("No file found for scenario {} in {}, skipping it", scenarioFile.getIdentifier(),
+                        options.getInputDir());
+            } else {
+                runs.add(new ScenarioRun(input, ScenarioCalls.of(scenarioFile)));
+            }
+        }
+        if (runs.isEmpty()) {
+            throw new IllegalArgumentException("No scenario file found in " + options.getInputDir());
+        }
+
+        long intervalNanos = options.getRate() > 0 ? Math.round(TimeUnit.SECONDS.toNanos(1) / options.getRate()) : 0;
+        LOGGER.info("Replaying scenarios {} with {} threads for {} s, {}",
+                runs.stream().map(run -> run.getScenarioFile().getIdentifier()).collect(Collectors.toList()),
+                options.getNumberOfThreads(), options.getDurationSeconds(),
+                intervalNanos > 0 ? "target rate " + options.getRate() + " calls/s" : "without target rate");
+        AtomicLong tickets = new AtomicLong();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(options.getNumberOfThreads(),
+                runnable -> new Thread(runnable, "load-driver-" + threadCounter.getAndIncrement()));
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < options.getNumberOfThreads(); i++) {
+                futures.add(workers.submit(() -> {
+                    drive(createTaskanaEngine(), runs, tickets, start, deadline, intervalNanos);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } finally {
+            workers.shutdownNow();
+            for (ScenarioRun run : runs) {
+                run.input.close();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        for (ScenarioRun run : runs) {
+            run.seconds = seconds;
+        }
+        return runs;
+    }
+
+    private void drive(TaskanaEngine taskanaEngine, List<ScenarioRun> runs, AtomicLong tickets, long start,
+            long deadline, long intervalNanos) throws IOException {
+        while (!Thread.currentThread().isInterrupted()) {
+            long ticket = tickets.getAndIncrement();
+            long scheduledStart;
+            if (intervalNanos > 0) {
+                scheduledStart = start + ticket * intervalNanos;
+                if (scheduledStart - deadline >= 0) {
+                    return;
+                }
+                sleepUntil(scheduledStart);
+            } else {
+                scheduledStart = System.nanoTime();
+                if (scheduledStart - deadline >= 0) {
+                    return;
+                }
+            }
+            runs.get((int) (ticket % runs.size())).execute(taskanaEngine, scheduledStart);
+        }
+    }
+
+    private TaskanaEngine createTaskanaEngine() throws Exception {
+        TaskanaEngineConfiguration configuration = new TaskanaEngineConfiguration(dataSource, false,
+                options.isSecurityEnabled(), TaskanaAPI.SCHEMA_NAME);
+        TaskanaEngine taskanaEngine = TaskanaEngineImpl.createTaskanaEngine(configuration);
+        taskanaEngine.setConnectionManagementMode(TaskanaEngine.ConnectionManagementMode.AUTOCOMMIT);
+        return taskanaEngine;
+    }
+
+    private Subject subjectOf(String userId) {
+        return subjects.computeIfAbsent(userId, id -> new Subject(true,
+                Collections.singleton(new UserPrincipal(id)), Collections.emptySet(), Collections.emptySet()));
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Writes one csv line per scenario with the calls, the errors and the response times in milliseconds.
+     */
+    private static void writeReport(Path reportFile, List<ScenarioRun> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportFile))) {
+            StringBuilder header = new StringBuilder("scenario,calls,errors,callsPerSecond,meanMs");
+            for (double percentile : LatencyRecorder.REPORTED_PERCENTILES) {
+                header.append(",p").append(LatencyRecorder.formatPercentile(percentile)).append("Ms");
+            }
+            writer.println(header.append(",maxMs"));
+            for (ScenarioRun result : results) {
+                LatencyHistogram latencies = result.responseTimes;
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f",
+                        result.getScenarioFile().getIdentifier(), latencies.getTotalCount(), result.errors.get(),
+                        result.getCallsPerSecond(), latencies.getMean() / 1000));
+                for (double percentile : LatencyRecorder.REPORTED_PERCENTILES) {
+                    line.append(
+                            String.format(Locale.ROOT, ",%.3f", latencies.getValueAtPercentile(percentile) / 1000d));
+                }
+                writer.println(line.append(String.format(Locale.ROOT, ",%.3f", latencies.getMax() / 1000d)));
+            }
+        }
+    }
+
+    /**
+     * Calls and latencies of one scenario.
+     */
+    public class ScenarioRun {
+
+        private final ScenarioInput input;
+        private final ScenarioCall call;
+        private final LatencyHistogram responseTimes;
+        private final LatencyHistogram serviceTimes;
+        private final AtomicLong errors = new AtomicLong();
+
+        private double seconds;
+
+        ScenarioRun(ScenarioInput input, ScenarioCall call) {
+            this.input = input;
+            this.call = call;
+            this.responseTimes = LoadDriver.this.responseTimes.get(input.getScenarioFile().getIdentifier());
+            this.serviceTimes = LoadDriver.this.serviceTimes.get(input.getScenarioFile().getIdentifier());
+        }
+
+        public ScenarioFile getScenarioFile() {
+            return input.getScenarioFile();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public double getCallsPerSecond() {
+            return seconds > 0 ? serviceTimes.getTotalCount() / seconds : 0;
+        }
+
+        void execute(TaskanaEngine taskanaEngine, long scheduledStart) throws IOException {
+            String[] values = input.next();
+            long start = System.nanoTime();
+            try {
+                Subject.doAs(subjectOf(ScenarioCalls.userOf(values)), (PrivilegedExceptionAction<Void>) () -> {
+                    call.execute(taskanaEngine, values);
+                    return null;
+                });
+            } catch (PrivilegedActionException | RuntimeException e) {
+                Throwable cause = e instanceof PrivilegedActionException ? e.getCause() : e;
+                if (errors.getAndIncrement() == 0) {
+                    LOGGER.warn("Scenario {} failed, further failures are only counted",
+                            getScenarioFile().getIdentifier(), cause);
+                }
+            } finally {
+                long end = System.nanoTime();
+                serviceTimes.record(TimeUnit.NANOSECONDS.toMicros(end - start));
+                responseTimes.record(TimeUnit.NANOSECONDS.toMicros(end - scheduledStart));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-8s %9d %7d %9.1f", getScenarioFile().getIdentifier(),
+                    serviceTimes.getTotalCount(), errors.get(), getCallsPerSecond());
+        }
+    }
+}
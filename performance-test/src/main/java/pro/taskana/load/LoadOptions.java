@@ -0,0 +1,145 @@
+package pro.taskana.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import pro.taskana.export.ScenarioFile;
+
+/**
+ * Command line options of the {@link LoadDriver}.
+ */
+public class LoadOptions {
+
+    private static final String INPUT_PATH_IDENTIFIER = "-i";
+    private static final String SCENARIOS_IDENTIFIER = "-scenarios";
+    private static final String THREADS_IDENTIFIER = "-threads";
+    private static final String RATE_IDENTIFIER = "-rate";
+    private static final String DURATION_IDENTIFIER = "-duration";
+    private static final String SECURITY_IDENTIFIER = "-security";
+    private static final String REPORT_FILE_IDENTIFIER = "-report";
+    private static final String HISTOGRAM_DIR_IDENTIFIER = "-histogramDir";
+
+    public static final int DEFAULT_NUMBER_OF_THREADS = 8;
+    public static final long DEFAULT_DURATION_SECONDS = 60;
+
+    private Path inputDir;
+    private List<ScenarioFile> scenarios = Arrays.asList(ScenarioFile.values());
+    private int numberOfThreads = DEFAULT_NUMBER_OF_THREADS;
+    private double rate = 0;
+    private long durationSeconds = DEFAULT_DURATION_SECONDS;
+    private boolean securityEnabled = true;
+    private Path reportFile;
+    private Path histogramDir;
+
+    /**
+     * Reads the options from the command line arguments. Every option is followed by its value.
+     *
+     * @param args
+     *            command line arguments
+     * @return parsed options
+     */
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (int i = 0; i < args.length - 1; i++) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case INPUT_PATH_IDENTIFIER:
+                    options.inputDir = Paths.get(value);
+                    break;
+                case SCENARIOS_IDENTIFIER:
+                    options.scenarios = new ArrayList<>();
+                    for (String scenario : value.split(",")) {
+                        options.scenarios.add(ScenarioFile.fromIdentifier(scenario));
+                    }
+                    break;
+                case THREADS_IDENTIFIER:
+                    options.numberOfThreads = Integer.parseInt(value);
+                    break;
+                case RATE_IDENTIFIER:
+                    options.rate = Double.parseDouble(value);
+                    break;
+                case DURATION_IDENTIFIER:
+                    options.durationSeconds = Long.parseLong(value);
+                    break;
+                case SECURITY_IDENTIFIER:
+                    options.securityEnabled = Boolean.parseBoolean(value);
+                    break;
+                case REPORT_FILE_IDENTIFIER:
+                    options.reportFile = Paths.get(value);
+                    break;
+                case HISTOGRAM_DIR_IDENTIFIER:
+                    options.histogramDir = Paths.get(value);
+                    break;
+                default:
+                    continue;
+            }
+            i++;
+        }
+        if (options.inputDir == null) {
+            throw new IllegalArgumentException("The load driver needs the directory of the exported files (-i)");
+        }
+        return options;
+    }
+
+    /**
+     * Returns the directory containing the exported scenario files.
+     *
+     * @return input directory
+     */
+    public Path getInputDir() {
+        return inputDir;
+    }
+
+    public List<ScenarioFile> getScenarios() {
+        return scenarios;
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Returns the target rate of calls per second over all scenarios, 0 if every thread starts the next call as soon
+     * as the previous one has returned.
+     *
+     * @return calls per second
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Returns whether the calls are made with Taskana security enabled, i.e. as the user named in the scenario file.
+     *
+     * @return <code>true</code> if the access rights of the users are checked
+     */
+    public boolean isSecurityEnabled() {
+        return securityEnabled;
+    }
+
+    /**
+     * Returns the csv file the results of every scenario are written to, <code>null</code> if they are only logged.
+     *
+     * @return report file
+     */
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * Returns the directory the percentile distributions of the scenarios are written to, <code>null</code> if they are
+     * not written.
+     *
+     * @return histogram directory
+     */
+    public Path getHistogramDir() {
+        return histogramDir;
+    }
+}
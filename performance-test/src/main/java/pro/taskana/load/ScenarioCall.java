@@ -0,0 +1,22 @@
+package pro.taskana.load;
+
+import pro.taskana.TaskanaEngine;
+
+/**
+ * The Taskana API calls of one scenario, made with the values of one line of its exported file.
+ */
+@FunctionalInterface
+public interface ScenarioCall {
+
+    /**
+     * Makes the calls of the scenario.
+     *
+     * @param taskanaEngine
+     *            engine of the calling thread
+     * @param values
+     *            values of one line of the scenario file
+     * @throws Exception
+     *             if a call fails
+     */
+    void execute(TaskanaEngine taskanaEngine, String[] values) throws Exception;
+}
@@ -0,0 +1,122 @@
+package pro.taskana.load;
+
+import java.util.List;
+
+import pro.taskana.KeyDomain;
+import pro.taskana.ObjectReference;
+import pro.taskana.Task;
+import pro.taskana.TaskService;
+import pro.taskana.TaskSummary;
+import pro.taskana.TaskanaEngine;
+import pro.taskana.WorkbasketPermission;
+import pro.taskana.export.ScenarioFile;
+
+/**
+ * The Taskana API calls replaying the exported scenario files. The columns of the lines are the ones written by
+ * {@link pro.taskana.export.ScenarioExporter}, the last column always contains the calling user.
+ */
+public final class ScenarioCalls {
+
+    private static final String COMPANY = "LoadDriver Company";
+    private static final String SYSTEM = "LoadDriver System";
+    private static final String INSTANCE = "LoadDriver Instance";
+    private static final String TYPE = "Object Type";
+
+    private ScenarioCalls() {
+    }
+
+    /**
+     * Returns the calls of the given scenario.
+     *
+     * @param scenarioFile
+     *            the scenario
+     * @return calls of the scenario
+     */
+    public static ScenarioCall of(ScenarioFile scenarioFile) {
+        switch (scenarioFile) {
+            case TASK_OF_WORKBASKET:
+                return ScenarioCalls::readTaskOfWorkbasket;
+            case TASK_BY_ID:
+                return (engine, values) -> engine.getTaskService().getTask(values[0]);
+            case TASKS_BY_OBJECT_REFERENCE:
+                return (engine, values) -> engine.getTaskService().createTaskQuery()
+                        .primaryObjectReferenceValueIn(values[0]).list();
+            case WORKBASKET_BY_KEY:
+                return (engine, values) -> engine.getWorkbasketService().getWorkbasket(values[0], values[1]);
+            case WORKBASKET_BY_ID:
+                return (engine, values) -> engine.getWorkbasketService().getWorkbasket(values[0]);
+            case CLASSIFICATION_QUERY:
+                return (engine, values) -> engine.getClassificationService().createClassificationQuery()
+                        .typeIn(values[0]).categoryIn(values[1]).customAttributeLike("1", "%" + values[2] + "%")
+                        .domainIn(values[3]).list();
+            case CLASSIFICATION_BY_ID:
+                return (engine, values) -> engine.getClassificationService().getClassification(values[0]);
+            case CLASSIFICATION_BY_KEY:
+                return (engine, values) -> engine.getClassificationService().getClassification(values[0], values[1]);
+            case TASK_LIFECYCLE:
+                return ScenarioCalls::runTaskLifecycle;
+            case WORKBASKETS_WITH_OPEN_PERMISSION:
+                return (engine, values) -> engine.getWorkbasketService().createWorkbasketQuery()
+                        .callerHasPermission(WorkbasketPermission.OPEN).list();
+            case WORKBASKETS_WITH_APPEND_PERMISSION:
+                return (engine, values) -> engine.getWorkbasketService().createWorkbasketQuery()
+                        .callerHasPermission(WorkbasketPermission.APPEND).list();
+            default:
+                throw new IllegalArgumentException("No calls for scenario " + scenarioFile);
+        }
+    }
+
+    /**
+     * Returns the user making the calls of a line.
+     *
+     * @param values
+     *            values of one line of a scenario file
+     * @return id of the calling user
+     */
+    public static String userOf(String[] values) {
+        return values[values.length - 1];
+    }
+
+    /**
+     * Reads the first task of a workbasket. Columns: workbasket key, domain, user.
+     */
+    private static void readTaskOfWorkbasket(TaskanaEngine engine, String[] values) throws Exception {
+        TaskService taskService = engine.getTaskService();
+        List<TaskSummary> tasks = taskService.createTaskQuery()
+                .workbasketKeyDomainIn(new KeyDomain(values[0], values[1])).list(0, 1);
+        if (!tasks.isEmpty()) {
+            taskService.getTask(tasks.get(0).getTaskId());
+        }
+    }
+
+    /**
+     * Creates a task, claims, updates and completes it, then creates a second task and transfers it to a distribution
+     * target. Columns: workbasket key, workbasket id, domain, classification key, classification category, key and id
+     * of the distribution target, user.
+     */
+    private static void runTaskLifecycle(TaskanaEngine engine, String[] values) throws Exception {
+        TaskService taskService = engine.getTaskService();
+        Task task = taskService.createTask(newTask(taskService, values));
+        taskService.claim(task.getId());
+        Task claimedTask = taskService.getTask(task.getId());
+        claimedTask.setNote("updated by the load driver");
+        taskService.updateTask(claimedTask);
+        taskService.completeTask(task.getId());
+
+        Task transferredTask = taskService.createTask(newTask(taskService, values));
+        taskService.transfer(transferredTask.getId(), values[6]);
+    }
+
+    private static Task newTask(TaskService taskService, String[] values) {
+        Task task = taskService.newTask(values[1]);
+        task.setClassificationKey(values[3]);
+        ObjectReference objectReference = new ObjectReference();
+        objectReference.setCompany(COMPANY);
+        objectReference.setSystem(SYSTEM);
+        objectReference.setSystemInstance(INSTANCE);
+        objectReference.setType(TYPE);
+        objectReference.setValue(String.valueOf(System.nanoTime()));
+        task.setPrimaryObjRef(objectReference);
+        return task;
+    }
+}
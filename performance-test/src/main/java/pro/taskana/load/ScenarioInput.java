@@ -0,0 +1,118 @@
+package pro.taskana.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import pro.taskana.export.ScenarioFile;
+import pro.taskana.export.io.CsvWriter;
+import pro.taskana.export.io.FileType;
+
+/**
+ * Supplies the lines of an exported scenario file one after another. Plain and gzip compressed files as well as files
+ * split into chunks are read. When the last line has been supplied, reading starts again with the first line, so a
+ * run is not limited by the size of the file. Only the current file is open, the lines are not kept in memory.
+ */
+public class ScenarioInput implements AutoCloseable {
+
+    private final ScenarioFile scenarioFile;
+    private final List<Path> files;
+
+    private int nextFile;
+    private BufferedReader reader;
+    private boolean lineSupplied;
+
+    /**
+     * Finds the files of the given scenario in the given directory.
+     *
+     * @param inputDir
+     *            directory containing the exported files
+     * @param scenarioFile
+     *            the scenario
+     * @throws IOException
+     *             if the directory cannot be read
+     */
+    public ScenarioInput(Path inputDir, ScenarioFile scenarioFile) throws IOException {
+        this.scenarioFile = scenarioFile;
+        Pattern fileNamePattern = Pattern.compile(Pattern.quote(scenarioFile.getFileName()) + "(_\\d{3})?\\.("
+                + Pattern.quote(FileType.CSV.getExtension()) + "|" + Pattern.quote(FileType.CSV_GZIP.getExtension())
+                + ")");
+        try (Stream<Path> content = Files.list(inputDir)) {
+            this.files = content.filter(file -> fileNamePattern.matcher(file.getFileName().toString()).matches())
+                    .sorted().collect(Collectors.toList());
+        }
+    }
+
+    public ScenarioFile getScenarioFile() {
+        return scenarioFile;
+    }
+
+    /**
+     * Checks whether the scenario has been exported at all.
+     *
+     * @return <code>true</code> if no file of the scenario exists
+     */
+    public boolean isMissing() {
+        return files.isEmpty();
+    }
+
+    /**
+     * Supplies the values of the next line.
+     *
+     * @return values of the line
+     * @throws IOException
+     *             if a file cannot be read
+     * @throws IllegalStateException
+     *             if the files of the scenario contain no line
+     */
+    public synchronized String[] next() throws IOException {
+        while (true) {
+            if (reader == null) {
+                openNextFile();
+            }
+            String line = reader.readLine();
+            if (line != null && !line.isEmpty()) {
+                lineSupplied = true;
+                return line.split(CsvWriter.SEPARATOR, -1);
+            }
+            if (line == null) {
+                reader.close();
+                reader = null;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        if (files.isEmpty()) {
+            throw new IllegalStateException("No file found for scenario " + scenarioFile.getFileName());
+        }
+        if (nextFile == files.size()) {
+            if (!lineSupplied) {
+                throw new IllegalStateException("The files of scenario " + scenarioFile.getFileName() + " are empty");
+            }
+            nextFile = 0;
+        }
+        Path file = files.get(nextFile++);
+        InputStream input = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(FileType.CSV_GZIP.getExtension())) {
+            input = new GZIPInputStream(input);
+        }
+        reader = new BufferedReader(new InputStreamReader(input));
+    }
+}
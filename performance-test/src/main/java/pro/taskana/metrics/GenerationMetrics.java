@@ -0,0 +1,151 @@
+package pro.taskana.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counters and timers of all {@link Phase}s of one generation run. Thread safe, the domains and the pipeline
+ * consumers count into the same instance.
+ */
+public class GenerationMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationMetrics.class);
+
+    static final String SUMMARY_HEADER = "started,phase,rows,expectedRows,seconds,busySeconds,rowsPerSecond";
+
+    private final Instant started = Instant.now();
+    private final Map<Phase, PhaseMetrics> phases = new EnumMap<>(Phase.class);
+    private final LatencyRecorder latencies = new LatencyRecorder();
+
+    public GenerationMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseMetrics(phase));
+        }
+    }
+
+    /**
+     * Returns the metrics of the given phase.
+     *
+     * @param phase
+     *            measured phase
+     * @return metrics of the phase
+     */
+    public PhaseMetrics get(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Returns the latencies of the single calls made by the persistence adapter, e.g. of every Taskana API call.
+     *
+     * @return latencies by operation
+     */
+    public LatencyRecorder getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Starts a new measurement of the given phase.
+     *
+     * @param phase
+     *            measured phase
+     * @param expectedRows
+     *            number of rows the measurement will count, 0 if it is not known in advance
+     * @return timer of the measurement, must be closed when the measurement ends
+     */
+    public PhaseMetrics.Timer start(Phase phase, long expectedRows) {
+        return get(phase).start(expectedRows);
+    }
+
+    /**
+     * Measures a step which processes a known number of rows at once. The rows are counted when the step has
+     * finished.
+     *
+     * @param phase
+     *            measured phase
+     * @param rows
+     *            number of rows processed by the step
+     * @param step
+     *            the measured step
+     * @throws Exception
+     *             the exception thrown by the step
+     */
+    public void measure(Phase phase, long rows, Step step) throws Exception {
+        try (PhaseMetrics.Timer timer = start(phase, rows)) {
+            step.run();
+            timer.count(rows);
+        }
+    }
+
+    /**
+     * Logs the progress of the running phases periodically until the returned reporter is closed.
+     *
+     * @param intervalSeconds
+     *            seconds between two progress lines, 0 or less to log nothing
+     * @return the started reporter
+     */
+    public ProgressReporter startProgressReporting(long intervalSeconds) {
+        return new ProgressReporter(this, intervalSeconds);
+    }
+
+    /**
+     * Logs one line per measured phase, followed by the latencies of the calls if any have been recorded.
+     */
+    public void logSummary() {
+        for (PhaseMetrics phase : phases.values()) {
+            if (phase.isStarted()) {
+                LOGGER.info("{}: {} rows in {} s ({} rows/s)", phase.getPhase().getIdentifier(), phase.getRows(),
+                        String.format(Locale.ROOT, "%.1f", phase.getElapsedSeconds()),
+                        Math.round(phase.getRowsPerSecond()));
+            }
+        }
+        if (!latencies.getHistograms().isEmpty()) {
+            latencies.logReport();
+        }
+    }
+
+    /**
+     * Appends one csv line per measured phase to the given file. The header is written if the file does not exist
+     * yet, so the results of several runs can be collected in one file.
+     *
+     * @param summaryFile
+     *            csv file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void writeSummary(Path summaryFile) throws IOException {
+        boolean newFile = !Files.exists(summaryFile);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(summaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND))) {
+            if (newFile) {
+                writer.println(SUMMARY_HEADER);
+            }
+            for (PhaseMetrics phase : phases.values()) {
+                if (phase.isStarted()) {
+                    writer.println(String.format(Locale.ROOT, "%s,%s,%d,%d,%.3f,%.3f,%.0f", started,
+                            phase.getPhase().getIdentifier(), phase.getRows(), phase.getExpectedRows(),
+                            phase.getElapsedSeconds(), phase.getBusySeconds(), phase.getRowsPerSecond()));
+                }
+            }
+        }
+        LOGGER.info("Metrics written to {}", summaryFile);
+    }
+
+    /**
+     * Step of a phase which is measured as a whole.
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        void run() throws Exception;
+    }
+}
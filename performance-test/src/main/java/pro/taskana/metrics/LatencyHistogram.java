@@ -0,0 +1,178 @@
+package pro.taskana.metrics;
+
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in microseconds with a bounded relative error. Values below 128 are counted exactly, larger
+ * values in buckets whose width grows with the value, so every bucket covers less than 1/64 of its values. Recording
+ * is lock free and may be done by several threads at the same time. The percentile distribution is written in the
+ * .hgrm format of HdrHistogram, so the files of several runs can be compared with the usual plotting tools.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_EXPONENT = Long.SIZE - SUB_BUCKET_BITS;
+    private static final int PERCENTILE_TICKS_PER_HALF_DISTANCE = 5;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKET_COUNT + MAX_EXPONENT * SUB_BUCKET_HALF_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param micros
+     *            latency in microseconds, negative values are recorded as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = getTotalCount();
+        return count > 0 ? (double) sum.get() / count : 0;
+    }
+
+    /**
+     * Returns the latency which is not exceeded by the given share of the recorded latencies.
+     *
+     * @param percentile
+     *            percentile between 0 and 100
+     * @return highest latency of the bucket containing the percentile, 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns the standard deviation of the recorded latencies, computed from the middle values of the buckets.
+     *
+     * @return standard deviation in microseconds
+     */
+    public double getStdDeviation() {
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+        double mean = getMean();
+        double squaredDeviations = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                double deviation = (lowestValueOf(i) + highestValueOf(i)) / 2d - mean;
+                squaredDeviations += deviation * deviation * bucketCount;
+            }
+        }
+        return Math.sqrt(squaredDeviations / count);
+    }
+
+    /**
+     * Writes the percentile distribution in the .hgrm format of HdrHistogram. The percentiles get closer the nearer
+     * they are to 100, i.e. there are as many lines between 99 and 99.9 as between 0 and 90.
+     *
+     * @param writer
+     *            target of the distribution
+     * @param valueScale
+     *            divisor of the values, e.g. 1000 to write milliseconds
+     */
+    public void writePercentileDistribution(PrintWriter writer, double valueScale) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        int lastIndex = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+            if (snapshot[i] > 0) {
+                lastIndex = i;
+            }
+        }
+
+        long maxValue = getMax();
+        writer.format("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)");
+        if (total > 0) {
+            double percentileLevel = 0;
+            long cumulativeCount = 0;
+            for (int i = 0; i <= lastIndex; i++) {
+                if (snapshot[i] == 0) {
+                    continue;
+                }
+                cumulativeCount += snapshot[i];
+                while (100d * cumulativeCount / total >= percentileLevel) {
+                    writer.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f%n",
+                            Math.min(highestValueOf(i), maxValue) / valueScale,
+                            percentileLevel / 100, cumulativeCount, 1 / (1 - percentileLevel / 100));
+                    long ticks = PERCENTILE_TICKS_PER_HALF_DISTANCE
+                            * (long) Math.pow(2, (long) (Math.log(100 / (100 - percentileLevel)) / Math.log(2)) + 1);
+                    percentileLevel += 100d / ticks;
+                    if (cumulativeCount == total) {
+                        break;
+                    }
+                }
+            }
+            writer.format(Locale.ROOT, "%12.3f %2.12f %10d%n", maxValue / valueScale, 1d, total);
+        }
+        writer.format(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", getMean() / valueScale,
+                getStdDeviation() / valueScale);
+        writer.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", maxValue / valueScale, total);
+        writer.format(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]%n", MAX_EXPONENT + 1, SUB_BUCKET_COUNT);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> exponent) - SUB_BUCKET_HALF_COUNT;
+        return SUB_BUCKET_COUNT + (exponent - 1) * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    static long lowestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return subBucket << exponent;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        return lowestValueOf(index) + (1L << exponent) - 1;
+    }
+}
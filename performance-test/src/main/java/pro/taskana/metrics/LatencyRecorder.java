@@ -0,0 +1,116 @@
+package pro.taskana.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One {@link LatencyHistogram} per operation type, e.g. per Taskana API call or per replayed scenario. Thread safe.
+ */
+public class LatencyRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LatencyRecorder.class);
+
+    /**
+     * Percentiles of the report, besides the maximum.
+     */
+    public static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final String DISTRIBUTION_FILE_EXTENSION = ".hgrm";
+    private static final double MILLIS = 1000;
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the histogram of the given operation, creates it on the first call.
+     *
+     * @param operation
+     *            name of the operation, also used as file name
+     * @return histogram in microseconds
+     */
+    public LatencyHistogram get(String operation) {
+        return histograms.computeIfAbsent(operation, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Records the latency of an operation which started at the given time and ends now.
+     *
+     * @param operation
+     *            name of the operation
+     * @param startNanos
+     *            start of the operation as returned by {@link System#nanoTime()}
+     */
+    public void record(String operation, long startNanos) {
+        get(operation).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Returns the histograms of all operations sorted by operation.
+     *
+     * @return histogram by operation
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Logs the number of calls, the mean, the {@link #REPORTED_PERCENTILES} and the maximum of every operation in
+     * milliseconds.
+     */
+    public void logReport() {
+        StringBuilder header = new StringBuilder(String.format("%-28s %9s %9s", "operation", "calls", "mean ms"));
+        for (double percentile : REPORTED_PERCENTILES) {
+            header.append(String.format(Locale.ROOT, " %9s", "p" + formatPercentile(percentile) + " ms"));
+        }
+        LOGGER.info(header.append(String.format(" %9s", "max ms")).toString());
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-28s %9d %9.2f", entry.getKey(),
+                    histogram.getTotalCount(), histogram.getMean() / MILLIS));
+            for (double percentile : REPORTED_PERCENTILES) {
+                line.append(String.format(Locale.ROOT, " %9.2f", histogram.getValueAtPercentile(percentile) / MILLIS));
+            }
+            LOGGER.info(line.append(String.format(Locale.ROOT, " %9.2f", histogram.getMax() / MILLIS)).toString());
+        }
+    }
+
+    /**
+     * Writes the percentile distribution of every operation in milliseconds to the file
+     * <code>&lt;operation&gt;.hgrm</code> in the given directory.
+     *
+     * @param directory
+     *            target directory, created if it does not exist
+     * @throws IOException
+     *             if a file cannot be written
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            Path file = directory.resolve(entry.getKey() + DISTRIBUTION_FILE_EXTENSION);
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+                entry.getValue().writePercentileDistribution(writer, MILLIS);
+            }
+        }
+        LOGGER.info("Latency distributions written to {}", directory);
+    }
+
+    /**
+     * Formats a percentile without fraction digits if it is a whole number, e.g. 99 and 99.9.
+     *
+     * @param percentile
+     *            percentile between 0 and 100
+     * @return formatted percentile
+     */
+    public static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
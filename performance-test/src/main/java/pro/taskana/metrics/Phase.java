@@ -0,0 +1,21 @@
+package pro.taskana.metrics;
+
+/**
+ * Enum contains the measured phases of a generation run. The identifier is used in the progress lines and in the
+ * summary file.
+ */
+public enum Phase {
+    STRUCTURE_BUILD("structure"), WORKBASKETS("workbaskets"), DISTRIBUTION_TARGETS("distributionTargets"),
+    ACCESS_ITEMS("accessItems"), CLASSIFICATIONS("classifications"), TASK_GENERATION("taskGeneration"),
+    TASK_PERSISTENCE("taskPersistence"), INDEX_REBUILD("indexRebuild"), EXPORT("export");
+
+    private final String identifier;
+
+    private Phase(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+}
@@ -0,0 +1,161 @@
+package pro.taskana.metrics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter and timer of one {@link Phase}. A phase can be measured several times, e.g. once per domain, also by
+ * several threads at the same time. The rows and the expected rows of all measurements are summed up, the elapsed
+ * time is the wall clock time from the start of the first measurement to the end of the last one.
+ */
+public class PhaseMetrics {
+
+    private final Phase phase;
+    private final LongAdder rows = new LongAdder();
+    private final AtomicLong expectedRows = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicInteger runningTimers = new AtomicInteger();
+
+    private boolean started;
+    private long firstStart;
+    private long lastEnd;
+
+    PhaseMetrics(Phase phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Starts a new measurement of this phase.
+     *
+     * @param expected
+     *            number of rows this measurement will count, 0 if it is not known in advance
+     * @return timer of the measurement, must be closed when the measurement ends
+     */
+    public Timer start(long expected) {
+        expectedRows.addAndGet(expected);
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (!started) {
+                started = true;
+                firstStart = now;
+                lastEnd = now;
+            }
+            runningTimers.incrementAndGet();
+        }
+        return new Timer(now);
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getExpectedRows() {
+        return expectedRows.get();
+    }
+
+    /**
+     * Checks whether this phase has been measured at all.
+     *
+     * @return <code>true</code> if at least one measurement has been started
+     */
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Checks whether a measurement of this phase is running.
+     *
+     * @return <code>true</code> if at least one timer has not been closed yet
+     */
+    public boolean isRunning() {
+        return runningTimers.get() > 0;
+    }
+
+    /**
+     * Returns the wall clock time of this phase, up to now if a measurement is running.
+     *
+     * @return elapsed seconds, 0 if the phase has not been started
+     */
+    public synchronized double getElapsedSeconds() {
+        if (!started) {
+            return 0;
+        }
+        long end = isRunning() ? System.nanoTime() : lastEnd;
+        return (end - firstStart) / 1e9;
+    }
+
+    /**
+     * Returns the sum of the durations of all finished measurements. Larger than the elapsed time if the phase ran in
+     * several threads at the same time.
+     *
+     * @return busy seconds
+     */
+    public double getBusySeconds() {
+        return busyNanos.get() / 1e9;
+    }
+
+    public double getRowsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? getRows() / seconds : 0;
+    }
+
+    /**
+     * Estimates the remaining time of this phase from the current throughput and the expected rows of the started
+     * measurements.
+     *
+     * @return remaining seconds, -1 if there is no estimate
+     */
+    public long getEstimatedRemainingSeconds() {
+        long remainingRows = getExpectedRows() - getRows();
+        double rowsPerSecond = getRowsPerSecond();
+        if (remainingRows <= 0 || rowsPerSecond <= 0) {
+            return -1;
+        }
+        return Math.round(remainingRows / rowsPerSecond);
+    }
+
+    /**
+     * One measurement of the phase. Counts the rows processed by this measurement and adds its duration on
+     * {@link #close()}.
+     */
+    public class Timer implements AutoCloseable {
+
+        private final long start;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Timer(long start) {
+            this.start = start;
+        }
+
+        /**
+         * Counts processed rows. May be called by several threads.
+         *
+         * @param processedRows
+         *            number of rows processed since the last call
+         */
+        public void count(long processedRows) {
+            rows.add(processedRows);
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            long now = System.nanoTime();
+            busyNanos.addAndGet(now - start);
+            synchronized (PhaseMetrics.this) {
+                if (now - lastEnd > 0) {
+                    lastEnd = now;
+                }
+                runningTimers.decrementAndGet();
+            }
+        }
+    }
+}
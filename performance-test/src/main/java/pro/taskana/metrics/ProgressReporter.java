@@ -0,0 +1,72 @@
+package pro.taskana.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the rows, the throughput and the estimated remaining time of all running phases at a fixed interval. The
+ * estimate only knows the rows of the measurements which have been started, e.g. in a sequential run the tasks of
+ * the next domain are not included.
+ */
+public class ProgressReporter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProgressReporter.class);
+
+    private final GenerationMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+
+    ProgressReporter(GenerationMetrics metrics, long intervalSeconds) {
+        this.metrics = metrics;
+        if (intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "progress-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Logs one progress line per running phase.
+     */
+    public void report() {
+        for (Phase phase : Phase.values()) {
+            PhaseMetrics phaseMetrics = metrics.get(phase);
+            if (phaseMetrics.isRunning()) {
+                LOGGER.info(format(phaseMetrics));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    static String format(PhaseMetrics phase) {
+        StringBuilder line = new StringBuilder(phase.getPhase().getIdentifier()).append(": ").append(phase.getRows());
+        long expectedRows = phase.getExpectedRows();
+        if (expectedRows > 0) {
+            line.append(" of ").append(expectedRows).append(" rows (").append(phase.getRows() * 100 / expectedRows)
+                    .append(" %)");
+        } else {
+            line.append(" rows");
+        }
+        line.append(", ").append(Math.round(phase.getRowsPerSecond())).append(" rows/s");
+        long remainingSeconds = phase.getEstimatedRemainingSeconds();
+        if (remainingSeconds >= 0) {
+            line.append(", ETA ").append(String.format("%d:%02d:%02d", remainingSeconds / 3600,
+                    remainingSeconds / 60 % 60, remainingSeconds % 60));
+        }
+        return line.toString();
+    }
+}
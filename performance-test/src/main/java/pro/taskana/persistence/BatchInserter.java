@@ -0,0 +1,86 @@
+package pro.taskana.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import pro.taskana.persistence.table.TableMapping;
+
+/**
+ * Collects rows of one table in a JDBC batch and executes the batch whenever the configured size is reached.
+ *
+ * @param <T>
+ *            type of the entity a row is created from
+ */
+public class BatchInserter<T> implements AutoCloseable {
+
+    private final TableMapping<T> mapping;
+    private final PreparedStatement statement;
+    private final int batchSize;
+
+    private int pendingRows;
+    private long insertedRows;
+
+    public BatchInserter(Connection connection, TableMapping<T> mapping, String schemaName, int batchSize)
+            throws SQLException {
+        this.mapping = mapping;
+        this.statement = connection.prepareStatement(mapping.getInsertStatement(schemaName));
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds the row of the given entity to the current batch.
+     *
+     * @param entity
+     *            entity the row is created from
+     * @throws SQLException
+     *             if the row cannot be added or the full batch cannot be executed
+     */
+    public void add(T entity) throws SQLException {
+        mapping.bind(statement, entity);
+        statement.addBatch();
+        pendingRows++;
+        if (pendingRows >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Executes all pending rows.
+     *
+     * @throws SQLException
+     *             if the batch cannot be executed
+     */
+    public void flush() throws SQLException {
+        if (pendingRows > 0) {
+            statement.executeBatch();
+            insertedRows += pendingRows;
+            pendingRows = 0;
+        }
+    }
+
+    /**
+     * Discards all rows which were not yet executed, e.g. after a rollback.
+     *
+     * @throws SQLException
+     *             if the batch cannot be cleared
+     */
+    public void discard() throws SQLException {
+        statement.clearBatch();
+        pendingRows = 0;
+    }
+
+    /**
+     * Returns the number of rows which were executed so far.
+     *
+     * @return number of inserted rows
+     */
+    public long getInsertedRows() {
+        return insertedRows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.close();
+    }
+}
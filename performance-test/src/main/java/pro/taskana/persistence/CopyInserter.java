@@ -0,0 +1,176 @@
+package pro.taskana.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import pro.taskana.persistence.table.Column;
+import pro.taskana.persistence.table.TableMapping;
+
+/**
+ * Streams the rows of one table to PostgreSQL with <code>COPY ... FROM STDIN</code> in text format. The rows are
+ * encoded into a buffer which is sent to the server whenever it is full, no temporary files are written. Only one
+ * copy can be active per connection, so the inserter has to be finished before the next one is created.
+ *
+ * @param <T>
+ *            type of the entity a row is created from
+ */
+public class CopyInserter<T> implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final char COLUMN_DELIMITER = '\t';
+    private static final char ROW_DELIMITER = '\n';
+    private static final String NULL_VALUE = "\\N";
+
+    private final TableMapping<T> mapping;
+    private final CopyIn copyIn;
+    private final int bufferSize;
+    private final StringBuilder buffer;
+
+    private long copiedRows;
+
+    /**
+     * Starts the copy of the given table.
+     *
+     * @param connection
+     *            connection of the PostgreSQL driver, may be wrapped by a pool
+     * @param mapping
+     *            mapping of the table
+     * @param schemaName
+     *            name of the schema
+     * @param bufferSize
+     *            number of characters which are collected before they are sent to the server
+     * @throws SQLException
+     *             if the connection is not a PostgreSQL connection or the copy cannot be started
+     */
+    public CopyInserter(Connection connection, TableMapping<T> mapping, String schemaName, int bufferSize)
+            throws SQLException {
+        this.mapping = mapping;
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(getCopyStatement(mapping, schemaName));
+        this.bufferSize = bufferSize;
+        this.buffer = new StringBuilder(bufferSize + bufferSize / 4);
+    }
+
+    /**
+     * Adds the row of the given entity to the copy.
+     *
+     * @param entity
+     *            entity the row is created from
+     * @throws SQLException
+     *             if the full buffer cannot be sent
+     */
+    public void add(T entity) throws SQLException {
+        List<Column<T>> columns = mapping.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                buffer.append(COLUMN_DELIMITER);
+            }
+            appendValue(buffer, columns.get(i).valueOf(entity));
+        }
+        buffer.append(ROW_DELIMITER);
+        if (buffer.length() >= bufferSize) {
+            sendBuffer();
+        }
+    }
+
+    /**
+     * Sends the remaining rows and ends the copy. The rows become visible when the transaction is committed.
+     *
+     * @return number of rows copied by the server
+     * @throws SQLException
+     *             if the copy fails
+     */
+    public long finish() throws SQLException {
+        sendBuffer();
+        copiedRows = copyIn.endCopy();
+        return copiedRows;
+    }
+
+    /**
+     * Returns the number of rows copied by the server, 0 until the copy is finished.
+     *
+     * @return number of copied rows
+     */
+    public long getCopiedRows() {
+        return copiedRows;
+    }
+
+    /**
+     * Cancels the copy if it was not finished, e.g. after a failure, so the connection can be rolled back.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    /**
+     * Creates the copy statement for the given table.
+     *
+     * @param mapping
+     *            mapping of the table
+     * @param schemaName
+     *            name of the schema
+     * @return copy statement reading text rows from the client
+     */
+    static String getCopyStatement(TableMapping<?> mapping, String schemaName) {
+        return "COPY " + mapping.getQualifiedName(schemaName) + " (" + mapping.getColumnList() + ") FROM STDIN";
+    }
+
+    /**
+     * Appends a value in the text format of <code>COPY</code>. Timestamps are written in the local time zone like
+     * <code>PreparedStatement.setTimestamp</code> does, backslashes and delimiters within strings are escaped.
+     *
+     * @param target
+     *            buffer of the current row
+     * @param value
+     *            column value, may be <code>null</code>
+     */
+    static void appendValue(StringBuilder target, Object value) {
+        if (value == null) {
+            target.append(NULL_VALUE);
+        } else if (value instanceof Instant) {
+            target.append(LocalDateTime.ofInstant((Instant) value, ZoneId.systemDefault()));
+        } else if (value instanceof Boolean) {
+            target.append((Boolean) value ? 't' : 'f');
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\':
+                        target.append("\\\\");
+                        break;
+                    case '\t':
+                        target.append("\\t");
+                        break;
+                    case '\n':
+                        target.append("\\n");
+                        break;
+                    case '\r':
+                        target.append("\\r");
+                        break;
+                    default:
+                        target.append(c);
+                }
+            }
+        }
+    }
+
+    private void sendBuffer() throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -37,7 +37,7 @@ public class DataSourceHandler {
      * @throws FileNotFoundException If there is no properties file available.
      * @throws NoSuchFieldException If the properties file is available but there are some properties missing. 
      */
-    public static DataSource getDataSource() throws FileNotFoundException, NoSuchFieldException {
+    public static synchronized DataSource getDataSource() throws FileNotFoundException, NoSuchFieldException {
         if (dataSource == null) {
             String userHomeDirectroy = System.getProperty(HOME_DIRECTORY);
             String propertiesFileName = userHomeDirectroy + "/" + PROPERTIES_FILENAME;
@@ -51,6 +51,37 @@ public class DataSourceHandler {
         return dataSource;
     }
     
+    /**
+     * Uses the given {@link DataSource} instead of the one configured in the properties file, e.g. an embedded
+     * database for benchmarks.
+     *
+     * @param configuredDataSource The {@link DataSource} returned by {@link #getDataSource()}, <code>null</code> to read
+     *        the properties file again.
+     */
+    public static synchronized void setDataSource(DataSource configuredDataSource) {
+        dataSource = configuredDataSource;
+    }
+
+    /**
+     * Raises the maximum number of active connections of the pooled {@link DataSource} to at least the given number.
+     * Needed if several threads access the database concurrently.
+     *
+     * @param connections
+     *            number of connections which are used concurrently
+     * @throws FileNotFoundException If there is no properties file available.
+     * @throws NoSuchFieldException If the properties file is available but there are some properties missing.
+     */
+    public static synchronized void ensureMaximumActiveConnections(int connections) throws FileNotFoundException, NoSuchFieldException {
+        DataSource currentDataSource = getDataSource();
+        if (currentDataSource instanceof PooledDataSource) {
+            PooledDataSource pooledDataSource = (PooledDataSource) currentDataSource;
+            if (pooledDataSource.getPoolMaximumActiveConnections() < connections) {
+                pooledDataSource.setPoolMaximumActiveConnections(connections);
+                pooledDataSource.setPoolMaximumIdleConnections(connections);
+            }
+        }
+    }
+    
     private static DataSource createDataSourceFromProperties(String propertiesFileName) throws NoSuchFieldException {
         DataSource currentDatasource = null;
         try (InputStream input = new FileInputStream(propertiesFileName)) {
@@ -0,0 +1,120 @@
+package pro.taskana.persistence;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+
+import pro.taskana.persistence.table.Column;
+import pro.taskana.persistence.table.TableMapping;
+
+/**
+ * Writes the rows of one table to a file in the delimited ASCII format (DEL) of the DB2 LOAD and IMPORT utilities.
+ * Strings are enclosed in double quotes, <code>null</code> values are left empty, booleans are written as 1 and 0
+ * like the SMALLINT columns of the DB2 schema expect. The file is encoded in UTF-8, so it has to be loaded with the
+ * modifier <code>codepage=1208</code>. Thread safe.
+ *
+ * @param <T>
+ *            type of the entity a row is created from
+ */
+public class DelFileWriter<T> implements AutoCloseable {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd-HH.mm.ss.SSSSSS");
+    private static final char CHARACTER_DELIMITER = '"';
+    private static final char COLUMN_DELIMITER = ',';
+
+    private final TableMapping<T> mapping;
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder();
+
+    private long writtenRows;
+
+    /**
+     * Creates the file, an existing file is overwritten.
+     *
+     * @param file
+     *            target file
+     * @param mapping
+     *            mapping of the table
+     * @throws IOException
+     *             if the file cannot be created
+     */
+    public DelFileWriter(Path file, TableMapping<T> mapping) throws IOException {
+        this.mapping = mapping;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the rows of all given entities.
+     *
+     * @param entities
+     *            entities the rows are created from
+     * @throws IOException
+     *             if the rows cannot be written
+     */
+    public synchronized void addAll(Collection<? extends T> entities) throws IOException {
+        List<Column<T>> columns = mapping.getColumns();
+        for (T entity : entities) {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(COLUMN_DELIMITER);
+                }
+                appendValue(line, columns.get(i).valueOf(entity));
+            }
+            writer.append(line);
+            writer.newLine();
+        }
+        writtenRows += entities.size();
+    }
+
+    public synchronized long getWrittenRows() {
+        return writtenRows;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Appends a value in DEL format. Timestamps are written in the local time zone like
+     * <code>PreparedStatement.setTimestamp</code> does, double quotes within strings are doubled.
+     *
+     * @param target
+     *            buffer of the current row
+     * @param value
+     *            column value, may be <code>null</code>
+     */
+    static void appendValue(StringBuilder target, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Instant) {
+            target.append(TIMESTAMP_FORMAT.format(LocalDateTime.ofInstant((Instant) value, ZoneId.systemDefault())));
+        } else if (value instanceof Boolean) {
+            target.append((Boolean) value ? '1' : '0');
+        } else if (value instanceof Number) {
+            target.append(value);
+        } else {
+            String text = value.toString();
+            target.append(CHARACTER_DELIMITER);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == CHARACTER_DELIMITER) {
+                    target.append(CHARACTER_DELIMITER);
+                }
+                target.append(c);
+            }
+            target.append(CHARACTER_DELIMITER);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package pro.taskana.persistence;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drops the secondary indexes and foreign keys of the tables which are bulk loaded and creates them again afterwards,
+ * so the inserts do not pay for their maintenance. The definitions are read from the metadata of the
+ * {@link DataSourceHandler} connection and written to a state file before anything is dropped. The state file is a
+ * plain SQL script which recreates everything, so a run which failed before the restore is repaired by the next
+ * suspension or restore, or manually.
+ * <p>
+ * Only non-unique indexes are suspended, unique indexes back primary keys and unique constraints. Indexes are created
+ * again in parallel, except on H2 which serializes DDL statements.
+ */
+public class IndexSuspension {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexSuspension.class);
+
+    public static final List<String> DEFAULT_TABLES = Arrays.asList("TASK", "WORKBASKET_ACCESS_LIST");
+    public static final String DEFAULT_STATE_FILE = "suspended-indexes.sql";
+    public static final int DEFAULT_REBUILD_THREADS = 4;
+
+    private static final String COMMENT_PREFIX = "-- ";
+    private static final String H2_PRODUCT_NAME = "H2";
+    private static final String POSTGRES_PRODUCT_NAME = "PostgreSQL";
+
+    private final DataSource dataSource;
+    private final String schemaName;
+    private final List<String> tableNames;
+    private final Path stateFile;
+    private final int rebuildThreads;
+
+    /**
+     * Creates the suspension of the given tables.
+     *
+     * @param schemaName
+     *            name of the schema
+     * @param tableNames
+     *            names of the bulk loaded tables
+     * @param stateFile
+     *            file the definitions of the dropped indexes and foreign keys are kept in
+     * @param rebuildThreads
+     *            maximum number of indexes which are created at the same time
+     * @throws FileNotFoundException
+     *             If there is no properties file available.
+     * @throws NoSuchFieldException
+     *             If the properties file is incomplete.
+     */
+    public IndexSuspension(String schemaName, List<String> tableNames, Path stateFile, int rebuildThreads)
+            throws FileNotFoundException, NoSuchFieldException {
+        this.dataSource = DataSourceHandler.getDataSource();
+        this.schemaName = schemaName;
+        this.tableNames = tableNames;
+        this.stateFile = stateFile;
+        this.rebuildThreads = rebuildThreads;
+    }
+
+    /**
+     * Drops the secondary indexes and foreign keys of the tables. Definitions left over by a failed run are restored
+     * first.
+     *
+     * @return number of dropped indexes and foreign keys
+     * @throws SQLException
+     *             if the definitions cannot be read
+     * @throws IOException
+     *             if the state file cannot be written
+     */
+    public int suspend() throws SQLException, IOException {
+        if (Files.exists(stateFile)) {
+            LOGGER.warn("Found indexes suspended by an earlier run in {}, restoring them first", stateFile);
+            restore();
+        }
+        List<Definition> definitions = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean qualifyIndexNames = !POSTGRES_PRODUCT_NAME.equals(metaData.getDatabaseProductName());
+            String schema = toStoredCase(metaData, schemaName);
+            for (String tableName : tableNames) {
+                String table = toStoredCase(metaData, tableName);
+                definitions.addAll(readForeignKeys(metaData, schema, table));
+                definitions.addAll(readIndexes(metaData, schema, table, qualifyIndexNames));
+            }
+            // written before anything is dropped, so nothing gets lost if the run is killed while dropping
+            writeStateFile(definitions);
+
+            List<Definition> dropped = new ArrayList<>();
+            for (Definition definition : definitions) {
+                try {
+                    execute(connection, definition.getDropStatement(schemaName));
+                    dropped.add(definition);
+                    LOGGER.info("Dropped {}", definition);
+                } catch (SQLException e) {
+                    if (!connection.getAutoCommit()) {
+                        connection.rollback();
+                    }
+                    // e.g. an index which belongs to a constraint and is only dropped with it
+                    LOGGER.info("Cannot drop {}, it stays in place: {}", definition, e.getMessage());
+                }
+            }
+            writeStateFile(dropped);
+            return dropped.size();
+        }
+    }
+
+    /**
+     * Creates the indexes and foreign keys of the state file which do not exist, indexes first, and deletes the state
+     * file. Does nothing if there is no state file.
+     *
+     * @return number of created indexes and foreign keys
+     * @throws SQLException
+     *             if an index or foreign key cannot be created. The state file is kept for the next attempt.
+     * @throws IOException
+     *             if the state file cannot be read
+     */
+    public int restore() throws SQLException, IOException {
+        if (!Files.exists(stateFile)) {
+            return 0;
+        }
+        List<Definition> missingIndexes = new ArrayList<>();
+        List<Definition> missingForeignKeys = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, Set<String>> existingNames = new LinkedHashMap<>();
+            for (Definition definition : readStateFile()) {
+                Set<String> existing = existingNames.get(definition.table);
+                if (existing == null) {
+                    existing = readExistingNames(metaData, definition.table);
+                    existingNames.put(definition.table, existing);
+                }
+                if (existing.contains(definition.name)) {
+                    LOGGER.info("{} exists already", definition);
+                } else if (definition.kind == Kind.INDEX) {
+                    missingIndexes.add(definition);
+                } else {
+                    missingForeignKeys.add(definition);
+                }
+            }
+            int threads = H2_PRODUCT_NAME.equals(metaData.getDatabaseProductName()) ? 1 : rebuildThreads;
+            createIndexes(missingIndexes, threads);
+            // the foreign keys are validated when they are created, which benefits from the indexes
+            for (Definition foreignKey : missingForeignKeys) {
+                execute(connection, foreignKey.createStatement);
+                LOGGER.info("Created {}", foreignKey);
+            }
+        }
+        Files.delete(stateFile);
+        return missingIndexes.size() + missingForeignKeys.size();
+    }
+
+    private void createIndexes(List<Definition> indexes, int threads) throws SQLException {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        threads = Math.max(1, Math.min(threads, indexes.size()));
+        LOGGER.info("Creating {} indexes with {} thread(s)", indexes.size(), threads);
+        try {
+            DataSourceHandler.ensureMaximumActiveConnections(threads + 1);
+        } catch (FileNotFoundException | NoSuchFieldException e) {
+            // the data source exists already, so the properties have been read successfully before
+            throw new IllegalStateException(e);
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "index-rebuild-" + threadCounter.getAndIncrement()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Definition index : indexes) {
+                futures.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    try (Connection connection = dataSource.getConnection()) {
+                        execute(connection, index.createStatement);
+                    }
+                    LOGGER.info("Created {} in {} ms", index, (System.nanoTime() - start) / 1_000_000);
+                    return null;
+                }));
+            }
+            SQLException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    SQLException cause = e.getCause() instanceof SQLException ? (SQLException) e.getCause()
+                            : new SQLException(e.getCause());
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while creating the indexes", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Definition> readIndexes(DatabaseMetaData metaData, String schema, String table,
+            boolean qualifyIndexNames) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new LinkedHashMap<>();
+        Set<String> unsupportedIndexes = new HashSet<>();
+        try (ResultSet resultSet = metaData.getIndexInfo(null, schema, table, false, false)) {
+            while (resultSet.next()) {
+                String indexName = resultSet.getString("INDEX_NAME");
+                if (indexName == null || resultSet.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic
+                        || !resultSet.getBoolean("NON_UNIQUE")) {
+                    continue;
+                }
+                String column = resultSet.getString("COLUMN_NAME");
+                if (column == null || resultSet.getString("FILTER_CONDITION") != null) {
+                    unsupportedIndexes.add(indexName);
+                    continue;
+                }
+                String order = "D".equals(resultSet.getString("ASC_OR_DESC")) ? " DESC" : "";
+                columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(resultSet.getShort("ORDINAL_POSITION"), column + order);
+            }
+        }
+        List<Definition> indexes = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<Short, String>> index : columnsByIndex.entrySet()) {
+            if (unsupportedIndexes.contains(index.getKey())) {
+                LOGGER.info("Index {} of {} is not suspended, its definition cannot be read", index.getKey(), table);
+                continue;
+            }
+            String indexName = qualifyIndexNames ? schemaName + "." + index.getKey() : index.getKey();
+            indexes.add(new Definition(Kind.INDEX, table, index.getKey(), "CREATE INDEX " + indexName + " ON "
+                    + schemaName + "." + table + " (" + String.join(", ", index.getValue().values()) + ")"));
+        }
+        return indexes;
+    }
+
+    private List<Definition> readForeignKeys(DatabaseMetaData metaData, String schema, String table)
+            throws SQLException {
+        Map<String, TreeMap<Short, String[]>> columnsByForeignKey = new LinkedHashMap<>();
+        Map<String, String> referencedTables = new LinkedHashMap<>();
+        Map<String, String> deleteRules = new LinkedHashMap<>();
+        try (ResultSet resultSet = metaData.getImportedKeys(null, schema, table)) {
+            while (resultSet.next()) {
+                String foreignKeyName = resultSet.getString("FK_NAME");
+                if (foreignKeyName == null) {
+                    continue;
+                }
+                columnsByForeignKey.computeIfAbsent(foreignKeyName, name -> new TreeMap<>()).put(
+                        resultSet.getShort("KEY_SEQ"),
+                        new String[] {resultSet.getString("FKCOLUMN_NAME"), resultSet.getString("PKCOLUMN_NAME")});
+                referencedTables.put(foreignKeyName,
+                        resultSet.getString("PKTABLE_SCHEM") + "." + resultSet.getString("PKTABLE_NAME"));
+                deleteRules.put(foreignKeyName, toDeleteRule(resultSet.getShort("DELETE_RULE")));
+            }
+        }
+        List<Definition> foreignKeys = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<Short, String[]>> foreignKey : columnsByForeignKey.entrySet()) {
+            List<String> columns = new ArrayList<>();
+            List<String> referencedColumns = new ArrayList<>();
+            for (String[] columnPair : foreignKey.getValue().values()) {
+                columns.add(columnPair[0]);
+                referencedColumns.add(columnPair[1]);
+            }
+            String name = foreignKey.getKey();
+            foreignKeys.add(new Definition(Kind.FOREIGN_KEY, table, name,
+                    "ALTER TABLE " + schemaName + "." + table + " ADD CONSTRAINT " + name + " FOREIGN KEY ("
+                            + String.join(", ", columns) + ") REFERENCES " + referencedTables.get(name) + " ("
+                            + String.join(", ", referencedColumns) + ")" + deleteRules.get(name)));
+        }
+        return foreignKeys;
+    }
+
+    private Set<String> readExistingNames(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        String schema = toStoredCase(metaData, schemaName);
+        try (ResultSet resultSet = metaData.getIndexInfo(null, schema, table, false, false)) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString("INDEX_NAME"));
+            }
+        }
+        try (ResultSet resultSet = metaData.getImportedKeys(null, schema, table)) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString("FK_NAME"));
+            }
+        }
+        return names;
+    }
+
+    private void writeStateFile(List<Definition> definitions) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(COMMENT_PREFIX + "Indexes and foreign keys dropped by the TaskanaTestDataGenerator for a bulk load.");
+        lines.add(COMMENT_PREFIX + "They are created again when the load is done or by the next run.");
+        for (Definition definition : definitions) {
+            lines.add(COMMENT_PREFIX + definition.kind + " " + definition.table + " " + definition.name);
+            lines.add(definition.createStatement + ";");
+        }
+        // replaced atomically, so a killed run never leaves a partial file
+        Path temporaryFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+        Files.move(temporaryFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Definition> readStateFile() throws IOException {
+        List<Definition> definitions = new ArrayList<>();
+        String[] header = null;
+        for (String line : Files.readAllLines(stateFile, StandardCharsets.UTF_8)) {
+            if (line.startsWith(COMMENT_PREFIX)) {
+                String[] parts = line.substring(COMMENT_PREFIX.length()).split(" ");
+                header = parts.length == 3 && Kind.isKind(parts[0]) ? parts : null;
+            } else if (header != null && line.endsWith(";")) {
+                definitions.add(new Definition(Kind.valueOf(header[0]), header[1], header[2],
+                        line.substring(0, line.length() - 1)));
+                header = null;
+            }
+        }
+        return definitions;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static String toStoredCase(DatabaseMetaData metaData, String identifier) throws SQLException {
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase(Locale.ROOT);
+        } else if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase(Locale.ROOT);
+        }
+        return identifier;
+    }
+
+    private static String toDeleteRule(short rule) {
+        switch (rule) {
+            case DatabaseMetaData.importedKeyCascade:
+                return " ON DELETE CASCADE";
+            case DatabaseMetaData.importedKeySetNull:
+                return " ON DELETE SET NULL";
+            case DatabaseMetaData.importedKeyRestrict:
+                return " ON DELETE RESTRICT";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * The kinds of suspended schema objects.
+     */
+    private enum Kind {
+        INDEX, FOREIGN_KEY;
+
+        static boolean isKind(String name) {
+            for (Kind kind : values()) {
+                if (kind.name().equals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A suspended index or foreign key and the statement which creates it.
+     */
+    private static final class Definition {
+
+        private final Kind kind;
+        private final String table;
+        private final String name;
+        private final String createStatement;
+
+        Definition(Kind kind, String table, String name, String createStatement) {
+            this.kind = kind;
+            this.table = table;
+            this.name = name;
+            this.createStatement = createStatement;
+        }
+
+        String getDropStatement(String schemaName) {
+            if (kind == Kind.INDEX) {
+                return "DROP INDEX " + schemaName + "." + name;
+            }
+            return "ALTER TABLE " + schemaName + "." + table + " DROP CONSTRAINT " + name;
+        }
+
+        @Override
+        public String toString() {
+            return (kind == Kind.INDEX ? "index " : "foreign key ") + name + " of " + table;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package pro.taskana.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import pro.taskana.impl.ClassificationWrapper;
+
+/**
+ * Keeps track of the Classifications in the {@link TaskanaDefaults#MASTER_DOMAIN}. Like
+ * <code>ClassificationService.createClassification</code>, only the first Classification with a key is copied to the
+ * master domain, later ones with the same key in other domains are not. Thread safe.
+ */
+public class MasterClassifications {
+
+    private final Map<String, String> idsByKey;
+
+    public MasterClassifications() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Creates the bookkeeping for a master domain which already contains Classifications.
+     *
+     * @param idsByKey
+     *            ids of the existing master Classifications by key
+     */
+    public MasterClassifications(Map<String, String> idsByKey) {
+        this.idsByKey = new HashMap<>(idsByKey);
+    }
+
+    /**
+     * Creates the master copies of all given Classifications whose key is not yet contained in the master domain.
+     *
+     * @param classifications
+     *            prepared Classifications of one category, the parent first
+     * @return the new master Classifications
+     */
+    public synchronized List<ClassificationWrapper> addCopiesOf(List<ClassificationWrapper> classifications) {
+        List<ClassificationWrapper> masterCopies = new ArrayList<>();
+        for (ClassificationWrapper classification : classifications) {
+            if (!idsByKey.containsKey(classification.getKey())) {
+                ClassificationWrapper masterCopy = TaskanaDefaults.masterCopyOf(classification,
+                        idsByKey.getOrDefault(classification.getParentKey(), ""));
+                idsByKey.put(masterCopy.getKey(), masterCopy.getId());
+                masterCopies.add(masterCopy);
+            }
+        }
+        return masterCopies;
+    }
+}
@@ -0,0 +1,116 @@
+package pro.taskana.persistence;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The databases supported by Taskana and the differences of their SQL scripts. Strings are quoted the same way in all
+ * of them, booleans and timestamps are not.
+ */
+public enum SqlDialect {
+
+    H2("h2"), POSTGRES("postgres"), DB2("db2");
+
+    private static final DateTimeFormatter ISO_TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+    private static final DateTimeFormatter DB2_TIMESTAMP_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd-HH.mm.ss.SSSSSS");
+
+    private final String identifier;
+
+    SqlDialect(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Returns the dialect with the given identifier.
+     *
+     * @param identifier
+     *            identifier of the dialect
+     * @return the dialect
+     * @throws IllegalArgumentException
+     *             if no dialect has the given identifier
+     */
+    public static SqlDialect fromIdentifier(String identifier) {
+        for (SqlDialect dialect : values()) {
+            if (dialect.identifier.equalsIgnoreCase(identifier)) {
+                return dialect;
+            }
+        }
+        throw new IllegalArgumentException("Unknown SQL dialect " + identifier);
+    }
+
+    /**
+     * Returns the statements which have to precede the first transaction of a script, e.g. to turn off auto commit.
+     *
+     * @return statements or comments, each on its own line
+     */
+    public String getScriptHeader() {
+        switch (this) {
+            case H2:
+                return "SET AUTOCOMMIT FALSE;";
+            case DB2:
+                return "-- Run it with auto commit turned off: db2 +c -tvf <file>";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Returns the statement which starts a transaction. psql commits every statement on its own unless a transaction
+     * is started explicitly.
+     *
+     * @return statement or an empty string if the transaction is started implicitly
+     */
+    public String getBeginTransaction() {
+        return this == POSTGRES ? "BEGIN;" : "";
+    }
+
+    /**
+     * Appends a value as SQL literal. Timestamps are written in the local time zone like
+     * <code>PreparedStatement.setTimestamp</code> does, single quotes within strings are doubled. Booleans are written
+     * as 1 and 0 on DB2, where the Taskana schema uses SMALLINT columns.
+     *
+     * @param target
+     *            buffer of the current statement
+     * @param value
+     *            column value, may be <code>null</code>
+     */
+    public void appendLiteral(StringBuilder target, Object value) {
+        if (value == null) {
+            target.append("NULL");
+        } else if (value instanceof Instant) {
+            LocalDateTime timestamp = LocalDateTime.ofInstant((Instant) value, ZoneId.systemDefault());
+            if (this == DB2) {
+                target.append('\'').append(DB2_TIMESTAMP_FORMAT.format(timestamp)).append('\'');
+            } else {
+                target.append("TIMESTAMP '").append(ISO_TIMESTAMP_FORMAT.format(timestamp)).append('\'');
+            }
+        } else if (value instanceof Boolean) {
+            if (this == DB2) {
+                target.append((Boolean) value ? '1' : '0');
+            } else {
+                target.append((Boolean) value ? "TRUE" : "FALSE");
+            }
+        } else if (value instanceof Number) {
+            target.append(value);
+        } else {
+            String text = value.toString();
+            target.append('\'');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\'') {
+                    target.append('\'');
+                }
+                target.append(c);
+            }
+            target.append('\'');
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package pro.taskana.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import pro.taskana.data.generation.util.Formatter;
+import pro.taskana.persistence.table.Column;
+import pro.taskana.persistence.table.TableMapping;
+
+/**
+ * Writes the rows of one table as multi-row INSERT statements to SQL scripts. A COMMIT follows every
+ * <code>statementsPerCommit</code> statements. When a script reaches the maximum size, the transaction is committed and
+ * the next script <code>&lt;prefix&gt;_&lt;part&gt;.sql</code> is started, so every script can be run on its own.
+ * <p>
+ * The rows are encoded and written by a worker thread of the writer, so the scripts of different tables are written in
+ * parallel. The number of pending batches is limited, a slow disk throttles the caller instead of filling the heap.
+ * Thread safe.
+ *
+ * @param <T>
+ *            type of the entity a row is created from
+ */
+public class SqlScriptWriter<T> implements AutoCloseable {
+
+    public static final int DEFAULT_STATEMENTS_PER_COMMIT = 10;
+    public static final long DEFAULT_MAX_FILE_SIZE = 256L * 1024 * 1024;
+
+    private static final String FILE_EXTENSION = ".sql";
+    private static final int PART_NUMBER_LENGTH = 3;
+    private static final int MAX_PENDING_BATCHES = 2;
+
+    private final Path directory;
+    private final String filePrefix;
+    private final TableMapping<T> mapping;
+    private final SqlDialect dialect;
+    private final int rowsPerStatement;
+    private final int statementsPerCommit;
+    private final long maxFileSize;
+    private final String insertInto;
+    private final ExecutorService worker;
+    private final Semaphore pendingBatches;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    private int numberOfFiles;
+    private long writtenRows;
+
+    // only accessed by the worker
+    private final StringBuilder statement = new StringBuilder();
+    private OutputStream output;
+    private int rowsInStatement;
+    private int statementsInTransaction;
+    private long bytesInFile;
+
+    /**
+     * Creates the writer. The first script is created with the first row.
+     *
+     * @param directory
+     *            directory of the scripts
+     * @param filePrefix
+     *            name of the scripts without part number and extension
+     * @param mapping
+     *            mapping of the table
+     * @param schemaName
+     *            name of the schema
+     * @param dialect
+     *            dialect of the target database
+     * @param rowsPerStatement
+     *            maximum number of rows per INSERT statement
+     * @param statementsPerCommit
+     *            number of statements per transaction
+     * @param maxFileSize
+     *            number of bytes after which the next script is started
+     */
+    public SqlScriptWriter(Path directory, String filePrefix, TableMapping<T> mapping, String schemaName,
+            SqlDialect dialect, int rowsPerStatement, int statementsPerCommit, long maxFileSize) {
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.mapping = mapping;
+        this.dialect = dialect;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerCommit = statementsPerCommit;
+        this.maxFileSize = maxFileSize;
+        this.insertInto = "INSERT INTO " + mapping.getQualifiedName(schemaName) + " (" + mapping.getColumnList()
+                + ") VALUES";
+        this.worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "sql-" + filePrefix));
+        this.pendingBatches = new Semaphore(MAX_PENDING_BATCHES);
+    }
+
+    /**
+     * Hands the rows of all given entities to the worker. The entities must not be changed afterwards.
+     *
+     * @param entities
+     *            entities the rows are created from
+     * @throws IOException
+     *             if an earlier batch could not be written
+     */
+    public void addAll(Collection<? extends T> entities) throws IOException {
+        checkFailure();
+        List<T> batch = new ArrayList<>(entities);
+        try {
+            pendingBatches.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer of " + filePrefix);
+        }
+        worker.execute(() -> {
+            try {
+                if (failure.get() == null) {
+                    for (T entity : batch) {
+                        addRow(entity);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                pendingBatches.release();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of written rows. Complete after the writer is closed.
+     *
+     * @return number of rows
+     */
+    public synchronized long getWrittenRows() {
+        return writtenRows;
+    }
+
+    /**
+     * Returns the number of written scripts. Complete after the writer is closed.
+     *
+     * @return number of scripts
+     */
+    public synchronized int getNumberOfFiles() {
+        return numberOfFiles;
+    }
+
+    /**
+     * Writes the last statement, commits the transaction and waits for the worker.
+     */
+    @Override
+    public void close() throws IOException {
+        worker.execute(() -> {
+            try {
+                if (failure.get() == null) {
+                    endStatement();
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+            try {
+                closeFile();
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        worker.shutdown();
+        try {
+            worker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the writer of " + filePrefix);
+        }
+        checkFailure();
+    }
+
+    private void addRow(T entity) throws IOException {
+        statement.append(rowsInStatement == 0 ? insertInto : ",");
+        statement.append(System.lineSeparator()).append('(');
+        List<Column<T>> columns = mapping.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                statement.append(", ");
+            }
+            dialect.appendLiteral(statement, columns.get(i).valueOf(entity));
+        }
+        statement.append(')');
+        rowsInStatement++;
+        if (rowsInStatement >= rowsPerStatement) {
+            endStatement();
+        }
+    }
+
+    private void endStatement() throws IOException {
+        if (rowsInStatement == 0) {
+            return;
+        }
+        if (output == null) {
+            openFile();
+        }
+        if (statementsInTransaction == 0) {
+            writeLine(dialect.getBeginTransaction());
+        }
+        statement.append(';').append(System.lineSeparator());
+        write(statement);
+        statement.setLength(0);
+        synchronized (this) {
+            writtenRows += rowsInStatement;
+        }
+        rowsInStatement = 0;
+        statementsInTransaction++;
+        if (statementsInTransaction >= statementsPerCommit) {
+            commit();
+        }
+        if (bytesInFile >= maxFileSize) {
+            closeFile();
+        }
+    }
+
+    private void openFile() throws IOException {
+        int part;
+        synchronized (this) {
+            part = ++numberOfFiles;
+        }
+        Path file = directory.resolve(filePrefix + "_" + Formatter.format(part, PART_NUMBER_LENGTH) + FILE_EXTENSION);
+        output = new BufferedOutputStream(Files.newOutputStream(file));
+        bytesInFile = 0;
+        writeLine("-- Rows of " + mapping.getTableName() + " for " + dialect.getIdentifier());
+        writeLine(dialect.getScriptHeader());
+    }
+
+    private void closeFile() throws IOException {
+        if (output == null) {
+            return;
+        }
+        try {
+            if (statementsInTransaction > 0) {
+                commit();
+            }
+        } finally {
+            output.close();
+            output = null;
+        }
+    }
+
+    private void commit() throws IOException {
+        writeLine("COMMIT;");
+        statementsInTransaction = 0;
+    }
+
+    private void writeLine(String line) throws IOException {
+        if (!line.isEmpty()) {
+            write(line + System.lineSeparator());
+        }
+    }
+
+    private void write(CharSequence text) throws IOException {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        output.write(bytes);
+        bytesInFile += bytes.length;
+    }
+
+    private void checkFailure() throws IOException {
+        Exception exception = failure.get();
+        if (exception instanceof IOException) {
+            throw (IOException) exception;
+        } else if (exception != null) {
+            throw new IOException(exception);
+        }
+    }
+}
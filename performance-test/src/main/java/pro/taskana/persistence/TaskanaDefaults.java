@@ -0,0 +1,193 @@
+package pro.taskana.persistence;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import pro.taskana.Attachment;
+import pro.taskana.Classification;
+import pro.taskana.ClassificationSummary;
+import pro.taskana.TaskState;
+import pro.taskana.impl.AttachmentImpl;
+import pro.taskana.impl.ClassificationImpl;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemImpl;
+import pro.taskana.impl.WorkbasketImpl;
+import pro.taskana.impl.util.IdGenerator;
+
+/**
+ * Applies the values the Taskana services set when an entity is created. Used by all persistence modes which bypass
+ * the Taskana API, so that they write the same rows as the API would.
+ */
+public final class TaskanaDefaults {
+
+    public static final String ID_PREFIX_TASK = "TKI";
+    public static final String ID_PREFIX_BUSINESS_PROCESS = "BPI";
+    public static final String ID_PREFIX_ATTACHMENT = "TAI";
+    public static final String ID_PREFIX_CLASSIFICATION = "CLI";
+    public static final String ID_PREFIX_WORKBASKET = "WBI";
+    public static final String ID_PREFIX_WORKBASKET_AUTHORIZATION = "WAI";
+
+    /**
+     * Domain of the master Classifications, which <code>ClassificationService.createClassification</code> copies
+     * every Classification of a real domain to.
+     */
+    public static final String MASTER_DOMAIN = "";
+
+    private TaskanaDefaults() {
+    }
+
+    /**
+     * Sets the standard values of <code>TaskService.createTask</code> for the given task and its attachments. The
+     * due date is calculated in calendar days, the generated classifications do not define a service level.
+     *
+     * @param task
+     *            task to prepare
+     * @param now
+     *            creation time of the task
+     */
+    public static void prepareTask(TaskWrapper task, Instant now) {
+        task.setId(IdGenerator.generateWithPrefix(ID_PREFIX_TASK));
+        task.setState(TaskState.READY);
+        task.setCreated(now);
+        task.setModified(now);
+        task.setRead(false);
+        task.setTransferred(false);
+        if (task.getPlanned() == null) {
+            task.setPlanned(now);
+        }
+        if (task.getBusinessProcessId() == null) {
+            task.setBusinessProcessId(IdGenerator.generateWithPrefix(ID_PREFIX_BUSINESS_PROCESS));
+        }
+
+        Classification classification = task.getClassification();
+        int priority = classification.getPriority();
+        String serviceLevel = classification.getServiceLevel();
+        if (task.getAttachments() != null) {
+            for (Attachment attachment : task.getAttachments()) {
+                prepareAttachment((AttachmentImpl) attachment, task.getId(), now);
+                ClassificationSummary attachmentClassification = attachment.getClassificationSummary();
+                if (attachmentClassification != null && attachmentClassification.getPriority() > priority) {
+                    priority = attachmentClassification.getPriority();
+                }
+            }
+        }
+        task.setPriority(priority);
+        if (serviceLevel != null && !serviceLevel.isEmpty()) {
+            task.setDue(task.getPlanned().plus(Duration.ofDays(Duration.parse(serviceLevel).toDays())));
+        }
+        if (task.getName() == null) {
+            task.setName(classification.getName());
+        }
+        if (task.getDescription() == null) {
+            task.setDescription(classification.getDescription());
+        }
+    }
+
+    /**
+     * Sets the keys, ids and timestamps of the Classifications of one category the same way
+     * {@link pro.taskana.adapter.TaskanaAPI#createClassification(List)} and
+     * <code>ClassificationService.createClassification</code> do. The first Classification is the parent of all
+     * following ones.
+     *
+     * @param classifications
+     *            Classifications of one category, the parent first
+     * @param now
+     *            creation time of the Classifications
+     */
+    public static void prepareClassifications(List<ClassificationWrapper> classifications, Instant now) {
+        ClassificationWrapper parent = classifications.get(0);
+        parent.setKey(parent.getCategory());
+        prepareClassification(parent, "", "", now);
+        for (int i = 1; i < classifications.size(); i++) {
+            ClassificationWrapper classification = classifications.get(i);
+            classification.setKey(classification.getCategory() + (i - 1));
+            prepareClassification(classification, parent.getId(), parent.getKey(), now);
+        }
+    }
+
+    /**
+     * Creates the copy of a Classification in the {@link #MASTER_DOMAIN}.
+     *
+     * @param classification
+     *            prepared Classification of a real domain
+     * @param masterParentId
+     *            id of the parent in the master domain, empty if the Classification has no parent
+     * @return new master Classification with its own id
+     */
+    public static ClassificationWrapper masterCopyOf(ClassificationImpl classification, String masterParentId) {
+        ClassificationWrapper copy = new ClassificationWrapper();
+        copy.setId(IdGenerator.generateWithPrefix(ID_PREFIX_CLASSIFICATION));
+        copy.setKey(classification.getKey());
+        copy.setParentId(masterParentId);
+        copy.setParentKey(classification.getParentKey());
+        copy.setCategory(classification.getCategory());
+        copy.setType(classification.getType());
+        copy.setDomain(MASTER_DOMAIN);
+        copy.setIsValidInDomain(false);
+        copy.setCreated(classification.getCreated());
+        copy.setModified(classification.getModified());
+        copy.setName(classification.getName());
+        copy.setDescription(classification.getDescription());
+        copy.setPriority(classification.getPriority());
+        copy.setServiceLevel(classification.getServiceLevel());
+        copy.setApplicationEntryPoint(classification.getApplicationEntryPoint());
+        copy.setCustom1(classification.getCustom1());
+        copy.setCustom2(classification.getCustom2());
+        copy.setCustom3(classification.getCustom3());
+        copy.setCustom4(classification.getCustom4());
+        copy.setCustom5(classification.getCustom5());
+        copy.setCustom6(classification.getCustom6());
+        copy.setCustom7(classification.getCustom7());
+        copy.setCustom8(classification.getCustom8());
+        return copy;
+    }
+
+    /**
+     * Sets the standard values of <code>WorkbasketService.createWorkbasket</code>. The generated id is kept.
+     *
+     * @param workbasket
+     *            Workbasket to prepare
+     * @param now
+     *            creation time of the Workbasket
+     */
+    public static void prepareWorkbasket(WorkbasketImpl workbasket, Instant now) {
+        if (workbasket.getId() == null || workbasket.getId().isEmpty()) {
+            workbasket.setId(IdGenerator.generateWithPrefix(ID_PREFIX_WORKBASKET));
+        }
+        workbasket.setCreated(now);
+        workbasket.setModified(now);
+        workbasket.setMarkedForDeletion(false);
+    }
+
+    /**
+     * Sets the id <code>WorkbasketService.createWorkbasketAccessItem</code> generates, replacing the running number
+     * of the generator.
+     *
+     * @param workbasketAccessItem
+     *            access item to prepare
+     */
+    public static void prepareWorkbasketAccessItem(WorkbasketAccessItemImpl workbasketAccessItem) {
+        workbasketAccessItem.setId(IdGenerator.generateWithPrefix(ID_PREFIX_WORKBASKET_AUTHORIZATION));
+    }
+
+    private static void prepareClassification(ClassificationImpl classification, String parentId, String parentKey,
+            Instant now) {
+        classification.setId(IdGenerator.generateWithPrefix(ID_PREFIX_CLASSIFICATION));
+        classification.setParentId(parentId);
+        classification.setParentKey(parentKey);
+        classification.setCreated(now);
+        classification.setModified(now);
+        if (classification.getIsValidInDomain() == null) {
+            classification.setIsValidInDomain(true);
+        }
+    }
+
+    private static void prepareAttachment(AttachmentImpl attachment, String taskId, Instant now) {
+        attachment.setId(IdGenerator.generateWithPrefix(ID_PREFIX_ATTACHMENT));
+        attachment.setTaskId(taskId);
+        attachment.setCreated(now);
+        attachment.setModified(now);
+    }
+}
@@ -0,0 +1,51 @@
+package pro.taskana.persistence.table;
+
+import java.util.function.Function;
+
+/**
+ * A single column of a Taskana table together with the accessor that reads its value from an entity.
+ *
+ * @param <T>
+ *            type of the entity a row is created from
+ */
+public class Column<T> {
+
+    private final String name;
+    private final int sqlType;
+    private final Function<T, Object> accessor;
+
+    public Column(String name, int sqlType, Function<T, Object> accessor) {
+        this.name = name;
+        this.sqlType = sqlType;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Returns the column name as used in the Taskana schema.
+     *
+     * @return column name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the {@link java.sql.Types} constant of this column.
+     *
+     * @return sql type
+     */
+    public int getSqlType() {
+        return sqlType;
+    }
+
+    /**
+     * Reads the value of this column from the given entity.
+     *
+     * @param entity
+     *            entity the row is created from
+     * @return column value, may be <code>null</code>
+     */
+    public Object valueOf(T entity) {
+        return accessor.apply(entity);
+    }
+}
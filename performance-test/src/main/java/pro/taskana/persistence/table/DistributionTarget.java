@@ -0,0 +1,23 @@
+package pro.taskana.persistence.table;
+
+/**
+ * A row of the DISTRIBUTION_TARGETS table, i.e. the ids of a Workbasket and of one of its distribution targets.
+ */
+public class DistributionTarget {
+
+    private final String sourceId;
+    private final String targetId;
+
+    public DistributionTarget(String sourceId, String targetId) {
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+}
@@ -0,0 +1,139 @@
+package pro.taskana.persistence.table;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Describes how an entity is mapped to the columns of a Taskana table.
+ *
+ * @param <T>
+ *            type of the entity a row is created from
+ */
+public class TableMapping<T> {
+
+    private final String tableName;
+    private final List<Column<T>> columns;
+
+    private TableMapping(String tableName, List<Column<T>> columns) {
+        this.tableName = tableName;
+        this.columns = Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Starts a new mapping for the given table.
+     *
+     * @param tableName
+     *            name of the table without schema
+     * @return builder for the mapping
+     */
+    public static <T> Builder<T> forTable(String tableName) {
+        return new Builder<>(tableName);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<Column<T>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the table name qualified with the given schema.
+     *
+     * @param schemaName
+     *            name of the schema
+     * @return qualified table name
+     */
+    public String getQualifiedName(String schemaName) {
+        return schemaName + "." + tableName;
+    }
+
+    /**
+     * Returns the comma separated list of all column names in mapping order.
+     *
+     * @return column list
+     */
+    public String getColumnList() {
+        return columns.stream().map(Column::getName).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Creates the parameterized insert statement for this table.
+     *
+     * @param schemaName
+     *            name of the schema
+     * @return insert statement with one placeholder per column
+     */
+    public String getInsertStatement(String schemaName) {
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO " + getQualifiedName(schemaName) + " (" + getColumnList() + ") VALUES (" + placeholders
+                + ")";
+    }
+
+    /**
+     * Binds the column values of the given entity to a statement created by
+     * {@link #getInsertStatement(String)}.
+     *
+     * @param statement
+     *            prepared insert statement
+     * @param entity
+     *            entity the row is created from
+     * @throws SQLException
+     *             if a value cannot be bound
+     */
+    public void bind(PreparedStatement statement, T entity) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T> column = columns.get(i);
+            bindValue(statement, i + 1, column.getSqlType(), column.valueOf(entity));
+        }
+    }
+
+    private static void bindValue(PreparedStatement statement, int index, int sqlType, Object value)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else if (value instanceof Instant) {
+            statement.setTimestamp(index, Timestamp.from((Instant) value));
+        } else if (value instanceof Boolean) {
+            statement.setBoolean(index, (Boolean) value);
+        } else if (value instanceof Integer) {
+            statement.setInt(index, (Integer) value);
+        } else {
+            statement.setString(index, value.toString());
+        }
+    }
+
+    /**
+     * Builder for {@link TableMapping}.
+     *
+     * @param <T>
+     *            type of the entity a row is created from
+     */
+    public static class Builder<T> {
+
+        private final String tableName;
+        private final List<Column<T>> columns;
+
+        private Builder(String tableName) {
+            this.tableName = tableName;
+            this.columns = new ArrayList<>();
+        }
+
+        public Builder<T> column(String name, int sqlType, Function<T, Object> accessor) {
+            columns.add(new Column<>(name, sqlType, accessor));
+            return this;
+        }
+
+        public TableMapping<T> build() {
+            return new TableMapping<>(tableName, new ArrayList<>(columns));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package pro.taskana.persistence.table;
+
+import java.sql.Types;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.json.JSONObject;
+
+import pro.taskana.ClassificationSummary;
+import pro.taskana.ObjectReference;
+import pro.taskana.WorkbasketSummary;
+import pro.taskana.impl.AttachmentImpl;
+import pro.taskana.impl.ClassificationImpl;
+import pro.taskana.impl.TaskImpl;
+import pro.taskana.impl.WorkbasketAccessItemImpl;
+import pro.taskana.impl.WorkbasketImpl;
+
+/**
+ * Column mappings of the Taskana tables. The column order and the value conversion follow the mybatis mappers of
+ * taskana-core, so that rows written through these mappings equal the rows written by the Taskana services.
+ */
+public final class TaskanaTables {
+
+    public static final TableMapping<TaskImpl> TASK = TableMapping.<TaskImpl> forTable("TASK")
+            .column("ID", Types.VARCHAR, TaskImpl::getId)
+            .column("CREATED", Types.TIMESTAMP, TaskImpl::getCreated)
+            .column("CLAIMED", Types.TIMESTAMP, TaskImpl::getClaimed)
+            .column("COMPLETED", Types.TIMESTAMP, TaskImpl::getCompleted)
+            .column("MODIFIED", Types.TIMESTAMP, TaskImpl::getModified)
+            .column("PLANNED", Types.TIMESTAMP, TaskImpl::getPlanned)
+            .column("DUE", Types.TIMESTAMP, TaskImpl::getDue)
+            .column("NAME", Types.VARCHAR, TaskImpl::getName)
+            .column("CREATOR", Types.VARCHAR, TaskImpl::getCreator)
+            .column("DESCRIPTION", Types.VARCHAR, TaskImpl::getDescription)
+            .column("NOTE", Types.VARCHAR, TaskImpl::getNote)
+            .column("PRIORITY", Types.INTEGER, TaskImpl::getPriority)
+            .column("STATE", Types.VARCHAR, TaskImpl::getState)
+            .column("CLASSIFICATION_CATEGORY", Types.VARCHAR, TaskImpl::getClassificationCategory)
+            .column("CLASSIFICATION_KEY", Types.VARCHAR, classification(TaskImpl::getClassificationSummary,
+                    ClassificationSummary::getKey))
+            .column("CLASSIFICATION_ID", Types.VARCHAR, classification(TaskImpl::getClassificationSummary,
+                    ClassificationSummary::getId))
+            .column("WORKBASKET_ID", Types.VARCHAR, workbasket(WorkbasketSummary::getId))
+            .column("WORKBASKET_KEY", Types.VARCHAR, workbasket(WorkbasketSummary::getKey))
+            .column("DOMAIN", Types.VARCHAR, TaskImpl::getDomain)
+            .column("BUSINESS_PROCESS_ID", Types.VARCHAR, TaskImpl::getBusinessProcessId)
+            .column("PARENT_BUSINESS_PROCESS_ID", Types.VARCHAR, TaskImpl::getParentBusinessProcessId)
+            .column("OWNER", Types.VARCHAR, TaskImpl::getOwner)
+            .column("POR_COMPANY", Types.VARCHAR, objectReference(TaskImpl::getPrimaryObjRef,
+                    ObjectReference::getCompany))
+            .column("POR_SYSTEM", Types.VARCHAR, objectReference(TaskImpl::getPrimaryObjRef,
+                    ObjectReference::getSystem))
+            .column("POR_INSTANCE", Types.VARCHAR, objectReference(TaskImpl::getPrimaryObjRef,
+                    ObjectReference::getSystemInstance))
+            .column("POR_TYPE", Types.VARCHAR, objectReference(TaskImpl::getPrimaryObjRef,
+                    ObjectReference::getType))
+            .column("POR_VALUE", Types.VARCHAR, objectReference(TaskImpl::getPrimaryObjRef,
+                    ObjectReference::getValue))
+            .column("IS_READ", Types.BOOLEAN, TaskImpl::isRead)
+            .column("IS_TRANSFERRED", Types.BOOLEAN, TaskImpl::isTransferred)
+            .column("CALLBACK_INFO", Types.CLOB, task -> toJson(task.getCallbackInfo()))
+            .column("CUSTOM_ATTRIBUTES", Types.CLOB, task -> toJson(task.getCustomAttributes()))
+            .column("CUSTOM_1", Types.VARCHAR, TaskImpl::getCustom1)
+            .column("CUSTOM_2", Types.VARCHAR, TaskImpl::getCustom2)
+            .column("CUSTOM_3", Types.VARCHAR, TaskImpl::getCustom3)
+            .column("CUSTOM_4", Types.VARCHAR, TaskImpl::getCustom4)
+            .column("CUSTOM_5", Types.VARCHAR, TaskImpl::getCustom5)
+            .column("CUSTOM_6", Types.VARCHAR, TaskImpl::getCustom6)
+            .column("CUSTOM_7", Types.VARCHAR, TaskImpl::getCustom7)
+            .column("CUSTOM_8", Types.VARCHAR, TaskImpl::getCustom8)
+            .column("CUSTOM_9", Types.VARCHAR, TaskImpl::getCustom9)
+            .column("CUSTOM_10", Types.VARCHAR, TaskImpl::getCustom10)
+            .column("CUSTOM_11", Types.VARCHAR, TaskImpl::getCustom11)
+            .column("CUSTOM_12", Types.VARCHAR, TaskImpl::getCustom12)
+            .column("CUSTOM_13", Types.VARCHAR, TaskImpl::getCustom13)
+            .column("CUSTOM_14", Types.VARCHAR, TaskImpl::getCustom14)
+            .column("CUSTOM_15", Types.VARCHAR, TaskImpl::getCustom15)
+            .column("CUSTOM_16", Types.VARCHAR, TaskImpl::getCustom16)
+            .build();
+
+    public static final TableMapping<AttachmentImpl> ATTACHMENT = TableMapping.<AttachmentImpl> forTable("ATTACHMENT")
+            .column("ID", Types.VARCHAR, AttachmentImpl::getId)
+            .column("TASK_ID", Types.VARCHAR, AttachmentImpl::getTaskId)
+            .column("CREATED", Types.TIMESTAMP, AttachmentImpl::getCreated)
+            .column("MODIFIED", Types.TIMESTAMP, AttachmentImpl::getModified)
+            .column("CLASSIFICATION_KEY", Types.VARCHAR, classification(AttachmentImpl::getClassificationSummary,
+                    ClassificationSummary::getKey))
+            .column("CLASSIFICATION_ID", Types.VARCHAR, classification(AttachmentImpl::getClassificationSummary,
+                    ClassificationSummary::getId))
+            .column("REF_COMPANY", Types.VARCHAR, objectReference(AttachmentImpl::getObjectReference,
+                    ObjectReference::getCompany))
+            .column("REF_SYSTEM", Types.VARCHAR, objectReference(AttachmentImpl::getObjectReference,
+                    ObjectReference::getSystem))
+            .column("REF_INSTANCE", Types.VARCHAR, objectReference(AttachmentImpl::getObjectReference,
+                    ObjectReference::getSystemInstance))
+            .column("REF_TYPE", Types.VARCHAR, objectReference(AttachmentImpl::getObjectReference,
+                    ObjectReference::getType))
+            .column("REF_VALUE", Types.VARCHAR, objectReference(AttachmentImpl::getObjectReference,
+                    ObjectReference::getValue))
+            .column("CHANNEL", Types.VARCHAR, AttachmentImpl::getChannel)
+            .column("RECEIVED", Types.TIMESTAMP, AttachmentImpl::getReceived)
+            .column("CUSTOM_ATTRIBUTES", Types.CLOB, attachment -> toJson(attachment.getCustomAttributes()))
+            .build();
+
+    public static final TableMapping<WorkbasketImpl> WORKBASKET = TableMapping.<WorkbasketImpl> forTable("WORKBASKET")
+            .column("ID", Types.VARCHAR, WorkbasketImpl::getId)
+            .column("KEY", Types.VARCHAR, WorkbasketImpl::getKey)
+            .column("CREATED", Types.TIMESTAMP, WorkbasketImpl::getCreated)
+            .column("MODIFIED", Types.TIMESTAMP, WorkbasketImpl::getModified)
+            .column("NAME", Types.VARCHAR, WorkbasketImpl::getName)
+            .column("DOMAIN", Types.VARCHAR, WorkbasketImpl::getDomain)
+            .column("TYPE", Types.VARCHAR, WorkbasketImpl::getType)
+            .column("DESCRIPTION", Types.VARCHAR, WorkbasketImpl::getDescription)
+            .column("OWNER", Types.VARCHAR, WorkbasketImpl::getOwner)
+            .column("CUSTOM_1", Types.VARCHAR, WorkbasketImpl::getCustom1)
+            .column("CUSTOM_2", Types.VARCHAR, WorkbasketImpl::getCustom2)
+            .column("CUSTOM_3", Types.VARCHAR, WorkbasketImpl::getCustom3)
+            .column("CUSTOM_4", Types.VARCHAR, WorkbasketImpl::getCustom4)
+            .column("ORG_LEVEL_1", Types.VARCHAR, WorkbasketImpl::getOrgLevel1)
+            .column("ORG_LEVEL_2", Types.VARCHAR, WorkbasketImpl::getOrgLevel2)
+            .column("ORG_LEVEL_3", Types.VARCHAR, WorkbasketImpl::getOrgLevel3)
+            .column("ORG_LEVEL_4", Types.VARCHAR, WorkbasketImpl::getOrgLevel4)
+            .column("MARKED_FOR_DELETION", Types.BOOLEAN, WorkbasketImpl::isMarkedForDeletion)
+            .build();
+
+    public static final TableMapping<DistributionTarget> DISTRIBUTION_TARGETS = TableMapping
+            .<DistributionTarget> forTable("DISTRIBUTION_TARGETS")
+            .column("SOURCE_ID", Types.VARCHAR, DistributionTarget::getSourceId)
+            .column("TARGET_ID", Types.VARCHAR, DistributionTarget::getTargetId)
+            .build();
+
+    public static final TableMapping<WorkbasketAccessItemImpl> WORKBASKET_ACCESS_LIST = TableMapping
+            .<WorkbasketAccessItemImpl> forTable("WORKBASKET_ACCESS_LIST")
+            .column("ID", Types.VARCHAR, WorkbasketAccessItemImpl::getId)
+            .column("WORKBASKET_ID", Types.VARCHAR, WorkbasketAccessItemImpl::getWorkbasketId)
+            .column("ACCESS_ID", Types.VARCHAR, WorkbasketAccessItemImpl::getAccessId)
+            .column("ACCESS_NAME", Types.VARCHAR, WorkbasketAccessItemImpl::getAccessName)
+            .column("PERM_READ", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermRead)
+            .column("PERM_OPEN", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermOpen)
+            .column("PERM_APPEND", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermAppend)
+            .column("PERM_TRANSFER", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermTransfer)
+            .column("PERM_DISTRIBUTE", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermDistribute)
+            .column("PERM_CUSTOM_1", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom1)
+            .column("PERM_CUSTOM_2", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom2)
+            .column("PERM_CUSTOM_3", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom3)
+            .column("PERM_CUSTOM_4", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom4)
+            .column("PERM_CUSTOM_5", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom5)
+            .column("PERM_CUSTOM_6", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom6)
+            .column("PERM_CUSTOM_7", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom7)
+            .column("PERM_CUSTOM_8", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom8)
+            .column("PERM_CUSTOM_9", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom9)
+            .column("PERM_CUSTOM_10", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom10)
+            .column("PERM_CUSTOM_11", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom11)
+            .column("PERM_CUSTOM_12", Types.BOOLEAN, WorkbasketAccessItemImpl::isPermCustom12)
+            .build();
+
+    public static final TableMapping<ClassificationImpl> CLASSIFICATION = TableMapping
+            .<ClassificationImpl> forTable("CLASSIFICATION")
+            .column("ID", Types.VARCHAR, ClassificationImpl::getId)
+            .column("KEY", Types.VARCHAR, ClassificationImpl::getKey)
+            .column("PARENT_ID", Types.VARCHAR, ClassificationImpl::getParentId)
+            .column("PARENT_KEY", Types.VARCHAR, ClassificationImpl::getParentKey)
+            .column("CATEGORY", Types.VARCHAR, ClassificationImpl::getCategory)
+            .column("TYPE", Types.VARCHAR, ClassificationImpl::getType)
+            .column("DOMAIN", Types.VARCHAR, ClassificationImpl::getDomain)
+            .column("VALID_IN_DOMAIN", Types.BOOLEAN, ClassificationImpl::getIsValidInDomain)
+            .column("CREATED", Types.TIMESTAMP, ClassificationImpl::getCreated)
+            .column("MODIFIED", Types.TIMESTAMP, ClassificationImpl::getModified)
+            .column("NAME", Types.VARCHAR, ClassificationImpl::getName)
+            .column("DESCRIPTION", Types.VARCHAR, ClassificationImpl::getDescription)
+            .column("PRIORITY", Types.INTEGER, ClassificationImpl::getPriority)
+            .column("SERVICE_LEVEL", Types.VARCHAR, ClassificationImpl::getServiceLevel)
+            .column("APPLICATION_ENTRY_POINT", Types.VARCHAR, ClassificationImpl::getApplicationEntryPoint)
+            .column("CUSTOM_1", Types.VARCHAR, ClassificationImpl::getCustom1)
+            .column("CUSTOM_2", Types.VARCHAR, ClassificationImpl::getCustom2)
+            .column("CUSTOM_3", Types.VARCHAR, ClassificationImpl::getCustom3)
+            .column("CUSTOM_4", Types.VARCHAR, ClassificationImpl::getCustom4)
+            .column("CUSTOM_5", Types.VARCHAR, ClassificationImpl::getCustom5)
+            .column("CUSTOM_6", Types.VARCHAR, ClassificationImpl::getCustom6)
+            .column("CUSTOM_7", Types.VARCHAR, ClassificationImpl::getCustom7)
+            .column("CUSTOM_8", Types.VARCHAR, ClassificationImpl::getCustom8)
+            .build();
+
+    private TaskanaTables() {
+    }
+
+    /**
+     * Serializes a map the same way the MapTypeHandler of taskana-core does. Empty maps are stored as
+     * <code>null</code>.
+     *
+     * @param map
+     *            map to serialize
+     * @return json representation or <code>null</code>
+     */
+    static String toJson(Map<String, String> map) {
+        if (map == null || map.isEmpty()) {
+            return null;
+        }
+        return new JSONObject(map).toString();
+    }
+
+    private static Function<TaskImpl, Object> workbasket(Function<WorkbasketSummary, String> attribute) {
+        return task -> task.getWorkbasketSummary() == null ? null : attribute.apply(task.getWorkbasketSummary());
+    }
+
+    private static <T> Function<T, Object> classification(Function<T, ClassificationSummary> summary,
+            Function<ClassificationSummary, String> attribute) {
+        return entity -> {
+            ClassificationSummary classification = summary.apply(entity);
+            return classification == null ? null : attribute.apply(classification);
+        };
+    }
+
+    private static <T> Function<T, Object> objectReference(Function<T, ObjectReference> reference,
+            Function<ObjectReference, String> attribute) {
+        return entity -> {
+            ObjectReference objectReference = reference.apply(entity);
+            return objectReference == null ? null : attribute.apply(objectReference);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package export;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import pro.taskana.export.io.CsvWriter;
+import pro.taskana.export.io.FileType;
+import pro.taskana.export.io.FileUtils;
+
+public class TestChunkedExport {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldKeepPlainNameOfSingleChunk() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        writeLines(directory, 3, 3);
+
+        assertThat(fileNames(directory), equalTo("tasks.csv"));
+        assertThat(Files.readAllLines(directory.resolve("tasks.csv")), equalTo(Arrays.asList("1", "2", "3")));
+    }
+
+    @Test
+    public void shouldNumberAllChunksOfSplitFile() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        writeLines(directory, 3, 4);
+
+        assertThat(fileNames(directory), equalTo("tasks_001.csv tasks_002.csv"));
+        assertThat(Files.readAllLines(directory.resolve("tasks_001.csv")), equalTo(Arrays.asList("1", "2", "3")));
+        assertThat(Files.readAllLines(directory.resolve("tasks_002.csv")), equalTo(Arrays.asList("4")));
+    }
+
+    private void writeLines(Path directory, long maxLinesPerFile, int numberOfLines) throws IOException {
+        try (CsvWriter writer = new FileUtils(directory, FileType.CSV).withMaxLinesPerFile(maxLinesPerFile)
+                .openFile("tasks")) {
+            for (int i = 1; i <= numberOfLines; i++) {
+                writer.writeLine(String.valueOf(i));
+            }
+        }
+    }
+
+    private String fileNames(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.joining(" "));
+        }
+    }
+}
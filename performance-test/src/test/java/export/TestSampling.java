@@ -0,0 +1,84 @@
+package export;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import pro.taskana.export.sampling.Sampler;
+
+public class TestSampling {
+
+    private static final int CANDIDATES = 100000;
+    private static final int SAMPLE_SIZE = 1000;
+
+    @Test
+    public void shouldSelectDistinctCandidatesFromWholeStream() {
+        List<Integer> sample = sample(Sampler.reservoir(SAMPLE_SIZE, new Random(42)));
+
+        assertThat(sample.size(), equalTo(SAMPLE_SIZE));
+        assertThat(new HashSet<>(sample).size(), equalTo(SAMPLE_SIZE));
+        assertThat(sample.stream().anyMatch(i -> i > CANDIDATES / 2), equalTo(true));
+    }
+
+    @Test
+    public void shouldSelectSameSampleForSameSeed() {
+        assertThat(sample(Sampler.reservoir(SAMPLE_SIZE, new Random(42))),
+                equalTo(sample(Sampler.reservoir(SAMPLE_SIZE, new Random(42)))));
+    }
+
+    @Test
+    public void shouldCoverAllStrata() {
+        int strata = 100;
+        List<Integer> sample = sample(Sampler.stratified(SAMPLE_SIZE, i -> i % strata, new Random(42)));
+        Map<Integer, Long> perStratum = sample.stream()
+                .collect(Collectors.groupingBy(i -> i % strata, Collectors.counting()));
+
+        assertThat(perStratum.size(), equalTo(strata));
+        assertThat(new HashSet<>(perStratum.values()), equalTo(Collections.singleton((long) (SAMPLE_SIZE / strata))));
+    }
+
+    @Test
+    public void shouldLeavePlacesOfSmallStrataToLargerStrata() {
+        List<Integer> sample = sample(Sampler.stratified(SAMPLE_SIZE, i -> i < 10, new Random(42)));
+
+        assertThat(sample.size(), equalTo(SAMPLE_SIZE));
+        assertThat(new HashSet<>(sample).size(), equalTo(SAMPLE_SIZE));
+        assertThat(sample.stream().filter(i -> i < 10).count(), equalTo(10L));
+    }
+
+    @Test
+    public void shouldSelectHotSetRepeatedly() {
+        List<Integer> sample = sample(Sampler.hotCold(SAMPLE_SIZE, 0.2, 0.8, new Random(42)));
+        Map<Integer, Long> accesses = sample.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        long hotAccesses = accesses.values().stream().sorted(Comparator.reverseOrder()).limit(SAMPLE_SIZE / 5)
+                .mapToLong(Long::longValue).sum();
+
+        assertThat(sample.size(), equalTo(SAMPLE_SIZE));
+        assertThat(accesses.size() < SAMPLE_SIZE / 2, equalTo(true));
+        assertThat(hotAccesses >= SAMPLE_SIZE * 7 / 10, equalTo(true));
+        assertThat(sample, equalTo(sample(Sampler.hotCold(SAMPLE_SIZE, 0.2, 0.8, new Random(42)))));
+    }
+
+    private List<Integer> sample(Sampler<Integer> sampler) {
+        List<Integer> sample = new ArrayList<>();
+        for (int i = 0; i < CANDIDATES; i++) {
+            if (sampler.offer(i)) {
+                sample.add(i);
+            }
+        }
+        sample.addAll(sampler.drain());
+        return sample;
+    }
+}
@@ -0,0 +1,116 @@
+package generation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import pro.taskana.data.enums.AccessType;
+import pro.taskana.data.generation.DomainContext;
+import pro.taskana.data.generation.builder.AccessItemBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.impl.UserWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+public class TestAccessItemGeneration {
+
+    private static final String DOMAIN = "T";
+
+    private WorkbasketStructureBuilder structureBuilder;
+    private List<WorkbasketWrapper> leaves;
+    private WorkbasketWrapper top;
+
+    /**
+     * Builds a hierarchy of one top workbasket, two group workbaskets and four
+     * personal workbaskets, two below each group.
+     */
+    @Before
+    public void setUp() {
+        structureBuilder = new WorkbasketStructureBuilder(DOMAIN);
+        ElementStack<WorkbasketWrapper> personalWorkbaskets = structureBuilder.createSimpleWorkbaskets(4);
+        leaves = personalWorkbaskets.toList();
+        List<WorkbasketWrapper> groups = structureBuilder.newLayer().withWb(2).withNumberOfDistTargets(2)
+                .selectFrom(personalWorkbaskets).build();
+        top = structureBuilder.newLayer().withWb(1).withNumberOfDistTargets(2)
+                .selectFrom(new ElementStack<>(groups)).build().get(0);
+        structureBuilder.getGeneratedWorkbaskets();
+    }
+
+    @Test
+    public void shouldMergeOverlappingGrantsIntoOneAccessItem() {
+        AccessItemBuilder accessItemBuilder = new AccessItemBuilder(DomainContext.standalone(DOMAIN));
+        UserWrapper teamLead = new UserWrapper("teamlead", true);
+        UserWrapper clerk = new UserWrapper("clerk", true);
+        WorkbasketWrapper firstGroup = top.getDirectChildren().get(0);
+        WorkbasketWrapper secondGroup = top.getDirectChildren().get(1);
+
+        accessItemBuilder.forUser(teamLead).hasAccess(AccessType.READ).transitiveTo(Arrays.asList(top)).build();
+        accessItemBuilder.forUser(teamLead).hasAccess(AccessType.OPEN, AccessType.DISTRIBUTE).to(firstGroup).build();
+        accessItemBuilder.forUser(teamLead).hasAccess(AccessType.TRANSFER).transitiveTo(Arrays.asList(secondGroup))
+                .build();
+        // the permissions of the previous forUser call must not leak into this one
+        accessItemBuilder.forUser(clerk).hasAccess(AccessType.OPEN).to(firstGroup.getDirectChildren()).build();
+        List<WorkbasketAccessItemWrapper> accessItems = accessItemBuilder.getGeneratedAccessItems();
+
+        assertThat(accessItems.size(), equalTo(7 + 2));
+        assertThat(accessItemBuilder.getAccessMatrix().size(), equalTo(9));
+        assertThat(accessItemBuilder.getAccessMatrix().getNumberOfMergedGrants(), equalTo(1L + 3L));
+        Map<String, WorkbasketAccessItemWrapper> itemsByUserAndWorkbasket = byUserAndWorkbasket(accessItems);
+        assertThat(itemsByUserAndWorkbasket.size(), equalTo(accessItems.size()));
+
+        assertPermissions(itemsByUserAndWorkbasket.get(key(teamLead, top)), "RA");
+        assertPermissions(itemsByUserAndWorkbasket.get(key(teamLead, firstGroup)), "ROAD");
+        assertPermissions(itemsByUserAndWorkbasket.get(key(teamLead, secondGroup)), "RAT");
+        for (WorkbasketWrapper leaf : firstGroup.getDirectChildren()) {
+            assertPermissions(itemsByUserAndWorkbasket.get(key(teamLead, leaf)), "RA");
+            assertPermissions(itemsByUserAndWorkbasket.get(key(clerk, leaf)), "ROA");
+        }
+        for (WorkbasketWrapper leaf : secondGroup.getDirectChildren()) {
+            assertPermissions(itemsByUserAndWorkbasket.get(key(teamLead, leaf)), "RAT");
+            assertThat(itemsByUserAndWorkbasket.containsKey(key(clerk, leaf)), equalTo(false));
+        }
+    }
+
+    @Test
+    public void shouldCreateOneAccessItemPerUserAndWorkbasketOfHierarchy() {
+        List<WorkbasketAccessItemWrapper> accessItems = structureBuilder.getGeneratedAccessItems();
+
+        assertThat(byUserAndWorkbasket(accessItems).size(), equalTo(accessItems.size()));
+        for (WorkbasketWrapper workbasket : leaves) {
+            assertPermissions(byUserAndWorkbasket(accessItems).get(key(workbasket.getOwnerAsUser(), workbasket)),
+                    "ROADT");
+        }
+    }
+
+    private Map<String, WorkbasketAccessItemWrapper> byUserAndWorkbasket(List<WorkbasketAccessItemWrapper> items) {
+        Map<String, WorkbasketAccessItemWrapper> itemsByUserAndWorkbasket = new HashMap<>();
+        for (WorkbasketAccessItemWrapper item : items) {
+            itemsByUserAndWorkbasket.put(item.getAccessId() + "/" + item.getWorkbasketId(), item);
+        }
+        return itemsByUserAndWorkbasket;
+    }
+
+    private String key(UserWrapper user, WorkbasketWrapper workbasket) {
+        return user.getId() + "/" + workbasket.getId();
+    }
+
+    /**
+     * Checks the permission flags, given as letters of Read, Open, Append,
+     * Distribute and Transfer.
+     */
+    private void assertPermissions(WorkbasketAccessItemWrapper item, String permissions) {
+        assertThat(item.isPermRead(), equalTo(permissions.contains("R")));
+        assertThat(item.isPermOpen(), equalTo(permissions.contains("O")));
+        assertThat(item.isPermAppend(), equalTo(permissions.contains("A")));
+        assertThat(item.isPermDistribute(), equalTo(permissions.contains("D")));
+        assertThat(item.isPermTransfer(), equalTo(permissions.contains("T")));
+    }
+}
@@ -0,0 +1,86 @@
+package generation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import pro.taskana.TaskState;
+import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.builder.ClassificationBuilder;
+import pro.taskana.data.generation.builder.TaskBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.RandomSource;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+public class TestDeterministicGeneration {
+
+    private static final String DOMAIN = "T";
+
+    @Test
+    public void shouldGenerateSameTasksForSameSeed() {
+        assertThat(generateTasks(new RandomSource(42)), equalTo(generateTasks(new RandomSource(42))));
+    }
+
+    @Test
+    public void shouldGenerateDifferentTasksForDifferentSeeds() {
+        assertThat(generateTasks(new RandomSource(42)), not(equalTo(generateTasks(new RandomSource(43)))));
+    }
+
+    @Test
+    public void shouldGenerateSameTasksIndependentOfParallelism() {
+        List<String> sequential = generateTasks(new RandomSource(42));
+        RandomSource randomSource = new RandomSource(42);
+        TaskBuilder taskBuilder = configureTaskBuilder(randomSource);
+        List<String> parallel = taskBuilder.withParallelism(4).build().stream().map(this::describe)
+                .collect(Collectors.toList());
+
+        assertThat(parallel, equalTo(sequential));
+    }
+
+    @Test
+    public void shouldDeriveSameSourceIndependentOfDerivationOrder() {
+        RandomSource root = new RandomSource(42);
+        long first = root.derive("C").derive("tasks").getSeed();
+        root.derive("A");
+        root.derive(7);
+        long second = root.derive("C").derive("tasks").getSeed();
+
+        assertThat(second, equalTo(first));
+        assertThat(root.derive("A").getSeed(), not(equalTo(root.derive("B").getSeed())));
+    }
+
+    private List<String> generateTasks(RandomSource randomSource) {
+        return configureTaskBuilder(randomSource).stream().map(this::describe).collect(Collectors.toList());
+    }
+
+    private TaskBuilder configureTaskBuilder(RandomSource randomSource) {
+        ClassificationBuilder classificationBuilder = new ClassificationBuilder(DOMAIN,
+                randomSource.derive("classifications"));
+        classificationBuilder.newClassificationCategory("MANUELL").withType(ClassificationType.AUFGABENTYP)
+                .withChildren(10).build();
+        classificationBuilder.newClassificationCategory("DOKTYP_EXTERN").withType(ClassificationType.DOKUMENTTYP)
+                .withChildren(10).build();
+
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DOMAIN);
+        List<WorkbasketWrapper> workbaskets = structureBuilder.createSimpleWorkbaskets(4).toList();
+        structureBuilder.getGeneratedWorkbaskets();
+
+        TaskBuilder taskBuilder = new TaskBuilder(classificationBuilder.getClassificationsByType(), 100,
+                randomSource.derive("tasks"));
+        return taskBuilder.affect(workbaskets).addTasks(TaskState.READY, 20).addTasks(TaskState.CLAIMED, 10)
+                .withAttachments(1);
+    }
+
+    private String describe(TaskWrapper task) {
+        return task.getWorkbasketKey() + "|" + task.getState() + "|" + task.getClassificationCategory() + "|"
+                + task.getClassification().getCustom1() + "|" + task.getPrimaryObjRef().getValue() + "|"
+                + task.getAttachments().stream().map(a -> a.getObjectReference().getValue() + "/"
+                        + a.getClassificationSummary().getKey()).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,98 @@
+package generation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.ElementStack;
+import pro.taskana.data.generation.util.PopOrder;
+import pro.taskana.impl.WorkbasketWrapper;
+
+public class TestPopOrder {
+
+    private static final String DOMAIN = "T";
+
+    @Test
+    public void shouldSelectNeighboursInSequentialOrder() {
+        assertThat(buildLayer(PopOrder.SEQUENTIAL), equalTo(groups(Arrays.asList(0, 1, 2, 3),
+                Arrays.asList(4, 5, 6, 7), Arrays.asList(8, 9, 10, 11))));
+    }
+
+    @Test
+    public void shouldSelectEveryStrideThElementInStridedOrder() {
+        assertThat(ElementStack.strided(numbers(12), 3).toList(),
+                equalTo(Arrays.asList(0, 3, 6, 9, 1, 4, 7, 10, 2, 5, 8, 11)));
+        assertThat(buildLayer(PopOrder.STRIDED), equalTo(groups(Arrays.asList(0, 3, 6, 9),
+                Arrays.asList(1, 4, 7, 10), Arrays.asList(2, 5, 8, 11))));
+    }
+
+    @Test
+    public void shouldSelectEveryElementOnceInShuffledOrder() {
+        List<Integer> shuffled = ElementStack.shuffled(numbers(100), new Random(42)).toList();
+
+        assertThat(shuffled, equalTo(ElementStack.shuffled(numbers(100), new Random(42)).toList()));
+        assertThat(shuffled, not(equalTo(numbers(100))));
+        assertThat(new HashSet<>(shuffled), equalTo(new HashSet<>(numbers(100))));
+
+        Set<Set<Integer>> layer = buildLayer(PopOrder.SHUFFLED);
+        assertThat(layer.size(), equalTo(3));
+        assertThat(layer.stream().flatMap(Set::stream).collect(Collectors.toSet()),
+                equalTo(new HashSet<>(numbers(12))));
+    }
+
+    @Test
+    public void shouldReorderOnlyElementsNotPoppedYet() {
+        ElementStack<Integer> stack = new ElementStack<>(numbers(10));
+        assertThat(stack.pop(4), equalTo(numbers(4)));
+
+        stack.stride(2);
+        assertThat(stack.toList(), equalTo(Arrays.asList(4, 6, 8, 5, 7, 9)));
+        stack.shuffle(new Random(42));
+        assertThat(new HashSet<>(stack.toList()), equalTo(new HashSet<>(Arrays.asList(4, 5, 6, 7, 8, 9))));
+    }
+
+    /**
+     * Builds a layer of 3 workbaskets with 4 distribution targets each from 12
+     * personal workbaskets and returns the positions of the targets in the pool.
+     */
+    private Set<Set<Integer>> buildLayer(PopOrder order) {
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DOMAIN);
+        ElementStack<WorkbasketWrapper> pool = structureBuilder.createSimpleWorkbaskets(12);
+        List<WorkbasketWrapper> personalWorkbaskets = pool.toList();
+        List<WorkbasketWrapper> layer = structureBuilder.newLayer().withWb(3).withNumberOfDistTargets(4)
+                .selectFrom(pool, order).build();
+
+        assertThat(pool.isEmpty(), equalTo(true));
+        Set<Set<Integer>> groups = new HashSet<>();
+        for (WorkbasketWrapper workbasket : layer) {
+            groups.add(workbasket.getDirectChildren().stream().map(personalWorkbaskets::indexOf)
+                    .collect(Collectors.toSet()));
+        }
+        return groups;
+    }
+
+    @SafeVarargs
+    private final Set<Set<Integer>> groups(List<Integer>... groups) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> group : groups) {
+            sets.add(new HashSet<>(group));
+        }
+        return sets;
+    }
+
+    private List<Integer> numbers(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,134 @@
+package generation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import pro.taskana.TaskState;
+import pro.taskana.adapter.PersistenceAdapter;
+import pro.taskana.data.enums.ClassificationType;
+import pro.taskana.data.generation.TaskPipeline;
+import pro.taskana.data.generation.builder.ClassificationBuilder;
+import pro.taskana.data.generation.builder.TaskBuilder;
+import pro.taskana.data.generation.builder.WorkbasketStructureBuilder;
+import pro.taskana.data.generation.util.RandomSource;
+import pro.taskana.impl.ClassificationWrapper;
+import pro.taskana.impl.TaskWrapper;
+import pro.taskana.impl.WorkbasketAccessItemWrapper;
+import pro.taskana.impl.WorkbasketWrapper;
+
+public class TestTaskPipeline {
+
+    private static final String DOMAIN = "T";
+
+    @Test
+    public void shouldPersistAllTasks() throws Exception {
+        CountingAdapter adapter = new CountingAdapter(null);
+
+        long persistedTasks = new TaskPipeline(adapter, 2, 2, 7).run(configureTaskBuilder());
+
+        assertThat(persistedTasks, equalTo(120L));
+        assertThat(adapter.tasks.get(), equalTo(120L));
+    }
+
+    @Test
+    public void shouldThrowExceptionOfFailedChunk() throws Exception {
+        IOException failure = new IOException("disk full");
+        CountingAdapter adapter = new CountingAdapter(failure);
+
+        try {
+            new TaskPipeline(adapter, 2, 1, 5).run(configureTaskBuilder());
+            fail("Failed chunk not reported");
+        } catch (IOException e) {
+            assertThat(e, sameInstance(failure));
+        }
+    }
+
+    @Test
+    public void shouldThrowIfInterrupted() throws Exception {
+        CountingAdapter adapter = new CountingAdapter(null);
+
+        Thread.currentThread().interrupt();
+        try {
+            new TaskPipeline(adapter, 1, 1, 5).run(configureTaskBuilder());
+            fail("Interrupt not reported");
+        } catch (CancellationException | InterruptedException e) {
+            assertThat(adapter.tasks.get() < 120L, equalTo(true));
+        } finally {
+            Thread.interrupted();
+        }
+        assertConsumersTerminated();
+    }
+
+    private void assertConsumersTerminated() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().startsWith("task-consumer-"))) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Task consumers still running");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private TaskBuilder configureTaskBuilder() {
+        RandomSource randomSource = new RandomSource(42);
+        ClassificationBuilder classificationBuilder = new ClassificationBuilder(DOMAIN,
+                randomSource.derive("classifications"));
+        classificationBuilder.newClassificationCategory("MANUELL").withType(ClassificationType.AUFGABENTYP)
+                .withChildren(10).build();
+
+        WorkbasketStructureBuilder structureBuilder = new WorkbasketStructureBuilder(DOMAIN);
+        List<WorkbasketWrapper> workbaskets = structureBuilder.createSimpleWorkbaskets(4).toList();
+        structureBuilder.getGeneratedWorkbaskets();
+
+        TaskBuilder taskBuilder = new TaskBuilder(classificationBuilder.getClassificationsByType(), 100,
+                randomSource.derive("tasks"));
+        return taskBuilder.affect(workbaskets).addTasks(TaskState.READY, 30);
+    }
+
+    /**
+     * Counts the persisted tasks, or fails every chunk with the given exception.
+     */
+    private static class CountingAdapter implements PersistenceAdapter {
+
+        private final Exception failure;
+        private final AtomicLong tasks = new AtomicLong();
+
+        CountingAdapter(Exception failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void createTasks(List<TaskWrapper> chunk) throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            tasks.addAndGet(chunk.size());
+        }
+
+        @Override
+        public void createClassification(List<ClassificationWrapper> classifications) {
+        }
+
+        @Override
+        public void createWorkbaskets(List<WorkbasketWrapper> workbaskets) {
+        }
+
+        @Override
+        public void createDistributionTargets(List<WorkbasketWrapper> workbaskets) {
+        }
+
+        @Override
+        public void createWorkbasketAccesItem(List<WorkbasketAccessItemWrapper> workbasketAccessItems) {
+        }
+    }
+}
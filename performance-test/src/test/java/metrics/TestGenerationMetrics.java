@@ -0,0 +1,59 @@
+package metrics;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+
+import pro.taskana.metrics.GenerationMetrics;
+import pro.taskana.metrics.Phase;
+import pro.taskana.metrics.PhaseMetrics;
+
+public class TestGenerationMetrics {
+
+    @Test
+    public void shouldSumRowsOfAllMeasurements() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics();
+        PhaseMetrics.Timer first = metrics.start(Phase.TASK_PERSISTENCE, 100);
+        PhaseMetrics.Timer second = metrics.start(Phase.TASK_PERSISTENCE, 50);
+        first.count(60);
+        second.count(50);
+        second.close();
+
+        PhaseMetrics phase = metrics.get(Phase.TASK_PERSISTENCE);
+        assertThat(phase.isRunning(), equalTo(true));
+        assertThat(phase.getRows(), equalTo(110L));
+        assertThat(phase.getExpectedRows(), equalTo(150L));
+
+        first.close();
+        assertThat(phase.isRunning(), equalTo(false));
+        assertThat(metrics.get(Phase.EXPORT).isStarted(), equalTo(false));
+    }
+
+    @Test
+    public void shouldAppendSummaryOfMeasuredPhases() throws Exception {
+        Path summaryFile = Files.createTempFile("metrics", ".csv");
+        Files.delete(summaryFile);
+        try {
+            GenerationMetrics metrics = new GenerationMetrics();
+            metrics.measure(Phase.WORKBASKETS, 10, () -> {
+            });
+            metrics.measure(Phase.CLASSIFICATIONS, 20, () -> {
+            });
+            metrics.writeSummary(summaryFile);
+            metrics.writeSummary(summaryFile);
+
+            List<String> lines = Files.readAllLines(summaryFile);
+            assertThat(lines.size(), equalTo(5));
+            assertThat(lines.get(0).startsWith("started,phase,rows"), equalTo(true));
+            assertThat(lines.get(1).split(",")[1], equalTo("workbaskets"));
+            assertThat(lines.get(2).split(",")[2], equalTo("20"));
+        } finally {
+            Files.deleteIfExists(summaryFile);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package metrics;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import pro.taskana.metrics.LatencyHistogram;
+
+public class TestLatencyHistogram {
+
+    @Test
+    public void shouldReportPercentilesWithBoundedError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.getTotalCount(), equalTo(100000L));
+        assertThat(histogram.getMax(), equalTo(100000L));
+        assertWithin(histogram.getValueAtPercentile(50), 50000);
+        assertWithin(histogram.getValueAtPercentile(99), 99000);
+        assertThat(histogram.getValueAtPercentile(100), equalTo(100000L));
+    }
+
+    @Test
+    public void shouldCountSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(100);
+
+        assertThat(histogram.getValueAtPercentile(50), equalTo(3L));
+        assertThat(histogram.getValueAtPercentile(90), equalTo(100L));
+    }
+
+    @Test
+    public void shouldWritePercentileDistributionUpToTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+        StringWriter distribution = new StringWriter();
+        histogram.writePercentileDistribution(new PrintWriter(distribution), 1000);
+
+        String[] lines = distribution.toString().split("\\R");
+        assertThat(lines[0].trim().startsWith("Value"), equalTo(true));
+        String[] lastValueLine = lines[lines.length - 4].trim().split("\\s+");
+        assertThat(Double.parseDouble(lastValueLine[1]), equalTo(1d));
+        assertThat(lastValueLine[2], equalTo("1000"));
+        assertThat(lines[lines.length - 2].contains("Total count    =         1000"), equalTo(true));
+    }
+
+    private static void assertWithin(long actual, long expected) {
+        assertThat(Math.abs(actual - expected) <= expected / 64, equalTo(true));
+    }
+}
@@ -0,0 +1,50 @@
+package pro.taskana.adapter;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestDb2LoadAdapter {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldNotLoadAccessListFilesIntoWorkbaskets() throws IOException {
+        Db2LoadAdapter adapter = new Db2LoadAdapter(folder.getRoot().toPath(), true);
+        Path directory = adapter.getDirectory();
+        for (String file : new String[] { "WORKBASKET_002.del", "WORKBASKET_001.del",
+                "WORKBASKET_ACCESS_LIST_001.del", "WORKBASKET_copy.del" }) {
+            Files.createFile(directory.resolve(file));
+        }
+        adapter.close();
+
+        List<String> script = Files.readAllLines(directory.resolve(Db2LoadAdapter.LOAD_SCRIPT));
+        assertThat(filesLoadedInto("WORKBASKET", script), equalTo("LOAD CLIENT FROM "
+                + directory.resolve("WORKBASKET_001.del") + ", " + directory.resolve("WORKBASKET_002.del")
+                + " OF DEL"));
+        assertThat(filesLoadedInto("WORKBASKET_ACCESS_LIST", script),
+                equalTo("LOAD CLIENT FROM " + directory.resolve("WORKBASKET_ACCESS_LIST_001.del") + " OF DEL"));
+        assertThat(filesLoadedInto("TASK", script), equalTo(null));
+    }
+
+    /**
+     * Returns the LOAD statement of the given table, the INSERT INTO clause follows two lines below.
+     */
+    private String filesLoadedInto(String table, List<String> script) {
+        for (int i = 2; i < script.size(); i++) {
+            if (script.get(i).startsWith("    INSERT INTO taskana." + table + " (")) {
+                return script.get(i - 2);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package pro.taskana.export.sampling;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TestStratifiedSampler {
+
+    private static final int CANDIDATES = 100000;
+    private static final int SAMPLE_SIZE = 1000;
+
+    @Test
+    public void shouldRetainAtMostTwiceTheSampleSize() {
+        StratifiedSampler<Integer> sampler = new StratifiedSampler<>(SAMPLE_SIZE, i -> i % 1500, new Random(42));
+        long maxRetained = offerAll(sampler);
+
+        assertThat(maxRetained <= 2 * SAMPLE_SIZE, equalTo(true));
+        List<Integer> sample = sampler.drain();
+        assertThat(sample.size(), equalTo(SAMPLE_SIZE));
+        assertThat(new HashSet<>(sample).size(), equalTo(SAMPLE_SIZE));
+        assertThat(sampler.getRetained(), equalTo(0L));
+    }
+
+    @Test
+    public void shouldRetainOneCandidatePerStratumIfStrataExceedTheLimit() {
+        int strata = 5 * SAMPLE_SIZE;
+        StratifiedSampler<Integer> sampler = new StratifiedSampler<>(SAMPLE_SIZE, i -> i % strata, new Random(42));
+        long maxRetained = offerAll(sampler);
+
+        assertThat(maxRetained, equalTo((long) strata));
+        assertThat(sampler.drain().size(), equalTo(SAMPLE_SIZE));
+    }
+
+    @Test
+    public void shouldSelectNothingForEmptySample() {
+        StratifiedSampler<Integer> sampler = new StratifiedSampler<>(0, i -> i % 10, new Random(42));
+
+        assertThat(offerAll(sampler), equalTo(0L));
+        assertThat(sampler.drain().isEmpty(), equalTo(true));
+        assertThat(Sampler.reservoir(0, new Random(42)).offer(1), equalTo(false));
+    }
+
+    private long offerAll(StratifiedSampler<Integer> sampler) {
+        long maxRetained = 0;
+        for (int i = 0; i < CANDIDATES; i++) {
+            sampler.offer(i);
+            maxRetained = Math.max(maxRetained, sampler.getRetained());
+        }
+        return maxRetained;
+    }
+}
@@ -0,0 +1,34 @@
+package pro.taskana.persistence;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class TestCopyInserter {
+
+    @Test
+    public void shouldWriteNullMarker() {
+        assertThat(value(null), equalTo("\\N"));
+        assertThat(value(""), equalTo(""));
+    }
+
+    @Test
+    public void shouldEscapeBackslashesAndDelimiters() {
+        assertThat(value("C:\\temp\tA\nB\rC"), equalTo("C:\\\\temp\\tA\\nB\\rC"));
+        assertThat(value("\\N"), equalTo("\\\\N"));
+    }
+
+    @Test
+    public void shouldWriteBooleansAsLetters() {
+        assertThat(value(true), equalTo("t"));
+        assertThat(value(false), equalTo("f"));
+        assertThat(value(7), equalTo("7"));
+    }
+
+    private String value(Object value) {
+        StringBuilder target = new StringBuilder();
+        CopyInserter.appendValue(target, value);
+        return target.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package pro.taskana.persistence;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+public class TestDelFileWriter {
+
+    @Test
+    public void shouldDoubleCharacterDelimiters() {
+        assertThat(value("say \"hi\", bye"), equalTo("\"say \"\"hi\"\", bye\""));
+        assertThat(value(""), equalTo("\"\""));
+    }
+
+    @Test
+    public void shouldWriteNullAsEmptyValue() {
+        assertThat(value(null), equalTo(""));
+    }
+
+    @Test
+    public void shouldWriteDb2Timestamps() {
+        Instant timestamp = LocalDateTime.of(2018, 3, 1, 13, 5, 9, 123456000).atZone(ZoneId.systemDefault())
+                .toInstant();
+
+        assertThat(value(timestamp), equalTo("2018-03-01-13.05.09.123456"));
+    }
+
+    @Test
+    public void shouldWriteBooleansAsNumbers() {
+        assertThat(value(true), equalTo("1"));
+        assertThat(value(false), equalTo("0"));
+        assertThat(value(7L), equalTo("7"));
+    }
+
+    private String value(Object value) {
+        StringBuilder target = new StringBuilder();
+        DelFileWriter.appendValue(target, value);
+        return target.toString();
+    }
+}
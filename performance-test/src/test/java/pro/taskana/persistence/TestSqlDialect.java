@@ -0,0 +1,52 @@
+package pro.taskana.persistence;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+public class TestSqlDialect {
+
+    private static final Instant TIMESTAMP = LocalDateTime.of(2018, 3, 1, 13, 5, 9, 123456000)
+            .atZone(ZoneId.systemDefault()).toInstant();
+
+    @Test
+    public void shouldDoubleSingleQuotes() {
+        for (SqlDialect dialect : SqlDialect.values()) {
+            assertThat(literal(dialect, "O'Neil's"), equalTo("'O''Neil''s'"));
+        }
+    }
+
+    @Test
+    public void shouldWriteNullAndNumbersUnquoted() {
+        for (SqlDialect dialect : SqlDialect.values()) {
+            assertThat(literal(dialect, null), equalTo("NULL"));
+            assertThat(literal(dialect, 42), equalTo("42"));
+        }
+    }
+
+    @Test
+    public void shouldWriteDb2TimestampsWithoutTimestampKeyword() {
+        assertThat(literal(SqlDialect.DB2, TIMESTAMP), equalTo("'2018-03-01-13.05.09.123456'"));
+        assertThat(literal(SqlDialect.H2, TIMESTAMP), equalTo("TIMESTAMP '2018-03-01 13:05:09.123456'"));
+        assertThat(literal(SqlDialect.POSTGRES, TIMESTAMP), equalTo("TIMESTAMP '2018-03-01 13:05:09.123456'"));
+    }
+
+    @Test
+    public void shouldWriteDb2BooleansAsNumbers() {
+        assertThat(literal(SqlDialect.DB2, true), equalTo("1"));
+        assertThat(literal(SqlDialect.DB2, false), equalTo("0"));
+        assertThat(literal(SqlDialect.H2, true), equalTo("TRUE"));
+        assertThat(literal(SqlDialect.POSTGRES, false), equalTo("FALSE"));
+    }
+
+    private String literal(SqlDialect dialect, Object value) {
+        StringBuilder target = new StringBuilder();
+        dialect.appendLiteral(target, value);
+        return target.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package pro.taskana.persistence;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import pro.taskana.persistence.table.DistributionTarget;
+import pro.taskana.persistence.table.TaskanaTables;
+
+public class TestSqlScriptWriter {
+
+    private static final String INSERT = "INSERT INTO taskana.DISTRIBUTION_TARGETS (SOURCE_ID, TARGET_ID) VALUES";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldCommitEveryStatementsPerCommitStatements() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        SqlScriptWriter<DistributionTarget> writer = writeRows(directory, SqlDialect.H2, 5, Long.MAX_VALUE);
+
+        assertThat(writer.getWrittenRows(), equalTo(5L));
+        assertThat(writer.getNumberOfFiles(), equalTo(1));
+        assertThat(Files.readAllLines(directory.resolve("targets_001.sql")), equalTo(Arrays.asList(
+                "-- Rows of DISTRIBUTION_TARGETS for h2", "SET AUTOCOMMIT FALSE;",
+                INSERT, "('S1', 'T1'),", "('S2', 'T2');",
+                INSERT, "('S3', 'T3'),", "('S4', 'T4');", "COMMIT;",
+                INSERT, "('S5', 'T5');", "COMMIT;")));
+    }
+
+    @Test
+    public void shouldBeginEveryTransactionOnPostgres() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        writeRows(directory, SqlDialect.POSTGRES, 5, Long.MAX_VALUE);
+
+        assertThat(Files.readAllLines(directory.resolve("targets_001.sql")), equalTo(Arrays.asList(
+                "-- Rows of DISTRIBUTION_TARGETS for postgres",
+                "BEGIN;", INSERT, "('S1', 'T1'),", "('S2', 'T2');",
+                INSERT, "('S3', 'T3'),", "('S4', 'T4');", "COMMIT;",
+                "BEGIN;", INSERT, "('S5', 'T5');", "COMMIT;")));
+    }
+
+    @Test
+    public void shouldStartNextPartAtMaximumFileSize() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        SqlScriptWriter<DistributionTarget> writer = writeRows(directory, SqlDialect.DB2, 5, 1);
+
+        assertThat(writer.getWrittenRows(), equalTo(5L));
+        assertThat(writer.getNumberOfFiles(), equalTo(3));
+        List<String> header = Arrays.asList("-- Rows of DISTRIBUTION_TARGETS for db2",
+                SqlDialect.DB2.getScriptHeader());
+        assertThat(Files.readAllLines(directory.resolve("targets_001.sql")),
+                equalTo(concat(header, INSERT, "('S1', 'T1'),", "('S2', 'T2');", "COMMIT;")));
+        assertThat(Files.readAllLines(directory.resolve("targets_002.sql")),
+                equalTo(concat(header, INSERT, "('S3', 'T3'),", "('S4', 'T4');", "COMMIT;")));
+        assertThat(Files.readAllLines(directory.resolve("targets_003.sql")),
+                equalTo(concat(header, INSERT, "('S5', 'T5');", "COMMIT;")));
+        assertThat(Files.exists(directory.resolve("targets_004.sql")), equalTo(false));
+    }
+
+    private SqlScriptWriter<DistributionTarget> writeRows(Path directory, SqlDialect dialect, int rows,
+            long maxFileSize) throws IOException {
+        List<DistributionTarget> targets = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            targets.add(new DistributionTarget("S" + i, "T" + i));
+        }
+        SqlScriptWriter<DistributionTarget> writer = new SqlScriptWriter<>(directory, "targets",
+                TaskanaTables.DISTRIBUTION_TARGETS, "taskana", dialect, 2, 2, maxFileSize);
+        try {
+            writer.addAll(targets.subList(0, 3));
+            writer.addAll(targets.subList(3, rows));
+        } finally {
+            writer.close();
+        }
+        return writer;
+    }
+
+    private List<String> concat(List<String> header, String... lines) {
+        List<String> concatenated = new ArrayList<>(header);
+        concatenated.addAll(Arrays.asList(lines));
+        return concatenated;
+    }
+}